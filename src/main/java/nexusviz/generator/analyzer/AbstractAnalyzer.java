@@ -1,15 +1,42 @@
 package nexusviz.generator.analyzer;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.Serializable;
 import java.nio.file.Path;
-import java.util.stream.Stream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
 
+import nexusviz.generator.cache.AnalysisCache;
+import nexusviz.generator.event.AnalysisListener;
+import nexusviz.generator.event.AnalysisPhase;
+import nexusviz.generator.event.ConsoleAnalysisListener;
+import nexusviz.generator.project.DiscoveredSources;
+import nexusviz.generator.project.ParseMode;
+import nexusviz.generator.project.ParsedProjectSnapshot;
+import nexusviz.generator.project.ParsedSource;
+import nexusviz.generator.project.ProjectSourceParser;
+import nexusviz.generator.project.ProjectTypeIndex;
+import nexusviz.generator.project.SourceDiscovery;
+import nexusviz.generator.project.SourceFileSummary;
+import nexusviz.generator.result.ResolutionDiagnostics;
+import nexusviz.generator.result.ResolutionFailureCategory;
+import nexusviz.generator.result.SkippedFile;
 import nexusviz.generator.util.JavaParserConfigurator;
+import nexusviz.generator.util.ParsingContext;
+import nexusviz.generator.util.TypeNameResolver;
+import nexusviz.generator.util.TypeUtils;
 
 /**
  * StructuralAnalyzerとDependencyAnalyzerの抽象クラス。
@@ -20,56 +47,450 @@ import nexusviz.generator.util.JavaParserConfigurator;
  * @version 1.0
  */
 public abstract class AbstractAnalyzer<Result> extends Object {
+    /**
+     * 構文解析の並列度の既定値を束縛する。
+     */
+    public static final Integer DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 解析キャッシュのエントリに記録する依存先のうち、ライブラリを表す名前を束縛する。パッケージ名とは重ならない。
+     */
+    private static final String LIBRARY_DEPENDENCY_NAME = "<library>";
+
     /**
      * 解析中にエラーが生じたかどうかを束縛する。
      */
     protected Boolean hasError;
 
     /**
-     * デフォルトコンストラクタ。
+     * 構文解析の並列度を束縛する。1以下の場合は呼び出し元のスレッドで逐次に構文解析を行う。
+     */
+    private Integer parallelism;
+
+    /**
+     * 解析の間、ファイル単位の解析の中の処理を並列に行うワーカのプールを束縛する。解析中でないか、並列度が1以下の場合はnull。
+     */
+    private ForkJoinPool workerPool;
+
+    /**
+     * ソースファイルの探索の条件を束縛する。
+     */
+    private SourceDiscovery sourceDiscovery;
+
+    /**
+     * 構文解析の範囲を束縛する。
+     */
+    private ParseMode parseMode;
+
+    /**
+     * 解析キャッシュのファイルを格納するディレクトリを束縛する。nullの場合は解析キャッシュを使用しない。
+     */
+    private Path cacheDirectory;
+
+    /**
+     * 実行中の解析で使用している解析キャッシュを束縛する。
+     */
+    private AnalysisCache analysisCache;
+
+    /**
+     * 実行中の解析で解析キャッシュを引いたファイルのパスと、その時点の依存先の名前とハッシュ値のマップを束縛する。
+     */
+    private Map<Path, Map<String, String>> dependencyHashes;
+
+    /**
+     * 解析の中止の要求を受け取る合図を束縛する。
+     */
+    private CancellationToken cancellationToken;
+
+    /**
+     * ファイルごとの解析時間の上限を束縛する。nullの場合は上限を設けない。
+     */
+    private Duration fileTimeBudget;
+
+    /**
+     * 解析中のファイルのパスを束縛する。
+     */
+    private Path analyzingFilePath;
+
+    /**
+     * 解析中のファイルの解析を打ち切る時刻(System.nanoTimeの値)を束縛する。nullの場合は打ち切らない。
+     */
+    private Long fileDeadline;
+
+    /**
+     * 時間の上限を超えたために解析を省略したファイルのリストを束縛する。
+     */
+    protected List<SkippedFile> skippedFiles;
+
+    /**
+     * 解析の進捗と所要時間の通知の受け取り手を束縛する。
+     */
+    private AnalysisListener listener;
+
+    /**
+     * 解析中のファイルで記号解決に失敗した数を束縛する。
+     */
+    private Integer resolutionFailureCount;
+
+    /**
+     * 解析全体の記号解決の失敗を、種類と名前ごとに数える収集器を束縛する。
+     */
+    private ResolutionDiagnosticsCollector diagnosticsCollector;
+
+    /**
+     * 解析結果の統合を終えたファイルの数を束縛する。
+     */
+    private Integer completedUnitCount;
+
+    /**
+     * 解析結果を統合するファイルの総数を束縛する。
+     */
+    private Integer totalUnitCount;
+
+    /**
+     * デフォルトコンストラクタ。メソッドなどの本体を含めたすべてを構文解析する。
      */
     public AbstractAnalyzer() {
+        this(ParseMode.FULL);
+    }
+
+    /**
+     * 構文解析の範囲の既定値を指定するコンストラクタ。
+     * 
+     * @param parseMode 構文解析の範囲の既定値
+     */
+    protected AbstractAnalyzer(ParseMode parseMode) {
+        this.parallelism = DEFAULT_PARALLELISM;
+        this.workerPool = null;
+        this.sourceDiscovery = new SourceDiscovery();
+        this.parseMode = parseMode;
+        this.cacheDirectory = null;
+        this.analysisCache = null;
+        this.dependencyHashes = new HashMap<>();
+        this.cancellationToken = new CancellationToken();
+        this.fileTimeBudget = null;
+        this.analyzingFilePath = null;
+        this.fileDeadline = null;
+        this.skippedFiles = new ArrayList<>();
+        this.listener = new ConsoleAnalysisListener();
+        this.resolutionFailureCount = 0;
+        this.diagnosticsCollector = new ResolutionDiagnosticsCollector();
+        this.completedUnitCount = 0;
+        this.totalUnitCount = 0;
     }
 
     /**
      * 引数で受け取ったファイルを解析し、結果を応答する。
+     * 構文解析は並列度に応じたワーカで並列に行うが、ファイル単位の解析は探索順に逐次行うため、
+     * 解析結果は並列度によらず同一になる。構文解析の前に字句の走査で型の索引を作り、
+     * 型を宣言しないファイルの構文解析は省略する。解析キャッシュが有効な場合、内容と依存先が変わっていないファイルは
+     * 構文解析を行わず、キャッシュの解析結果を統合する。
+     * ファイルごとの解析時間の上限を超えたファイルは解析を省略し、解析結果に記録する。
      * 
      * @param sourceRootPath   ソースコードのルートパス
      * @param jarDirectoryPath ライブラリのディレクトリのパス
      * @return 解析結果
+     * @throws CancellationException 解析の中止が要求された場合
      */
     public Result analyze(Path sourceRootPath, Path jarDirectoryPath) {
-        // JavaParserの初期設定
-        JavaParserConfigurator.configureSolver(sourceRootPath, jarDirectoryPath);
+        return analyze(JavaParserConfigurator.createContext(sourceRootPath, jarDirectoryPath));
+    }
+
+    /**
+     * 構文解析のコンテキストのソースディレクトリにあるファイルを、そのコンテキストで構文解析・解析し、結果を応答する。
+     * 解析器ごとにコンテキストを渡せば、異なるプロジェクトの解析を同じプロセスの中で同時に行える。
+     * 
+     * @param parsingContext 構文解析のコンテキスト
+     * @return 解析結果
+     * @throws CancellationException 解析の中止が要求された場合
+     */
+    public Result analyze(ParsingContext parsingContext) {
+        Path sourceRootPath = parsingContext.sourceRootPath();
 
         // エラーフラグをリセット
         resetError();
 
         // 結果を集めるための初期化
         initializeResultElements();
+        this.skippedFiles = new ArrayList<>();
+        this.diagnosticsCollector = new ResolutionDiagnosticsCollector();
+        this.completedUnitCount = 0;
+        this.totalUnitCount = 0;
 
         // ファイルの探索と解析
-        try (Stream<Path> paths = Files.walk(sourceRootPath)) {
-            paths.filter(path -> Files.isRegularFile(path))
-                    .filter(path -> path.toString().endsWith(".java"))
-                    .forEach(path -> {
-                        try {
-                            CompilationUnit aCompilationUnit = StaticJavaParser.parse(path.toFile());
-                            analyzeUnit(aCompilationUnit, path);
-                        } catch (ParseProblemException e) {
-                            System.err.println("構文エラー: " + path.toString());
-                            handleError();
-                        } catch (Exception e) {
-                            System.err.println("解析失敗: " + path.toString());
-                            handleError();
-                        }
-                    });
+        TypeUtils.failureReporter(this::reportResolutionFailure);
+        TypeNameResolver typeNameResolver = null;
+        openWorkerPool();
+        try {
+            Long phaseStartTime = System.nanoTime();
+            DiscoveredSources discoveredSources = this.sourceDiscovery.discover(sourceRootPath);
+            discoveredSources.printSummary();
+            discoveredSources.sourcePaths().forEach(path -> this.listener.fileDiscovered(path));
+            completePhase(AnalysisPhase.DISCOVERY, phaseStartTime, discoveredSources.sourcePaths().size());
+            this.cancellationToken.throwIfCancelled();
+
+            phaseStartTime = System.nanoTime();
+            ProjectTypeIndex typeIndex = ProjectTypeIndex.build(sourceRootPath, discoveredSources.sourcePaths(),
+                    this.parallelism);
+            typeIndex.printSummary();
+            completePhase(AnalysisPhase.INDEXING, phaseStartTime, typeIndex.sourceSummaries().size());
+            typeNameResolver = new TypeNameResolver(typeIndex, parsingContext.typeSolver());
+            TypeUtils.typeNameResolver(typeNameResolver);
+            this.cancellationToken.throwIfCancelled();
+
+            openAnalysisCache(parsingContext);
+            analyzeSources(typeIndex, parsingContext,
+                    (pathsToParse, consumer) -> ProjectSourceParser.parseAll(parsingContext, pathsToParse,
+                            this.parallelism, this.parseMode, typeIndex.fileSizes(), this.listener, consumer));
         } catch (IOException e) {
             System.err.println("ファイル読み込み失敗: " + e.getMessage());
             handleError();
+        } catch (InterruptedException e) {
+            System.err.println("解析が中断されました。");
+            Thread.currentThread().interrupt();
+            handleError();
+        } finally {
+            closeWorkerPool();
+            // 中止された場合も、それまでに解析したファイルの解析結果は解析キャッシュに残す
+            TypeUtils.failureReporter(null);
+            TypeUtils.typeNameResolver(null);
+            closeAnalysisCache();
+            parsingContext.typeSolver().printSummary();
+            if (typeNameResolver != null) {
+                typeNameResolver.printSummary();
+            }
+            this.diagnosticsCollector.diagnostics().printSummary();
         }
 
-        return buildResult();
+        return buildResultWithTiming();
+    }
+
+    /**
+     * 構文解析済みのプロジェクトのスナップショットを解析し、結果を応答する。
+     * 解析キャッシュが有効な場合、内容と依存先が変わっていないファイルは、スナップショットに構文解析を要求せずに
+     * キャッシュの解析結果を統合する。それ以外のファイルは、スナップショットが構文解析済みであればそのコンパイルユニットを、
+     * そうでなければスナップショットがその場で構文解析して保持したコンパイルユニットを、探索順に解析する。
+     * スナップショットはすべてを構文解析するため、解析器の構文解析の範囲によらず構文解析し直すことはない。
+     * 
+     * @param snapshot 構文解析済みのプロジェクトのスナップショット
+     * @return 解析結果
+     * @throws CancellationException 解析の中止が要求された場合
+     */
+    public Result analyze(ParsedProjectSnapshot snapshot) {
+        // エラーフラグをリセット
+        resetError();
+
+        // 結果を集めるための初期化
+        initializeResultElements();
+        this.skippedFiles = new ArrayList<>();
+        this.diagnosticsCollector = new ResolutionDiagnosticsCollector();
+        this.completedUnitCount = 0;
+        this.totalUnitCount = 0;
+        openAnalysisCache(snapshot.parsingContext());
+
+        // スナップショットの構築中のエラーを引き継ぐ
+        if (snapshot.hasError()) {
+            handleError();
+        }
+
+        // コンパイルユニットの解析
+        TypeUtils.failureReporter(this::reportResolutionFailure);
+        TypeNameResolver typeNameResolver = new TypeNameResolver(snapshot.typeIndex(),
+                snapshot.parsingContext().typeSolver());
+        TypeUtils.typeNameResolver(typeNameResolver);
+        openWorkerPool();
+        try {
+            analyzeSources(snapshot.typeIndex(), snapshot.parsingContext(),
+                    (pathsToParse, consumer) -> snapshot.forEachParsedSource(pathsToParse, this.parallelism,
+                            this.listener, consumer));
+        } catch (InterruptedException e) {
+            System.err.println("解析が中断されました。");
+            Thread.currentThread().interrupt();
+            handleError();
+        } finally {
+            closeWorkerPool();
+            TypeUtils.failureReporter(null);
+            TypeUtils.typeNameResolver(null);
+            closeAnalysisCache();
+            snapshot.parsingContext().typeSolver().printSummary();
+            typeNameResolver.printSummary();
+            this.diagnosticsCollector.diagnostics().printSummary();
+        }
+
+        return buildResultWithTiming();
+    }
+
+    /**
+     * 解析キャッシュのファイルを格納するディレクトリを設定する。nullを設定すると解析キャッシュを使用しない。
+     * 
+     * @param cacheDirectory 解析キャッシュのファイルを格納するディレクトリ
+     */
+    public void cacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        return;
+    }
+
+    /**
+     * フィールド変数 cacheDirectory を返す。
+     * 
+     * @return 解析キャッシュのファイルを格納するディレクトリ
+     */
+    public Path cacheDirectory() {
+        return this.cacheDirectory;
+    }
+
+    /**
+     * 解析の中止の要求を受け取る合図を設定する。
+     * 
+     * @param cancellationToken 解析の中止の要求を受け取る合図
+     */
+    public void cancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+        return;
+    }
+
+    /**
+     * フィールド変数 cancellationToken を返す。
+     * 
+     * @return 解析の中止の要求を受け取る合図
+     */
+    public CancellationToken cancellationToken() {
+        return this.cancellationToken;
+    }
+
+    /**
+     * ファイルごとの解析時間の上限を設定する。nullを設定すると上限を設けない。
+     * 構文解析の時間は含まず、ファイル単位の解析(記号解決を含む)の時間だけを計る。
+     * 
+     * @param fileTimeBudget ファイルごとの解析時間の上限
+     */
+    public void fileTimeBudget(Duration fileTimeBudget) {
+        this.fileTimeBudget = fileTimeBudget;
+        return;
+    }
+
+    /**
+     * フィールド変数 fileTimeBudget を返す。
+     * 
+     * @return ファイルごとの解析時間の上限
+     */
+    public Duration fileTimeBudget() {
+        return this.fileTimeBudget;
+    }
+
+    /**
+     * 解析の進捗と所要時間の通知の受け取り手を設定する。
+     * 既定では記号解決の失敗を標準エラー出力に出力する受け取り手を用いる。
+     * 
+     * @param listener 解析の進捗と所要時間の通知の受け取り手
+     */
+    public void listener(AnalysisListener listener) {
+        this.listener = listener;
+        return;
+    }
+
+    /**
+     * フィールド変数 listener を返す。
+     * 
+     * @return 解析の進捗と所要時間の通知の受け取り手
+     */
+    public AnalysisListener listener() {
+        return this.listener;
+    }
+
+    /**
+     * 構文解析の範囲を設定する。
+     * 
+     * @param parseMode 構文解析の範囲
+     */
+    public void parseMode(ParseMode parseMode) {
+        this.parseMode = parseMode;
+        return;
+    }
+
+    /**
+     * フィールド変数 parseMode を返す。
+     * 
+     * @return 構文解析の範囲
+     */
+    public ParseMode parseMode() {
+        return this.parseMode;
+    }
+
+    /**
+     * ソースファイルの探索の条件を設定する。
+     * 
+     * @param sourceDiscovery ソースファイルの探索の条件
+     */
+    public void sourceDiscovery(SourceDiscovery sourceDiscovery) {
+        this.sourceDiscovery = sourceDiscovery;
+        return;
+    }
+
+    /**
+     * フィールド変数 sourceDiscovery を返す。
+     * 
+     * @return ソースファイルの探索の条件
+     */
+    public SourceDiscovery sourceDiscovery() {
+        return this.sourceDiscovery;
+    }
+
+    /**
+     * 解析の中断点。中止が要求されていれば解析全体を、解析中のファイルの時間の上限を超えていれば
+     * そのファイルの解析を打ち切る。ファイル単位の解析の中で、型やメソッド、式ごとなど十分に細かく呼び出す。
+     * 記号解決の失敗を捕捉するtryブロックの中では呼び出さない。
+     * 
+     * @throws CancellationException       解析の中止が要求された場合
+     * @throws FileBudgetExceededException 解析中のファイルの時間の上限を超えた場合
+     */
+    protected void checkpoint() {
+        this.cancellationToken.throwIfCancelled();
+        if (this.fileDeadline != null && System.nanoTime() - this.fileDeadline > 0) {
+            throw new FileBudgetExceededException(this.analyzingFilePath, this.fileTimeBudget);
+        }
+        return;
+    }
+
+    /**
+     * 記号解決に失敗したことを、解析中のファイルの失敗として数え、種類と名前ごとに集計したうえで通知の受け取り手へ通知する。
+     * 失敗の説明は、例として残す場合と受け取り手が必要とした場合にだけ作られる。
+     * 関係情報を並列に抽出するスレッドからも呼び出されるため、排他して数える。
+     * 
+     * @param category   失敗の種類
+     * @param symbolName 解決できなかった名前
+     * @param message    失敗の説明を作る関数
+     */
+    protected synchronized void reportResolutionFailure(ResolutionFailureCategory category, String symbolName,
+            Supplier<String> message) {
+        this.resolutionFailureCount++;
+        this.diagnosticsCollector.record(category, symbolName, this.analyzingFilePath, message);
+        this.listener.resolutionFailed(this.analyzingFilePath, message);
+        return;
+    }
+
+    /**
+     * 記号解決の失敗を表す例外から、解決できなかった名前を応答する。
+     * 
+     * @param exception    記号解決で発生した例外
+     * @param fallbackName 例外が名前を持たない場合に用いる名前
+     * @return 解決できなかった名前
+     */
+    protected static String unresolvedSymbolOf(Exception exception, String fallbackName) {
+        if (exception instanceof UnsolvedSymbolException unsolvedSymbolException
+                && unsolvedSymbolException.getName() != null) {
+            return unsolvedSymbolException.getName();
+        }
+        return fallbackName;
+    }
+
+    /**
+     * これまでの解析で記録した、記号解決の失敗の集計結果を応答する。
+     * 
+     * @return 記号解決の失敗の集計結果
+     */
+    protected ResolutionDiagnostics resolutionDiagnostics() {
+        return this.diagnosticsCollector.diagnostics();
     }
 
     /**
@@ -81,7 +502,38 @@ public abstract class AbstractAnalyzer<Result> extends Object {
     }
 
     /**
-     * ファイル単位の解析を行う。
+     * 構文解析の並列度を設定する。
+     * 
+     * @param parallelism 構文解析の並列度(1以下の場合は逐次に構文解析を行う)
+     */
+    public void parallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+        return;
+    }
+
+    /**
+     * フィールド変数 parallelism を返す。
+     * 
+     * @return 構文解析の並列度
+     */
+    public Integer parallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * 実行中の解析で使い回す、ファイル単位の解析の中の処理を並列に行うワーカのプールを応答する。
+     * プールは解析の開始時に並列度と同じ数のワーカで作り、解析の終了時に停止するため、ファイルごとに作り直さない。
+     * ファイルの時間の上限の管理と解析結果の統合は、引き続き呼び出し元のスレッドで行う。
+     * 
+     * @return ワーカのプール(解析中でないか、並列度が1以下の場合はnull)
+     */
+    protected ForkJoinPool workerPool() {
+        return this.workerPool;
+    }
+
+    /**
+     * ファイル単位の解析を行い、その結果をlastUnitResultで応答できるよう保持する。
+     * 解析結果の要素への統合は、すべてのファイルの解析を終えた後にmergeUnitResultで探索順に行う。
      * 
      * @param aCompilationUnit コンパイルユニット
      * @param filePath         解析するファイルのパス
@@ -100,6 +552,252 @@ public abstract class AbstractAnalyzer<Result> extends Object {
      */
     protected abstract void initializeResultElements();
 
+    /**
+     * 解析キャッシュの互換性を識別する解析器のバージョンを応答する。
+     * ファイル単位の解析結果の形式や解析の内容を変えた場合は、バージョンも変える必要がある。
+     * nullを応答する解析器は解析キャッシュを使用しない。
+     * 
+     * @return 解析器のバージョン
+     */
+    protected String analyzerVersion() {
+        return null;
+    }
+
+    /**
+     * 解析キャッシュに保存するファイル単位の解析結果に含まれ得る、JDKの基本的な型とコレクション以外の型を応答する。
+     * 解析キャッシュは、キャッシュファイルからこれらの型とエントリの型以外を復元しない。
+     * 
+     * @return ファイル単位の解析結果に含まれ得る型のリスト
+     */
+    protected List<Class<?>> unitResultTypes() {
+        return List.of();
+    }
+
+    /**
+     * 直前のファイル単位の解析の結果を、解析結果の要素への統合と解析キャッシュへの保存に用いる形で応答する。
+     * 応答した解析結果は、以降のファイルの解析で書き換えてはならない。
+     * 
+     * @param filePath 解析したファイルのパス
+     * @return ファイル単位の解析結果
+     */
+    protected abstract Serializable lastUnitResult(Path filePath);
+
+    /**
+     * ファイル単位の解析結果を、解析結果の要素に統合する。解析したファイルの解析結果と、
+     * 解析キャッシュから復元した解析結果のいずれも、探索順に一つずつ渡される。
+     * 
+     * @param unitResult ファイル単位の解析結果
+     * @param filePath   ファイルのパス
+     */
+    protected abstract void mergeUnitResult(Serializable unitResult, Path filePath);
+
+    /**
+     * 型の索引にある構文解析が必要なファイルを解析する。走査時に求めた内容と依存先のハッシュ値で先に解析キャッシュを引き、
+     * キャッシュにないファイルだけを構文解析させ、構文解析を終えた順に解析する。
+     * 解析結果の要素への統合は、キャッシュにあったファイルとあわせて最後に探索順に行うため、
+     * 構文解析の順序や並列度によらず解析結果は同一になる。中断された場合も、それまでの解析結果は統合する。
+     * 
+     * @param typeIndex      プロジェクトの型の索引
+     * @param parsingContext 構文解析のコンテキスト
+     * @param sourceParsing  キャッシュにないファイルを構文解析する処理
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    private void analyzeSources(ProjectTypeIndex typeIndex, ParsingContext parsingContext,
+            SourceParsing sourceParsing) throws InterruptedException {
+        List<Path> sourcePaths = new ArrayList<>();
+        List<Path> pathsToParse = new ArrayList<>();
+        Map<Path, Serializable> unitResults = new HashMap<>();
+        typeIndex.sourceSummariesToParse().forEach(summary -> {
+            Path path = summary.filePath();
+            sourcePaths.add(path);
+            lookupAnalysisCache(summary, typeIndex, parsingContext).ifPresentOrElse(
+                    cachedUnitResult -> unitResults.put(path, cachedUnitResult),
+                    () -> pathsToParse.add(path));
+        });
+
+        Long phaseStartTime = System.nanoTime();
+        this.totalUnitCount = sourcePaths.size();
+        sourcePaths.stream().filter(path -> unitResults.containsKey(path))
+                .forEach(path -> notifyUnitAnalyzed(path, true));
+        try {
+            sourceParsing.parse(pathsToParse, parsedSource -> analyzeParsedSource(parsedSource).ifPresent(
+                    unitResult -> unitResults.put(parsedSource.filePath(), unitResult)));
+        } finally {
+            sourcePaths.forEach(path -> {
+                Serializable unitResult = unitResults.get(path);
+                if (unitResult != null) {
+                    mergeUnitResult(unitResult, path);
+                }
+            });
+        }
+        completePhase(AnalysisPhase.ANALYSIS, phaseStartTime, this.completedUnitCount);
+        return;
+    }
+
+    /**
+     * ソースファイル一つ分の構文解析の結果が成功していれば、ファイル単位の解析を行い、その解析結果を応答する。
+     * エラーも記号解決の失敗もなく解析できたファイルの解析結果だけを、解析キャッシュに登録する。
+     * 時間の上限を超えたファイルは、途中までの解析結果を捨てて省略したファイルとして記録する。
+     * 
+     * @param parsedSource ソースファイル一つ分の構文解析の結果
+     * @return ファイル単位の解析結果(構文解析に失敗したか、解析を打ち切った場合は空)
+     */
+    private Optional<Serializable> analyzeParsedSource(ParsedSource parsedSource) {
+        this.cancellationToken.throwIfCancelled();
+        Path path = parsedSource.filePath();
+        if (parsedSource.compilationUnit() == null) {
+            System.err.println((parsedSource.hasSyntaxError() ? "構文エラー: " : "解析失敗: ") + path.toString());
+            handleError();
+            notifyUnitAnalyzed(path, false);
+            return Optional.empty();
+        }
+
+        Boolean hadError = this.hasError;
+        Serializable unitResult = null;
+        this.hasError = false;
+        this.analyzingFilePath = path;
+        this.resolutionFailureCount = 0;
+        this.listener.resolveStarted(path);
+        Long startTime = System.nanoTime();
+        this.fileDeadline = this.fileTimeBudget == null ? null : startTime + this.fileTimeBudget.toNanos();
+        try {
+            analyzeUnit(parsedSource.compilationUnit(), path);
+            unitResult = lastUnitResult(path);
+        } catch (FileBudgetExceededException e) {
+            System.err.println("解析を省略: " + e.getMessage());
+            this.skippedFiles.add(new SkippedFile(path, e.getMessage()));
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("解析失敗: " + path.toString());
+            handleError();
+        } finally {
+            this.listener.resolveFinished(path, Duration.ofNanos(System.nanoTime() - startTime),
+                    this.resolutionFailureCount);
+            this.analyzingFilePath = null;
+            this.fileDeadline = null;
+        }
+
+        // エラーや記号解決の失敗が生じたファイル、省略したファイルは、次回も解析し直して失敗を報告するため登録しない
+        if (!this.hasError && unitResult != null && this.resolutionFailureCount == 0 && this.analysisCache != null
+                && this.dependencyHashes.containsKey(path)) {
+            this.analysisCache.store(path, parsedSource.contentHash(), this.dependencyHashes.get(path), unitResult);
+        }
+        this.hasError = hadError || this.hasError;
+        notifyUnitAnalyzed(path, false);
+        return Optional.ofNullable(unitResult);
+    }
+
+    /**
+     * 最終結果を生成して応答し、その所要時間を通知の受け取り手へ通知する。
+     * 
+     * @return 解析結果
+     */
+    private Result buildResultWithTiming() {
+        Long startTime = System.nanoTime();
+        Result result = buildResult();
+        completePhase(AnalysisPhase.RESULT, startTime, this.completedUnitCount);
+        return result;
+    }
+
+    /**
+     * 並列度が2以上であれば、解析の間使い回すワーカのプールを作る。
+     */
+    private void openWorkerPool() {
+        this.workerPool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+        return;
+    }
+
+    /**
+     * ワーカのプールを作っていれば停止する。
+     */
+    private void closeWorkerPool() {
+        if (this.workerPool == null) {
+            return;
+        }
+        this.workerPool.shutdownNow();
+        this.workerPool = null;
+        return;
+    }
+
+    /**
+     * 解析キャッシュを使用している場合、キャッシュファイルを書き込んで解析キャッシュを閉じる。
+     */
+    private void closeAnalysisCache() {
+        if (this.analysisCache == null) {
+            return;
+        }
+        System.out.println("解析キャッシュ: ヒット " + this.analysisCache.hitCount() + " 件, ミス "
+                + this.analysisCache.missCount() + " 件");
+        this.analysisCache.save();
+        this.analysisCache = null;
+        this.dependencyHashes = new HashMap<>();
+        return;
+    }
+
+    /**
+     * 解析キャッシュから、ファイルのパスと内容のハッシュ値に一致し、依存先のハッシュ値も変わっていない解析結果を応答する。
+     * 依存先は、ファイルがインポートするプロジェクトのパッケージ(推移的な依存を含む)とライブラリとし、
+     * 求めたハッシュ値は、解析し直した結果を登録する際にエントリへ記録するため覚えておく。
+     * 
+     * @param summary        ソースファイルの概要
+     * @param typeIndex      プロジェクトの型の索引
+     * @param parsingContext 構文解析のコンテキスト
+     * @return 一致する解析結果(解析キャッシュを使用しない場合は空)
+     */
+    private Optional<Serializable> lookupAnalysisCache(SourceFileSummary summary, ProjectTypeIndex typeIndex,
+            ParsingContext parsingContext) {
+        if (this.analysisCache == null) {
+            return Optional.empty();
+        }
+        Map<String, String> currentDependencyHashes = new LinkedHashMap<>(typeIndex.dependencyHashesOf(summary));
+        currentDependencyHashes.put(LIBRARY_DEPENDENCY_NAME, parsingContext.libraryFingerprint());
+        this.dependencyHashes.put(summary.filePath(), currentDependencyHashes);
+        return this.analysisCache.lookup(summary.filePath(), summary.contentHash(), currentDependencyHashes);
+    }
+
+    /**
+     * ファイル一つ分の解析結果を統合したことを数え、通知の受け取り手へ通知する。
+     * 
+     * @param filePath ファイルのパス
+     * @param isCached 解析キャッシュの解析結果を統合したかどうか
+     */
+    private void notifyUnitAnalyzed(Path filePath, Boolean isCached) {
+        this.completedUnitCount++;
+        this.listener.unitAnalyzed(filePath, isCached, this.completedUnitCount, this.totalUnitCount);
+        return;
+    }
+
+    /**
+     * 解析器が解析キャッシュに対応し、キャッシュのディレクトリが設定されていれば解析キャッシュを開く。
+     * 型を解決するJDKが異なれば解析結果も異なり得るため、JDKごとに別の解析キャッシュを用いる。
+     * ソースコードやライブラリが変わっても、依存先が変わったファイルのエントリだけが引けなくなる。
+     * 
+     * @param parsingContext 構文解析のコンテキスト
+     */
+    private void openAnalysisCache(ParsingContext parsingContext) {
+        String analyzerVersion = analyzerVersion();
+        this.analysisCache = (this.cacheDirectory == null || analyzerVersion == null)
+                ? null
+                : AnalysisCache.open(this.cacheDirectory, getClass().getSimpleName(), analyzerVersion,
+                        parsingContext.sourceRootPath(), parsingContext.jarDirectoryPath(), parsingContext.jdkHome(),
+                        unitResultTypes());
+        this.dependencyHashes = new HashMap<>();
+        return;
+    }
+
+    /**
+     * 解析の段階を終えたことを、開始時刻からの所要時間とともに通知の受け取り手へ通知する。
+     * 
+     * @param phase     解析の段階
+     * @param startTime 段階を開始した時刻(System.nanoTimeの値)
+     * @param fileCount 段階で扱ったファイルの数
+     */
+    private void completePhase(AnalysisPhase phase, Long startTime, Integer fileCount) {
+        this.listener.phaseCompleted(phase, Duration.ofNanos(System.nanoTime() - startTime), fileCount);
+        return;
+    }
+
     /**
      * エラーフラグをリセットする。
      */
@@ -107,4 +805,18 @@ public abstract class AbstractAnalyzer<Result> extends Object {
         this.hasError = false;
         return;
     }
+
+    /**
+     * 構文解析が必要なソースファイルを構文解析し、その結果を引数のリストの順に受け取り手へ渡す処理を表すインタフェース。
+     */
+    private interface SourceParsing {
+        /**
+         * ソースファイルを構文解析し、その結果をリストの順に受け取り手へ渡す。
+         * 
+         * @param sourcePaths 構文解析するソースファイルのパスのリスト
+         * @param consumer    構文解析の結果の受け取り手
+         * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+         */
+        void parse(List<Path> sourcePaths, Consumer<ParsedSource> consumer) throws InterruptedException;
+    }
 }
@@ -0,0 +1,54 @@
+package nexusviz.generator.analyzer;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 解析の中止を要求するための合図を表すクラス。
+ * 解析を行うスレッドとは別のスレッド(GUIのスレッドなど)から中止を要求できる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class CancellationToken extends Object {
+    /**
+     * 中止が要求されたかどうかを束縛する。別のスレッドから書き換えられるため、volatileとする。
+     */
+    private volatile Boolean isCancelled;
+
+    /**
+     * デフォルトコンストラクタ。
+     */
+    public CancellationToken() {
+        this.isCancelled = false;
+        return;
+    }
+
+    /**
+     * 解析の中止を要求する。
+     */
+    public void cancel() {
+        this.isCancelled = true;
+        return;
+    }
+
+    /**
+     * フィールド変数 isCancelled を返す。
+     * 
+     * @return 中止が要求されていればtrue
+     */
+    public Boolean isCancelled() {
+        return this.isCancelled;
+    }
+
+    /**
+     * 中止が要求されていれば、例外を投げて解析を打ち切る。
+     * 
+     * @throws CancellationException 中止が要求されている場合
+     */
+    public void throwIfCancelled() {
+        if (this.isCancelled) {
+            throw new CancellationException("解析の中止が要求されました。");
+        }
+        return;
+    }
+}
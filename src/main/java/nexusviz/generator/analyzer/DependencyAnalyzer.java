@@ -1,9 +1,12 @@
 package nexusviz.generator.analyzer;
 
+import java.io.Serializable;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ast.CompilationUnit;
@@ -36,6 +39,7 @@ import nexusviz.generator.model.dependency.CalleeMethodInfo;
 import nexusviz.generator.model.dependency.CallerMethodInfo;
 import nexusviz.generator.model.dependency.DependencyInfo;
 import nexusviz.generator.result.DependencyAnalysisResult;
+import nexusviz.generator.result.ResolutionFailureCategory;
 import nexusviz.generator.util.TypeUtils;
 
 /**
@@ -45,11 +49,21 @@ import nexusviz.generator.util.TypeUtils;
  * @version 1.0
  */
 public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResult> {
+    /**
+     * 解析キャッシュの互換性を識別する解析器のバージョンを束縛する。
+     */
+    private static final String ANALYZER_VERSION = "2";
+
     /**
      * 宣言されている型、メソッド情報、依存情報を保持するMapを束縛する。
      */
     private Map<String, Map<CallerMethodInfo, DependencyInfo>> dependencyInfoMap;
 
+    /**
+     * 直前に解析したファイルで宣言されている型、メソッド情報、依存情報を保持するMapを束縛する。
+     */
+    private LinkedHashMap<String, Map<CallerMethodInfo, DependencyInfo>> unitDependencyInfoMap;
+
     /**
      * デフォルトコンストラクタ。
      */
@@ -64,9 +78,11 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
      */
     @Override
     protected void analyzeUnit(CompilationUnit aCompilationUnit, Path filePath) {
+        this.unitDependencyInfoMap = new LinkedHashMap<>();
         try {
             // 型を解析
             aCompilationUnit.findAll(TypeDeclaration.class).forEach(aType -> {
+                checkpoint();
                 TypeDeclaration<?> typeDeclaration = aType;
                 Map<CallerMethodInfo, DependencyInfo> dependencyInfo = new LinkedHashMap<>();
                 String fullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
@@ -90,8 +106,11 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
                 dependencyInfo.putAll(analyzeMethodDependency(typeDeclaration));
 
                 // 型名をキー，依存情報のマップを値として保存
-                this.dependencyInfoMap.put(declaringTypeName.toString(), dependencyInfo);
+                this.unitDependencyInfoMap.put(declaringTypeName.toString(), dependencyInfo);
             });
+        } catch (CancellationException | FileBudgetExceededException e) {
+            // 中断点からの打ち切りは、途中までの依存情報を統合せずに呼び出し元へ伝える
+            throw e;
         } catch (ParseProblemException e) {
             System.err.println("構文エラー: " + filePath + " - " + e.getMessage());
             handleError();
@@ -102,6 +121,51 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         return;
     }
 
+    /**
+     * 解析キャッシュの互換性を識別する解析器のバージョンを応答する。
+     * 
+     * @return 解析器のバージョン
+     */
+    @Override
+    protected String analyzerVersion() {
+        return ANALYZER_VERSION;
+    }
+
+    /**
+     * 解析キャッシュに保存するファイル単位の解析結果に含まれ得る型を応答する。
+     * 
+     * @return ファイル単位の解析結果に含まれ得る型のリスト
+     */
+    @Override
+    protected List<Class<?>> unitResultTypes() {
+        return List.of(CallerMethodInfo.class, CalleeMethodInfo.class, DependencyInfo.class, AccessedFieldInfo.class,
+                AccessType.class);
+    }
+
+    /**
+     * 直前に解析したファイルの依存情報を、解析キャッシュに保存できる形で応答する。
+     * 
+     * @param filePath 解析したファイルのパス
+     * @return ファイルで宣言されている型ごとの依存情報
+     */
+    @Override
+    protected Serializable lastUnitResult(Path filePath) {
+        return this.unitDependencyInfoMap;
+    }
+
+    /**
+     * 解析したか解析キャッシュから復元したファイルの依存情報を、解析結果に統合する。
+     * 
+     * @param unitResult ファイルで宣言されている型ごとの依存情報
+     * @param filePath   ファイルのパス
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void mergeUnitResult(Serializable unitResult, Path filePath) {
+        this.dependencyInfoMap.putAll((Map<String, Map<CallerMethodInfo, DependencyInfo>>) unitResult);
+        return;
+    }
+
     /**
      * 最終結果を生成して応答する。
      * 
@@ -109,7 +173,8 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
      */
     @Override
     protected DependencyAnalysisResult buildResult() {
-        return new DependencyAnalysisResult(this.dependencyInfoMap, this.hasError);
+        return new DependencyAnalysisResult(this.dependencyInfoMap, this.hasError, this.skippedFiles,
+                resolutionDiagnostics());
     }
 
     /**
@@ -402,7 +467,8 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
             accessedFields.put(accessedFieldInfo, accessedFields.getOrDefault(accessedFieldInfo, 0) + 1);
         } catch (Exception e) {
             // 解決できなかった場合は無視
-            System.err.println("名前式解決に失敗: " + nameExpr.getNameAsString() + " - " + e.getMessage());
+            reportResolutionFailure(ResolutionFailureCategory.NAME, unresolvedSymbolOf(e, nameExpr.getNameAsString()),
+                    () -> "名前式解決に失敗: " + nameExpr.getNameAsString() + " - " + e.getMessage());
         }
         return;
     }
@@ -464,6 +530,7 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
     private Map<CallerMethodInfo, DependencyInfo> analyzeCompactConstructorDependency(RecordDeclaration aRecord) {
         Map<CallerMethodInfo, DependencyInfo> compactConstructorDependencyInfo = new LinkedHashMap<>();
         aRecord.getCompactConstructors().forEach(aCompactConstructor -> {
+            checkpoint();
             // 解析するコンストラクタの情報を取得
             String compactConstructorName = aCompactConstructor.getNameAsString();
             Map<String, String> parameters = new LinkedHashMap<>();
@@ -561,6 +628,7 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
     private Map<CallerMethodInfo, DependencyInfo> analyzeConstructorDependency(TypeDeclaration<?> aType) {
         Map<CallerMethodInfo, DependencyInfo> constructorDependencyInfo = new LinkedHashMap<>();
         aType.getConstructors().forEach(aConstructor -> {
+            checkpoint();
             // 解析するコンストラクタの情報を取得
             String constructorName = aConstructor.getNameAsString();
             Map<String, String> parameters = new LinkedHashMap<>();
@@ -606,17 +674,19 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> pseudoConstructors = new LinkedHashMap<>();
 
         compactConstructor.findAll(ExplicitConstructorInvocationStmt.class).forEach(invocation -> {
+            checkpoint();
             ResolvedConstructorDeclaration resolvedConstructorDecl = null;
             try {
                 // 明示的なコンストラクタ呼び出しを解決
                 resolvedConstructorDecl = invocation.resolve();
             } catch (Exception e) {
-                System.err.println(
-                        "明示コンストラクタ呼び出し解析失敗: " + compactConstructor.getNameAsString() + " - " + e.getMessage());
+                reportResolutionFailure(ResolutionFailureCategory.EXPLICIT_CONSTRUCTOR_CALL,
+                        unresolvedSymbolOf(e, compactConstructor.getNameAsString()),
+                        () -> "明示コンストラクタ呼び出し解析失敗: " + compactConstructor.getNameAsString()
+                        + " - " + e.getMessage() + System.lineSeparator()
+                        + "メソッド呼び出し解決失敗: " + e.getMessage() + " in " + invocation.toString());
                 handleError();
 
-                System.err.println("メソッド呼び出し解決失敗: " + e.getMessage() + " in " + invocation.toString());
-
                 // 解決できなかった場合は，呼び出し式から情報を取得してCalleeMethodInfoを作成
                 addFallbackPseudoConstructorInfo(pseudoConstructors, aRecord, invocation);
 
@@ -641,16 +711,19 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> pseudoConstructors = new LinkedHashMap<>();
 
         constructor.findAll(ExplicitConstructorInvocationStmt.class).forEach(invocation -> {
+            checkpoint();
             ResolvedConstructorDeclaration resolvedConstructorDecl = null;
             try {
                 // 明示的なコンストラクタ呼び出しを解決
                 resolvedConstructorDecl = invocation.resolve();
             } catch (Exception e) {
-                System.err.println("明示的なコンストラクタ呼び出し解析失敗: " + constructor.getNameAsString() + " - " + e.getMessage());
+                reportResolutionFailure(ResolutionFailureCategory.EXPLICIT_CONSTRUCTOR_CALL,
+                        unresolvedSymbolOf(e, constructor.getNameAsString()),
+                        () -> "明示的なコンストラクタ呼び出し解析失敗: " + constructor.getNameAsString()
+                        + " - " + e.getMessage() + System.lineSeparator()
+                        + "メソッド呼び出し解決失敗: " + e.getMessage() + " in " + invocation.toString());
                 handleError();
 
-                System.err.println("メソッド呼び出し解決失敗: " + e.getMessage() + " in " + invocation.toString());
-
                 // 解決できなかった場合は，呼び出し式から情報を取得してCalleeMethodInfoを作成
                 addFallbackPseudoConstructorInfo(pseudoConstructors, aType, invocation);
 
@@ -675,12 +748,14 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
 
         // 明示的なフィールドアクセス式を解析してフィールドアクセスを特定
         compactConstructor.findAll(FieldAccessExpr.class).forEach(fieldAccessExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(fieldAccessExpr);
             addExplicitFieldAccesses(accessedFields, fieldAccessExpr, accessType);
         });
 
         // 暗黙的なフィールドアクセス式を解析してフィールドアクセスを特定
         compactConstructor.findAll(NameExpr.class).forEach(nameExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(nameExpr);
             addImplicitFieldAccesses(accessedFields, nameExpr, accessType);
         });
@@ -698,12 +773,14 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
 
         // 明示的なフィールドアクセス式を解析してフィールドアクセスを特定
         constructor.findAll(FieldAccessExpr.class).forEach(fieldAccessExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(fieldAccessExpr);
             addExplicitFieldAccesses(accessedFields, fieldAccessExpr, accessType);
         });
 
         // 暗黙的なフィールドアクセス式を解析してフィールドアクセスを特定
         constructor.findAll(NameExpr.class).forEach(nameExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(nameExpr);
             addImplicitFieldAccesses(accessedFields, nameExpr, accessType);
         });
@@ -721,12 +798,14 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
 
         // 明示的なフィールドアクセス式を解析してフィールドアクセスを特定
         method.findAll(FieldAccessExpr.class).forEach(fieldAccessExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(fieldAccessExpr);
             addExplicitFieldAccesses(accessedFields, fieldAccessExpr, accessType);
         });
 
         // 暗黙的なフィールドアクセス式を解析してフィールドアクセスを特定
         method.findAll(NameExpr.class).forEach(nameExpr -> {
+            checkpoint();
             AccessType accessType = resolveAccessType(nameExpr);
             addImplicitFieldAccesses(accessedFields, nameExpr, accessType);
         });
@@ -743,12 +822,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeMethods = new LinkedHashMap<>();
 
         compactConstructor.findAll(MethodCallExpr.class).forEach(callExpr -> {
+            checkpoint();
             ResolvedMethodDeclaration resolvedMethodDecl = null;
             try {
                 // メソッド呼び出しを解決
                 resolvedMethodDecl = callExpr.resolve();
             } catch (Exception e) {
-                System.err.println("メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.METHOD_CALL,
+                        unresolvedSymbolOf(e, callExpr.getNameAsString()),
+                        () -> "メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
 
                 // 解決できなかった場合は，呼び出し式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeMethodInfo(calleeMethods, callExpr);
@@ -771,12 +853,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeMethods = new LinkedHashMap<>();
 
         constructor.findAll(MethodCallExpr.class).forEach(callExpr -> {
+            checkpoint();
             ResolvedMethodDeclaration resolvedMethodDecl = null;
             try {
                 // メソッド呼び出しを解決
                 resolvedMethodDecl = callExpr.resolve();
             } catch (Exception e) {
-                System.err.println("メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.METHOD_CALL,
+                        unresolvedSymbolOf(e, callExpr.getNameAsString()),
+                        () -> "メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
 
                 // 解決できなかった場合は，呼び出し式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeMethodInfo(calleeMethods, callExpr);
@@ -799,12 +884,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeMethods = new LinkedHashMap<>();
 
         method.findAll(MethodCallExpr.class).forEach(callExpr -> {
+            checkpoint();
             ResolvedMethodDeclaration resolvedMethodDecl = null;
             try {
                 // メソッド呼び出しを解決
                 resolvedMethodDecl = callExpr.resolve();
             } catch (Exception e) {
-                System.err.println("メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.METHOD_CALL,
+                        unresolvedSymbolOf(e, callExpr.getNameAsString()),
+                        () -> "メソッド呼び出し解決失敗: " + e.getMessage() + " in " + callExpr.toString());
 
                 // 解決できなかった場合は，呼び出し式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeMethodInfo(calleeMethods, callExpr);
@@ -826,6 +914,7 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
     private Map<CallerMethodInfo, DependencyInfo> analyzeMethodDependency(TypeDeclaration<?> aType) {
         Map<CallerMethodInfo, DependencyInfo> methodDependencyInfo = new LinkedHashMap<>();
         aType.getMethods().forEach(aMethod -> {
+            checkpoint();
             // 解析するメソッドの情報を取得
             String methodName = aMethod.getNameAsString();
             String returnTypeName = aMethod.getTypeAsString().replaceAll(",", ", ");
@@ -871,12 +960,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeConstructors = new LinkedHashMap<>();
 
         compactConstructor.findAll(ObjectCreationExpr.class).forEach(newExpr -> {
+            checkpoint();
             ResolvedConstructorDeclaration resolvedConstructor = null;
             try {
                 // インスタンス生成を解決
                 resolvedConstructor = newExpr.resolve();
             } catch (Exception e) {
-                System.err.println("インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.OBJECT_CREATION,
+                        unresolvedSymbolOf(e, newExpr.getType().asString()),
+                        () -> "インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
 
                 // 解決できなかった場合は，インスタンス生成式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeConstructorInfo(calleeConstructors, newExpr);
@@ -899,12 +991,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeConstructors = new LinkedHashMap<>();
 
         constructor.findAll(ObjectCreationExpr.class).forEach(newExpr -> {
+            checkpoint();
             ResolvedConstructorDeclaration resolvedConstructor = null;
             try {
                 // インスタンス生成を解決
                 resolvedConstructor = newExpr.resolve();
             } catch (Exception e) {
-                System.err.println("インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.OBJECT_CREATION,
+                        unresolvedSymbolOf(e, newExpr.getType().asString()),
+                        () -> "インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
 
                 // 解決できなかった場合は，インスタンス生成式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeConstructorInfo(calleeConstructors, newExpr);
@@ -927,12 +1022,15 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
         Map<CalleeMethodInfo, Integer> calleeConstructors = new LinkedHashMap<>();
 
         method.findAll(ObjectCreationExpr.class).forEach(newExpr -> {
+            checkpoint();
             ResolvedConstructorDeclaration resolvedConstructor = null;
             try {
                 // インスタンス生成を解決
                 resolvedConstructor = newExpr.resolve();
             } catch (Exception e) {
-                System.err.println("インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
+                reportResolutionFailure(ResolutionFailureCategory.OBJECT_CREATION,
+                        unresolvedSymbolOf(e, newExpr.getType().asString()),
+                        () -> "インスタンス生成解決失敗: " + e.getMessage() + " in " + newExpr.toString());
 
                 // 解決できなかった場合は，インスタンス生成式から情報を取得してCalleeMethodInfoを作成
                 addFallbackCalleeConstructorInfo(calleeConstructors, newExpr);
@@ -1172,7 +1270,8 @@ public class DependencyAnalyzer extends AbstractAnalyzer<DependencyAnalysisResul
             }
         } catch (Exception e) {
             // 解決できなかった場合は無視
-            System.err.println("スコープ解決に失敗: " + scope.toString() + " - " + e.getMessage());
+            reportResolutionFailure(ResolutionFailureCategory.SCOPE, unresolvedSymbolOf(e, scope.toString()),
+                    () -> "スコープ解決に失敗: " + scope.toString() + " - " + e.getMessage());
         }
         return scope.toString();
     }
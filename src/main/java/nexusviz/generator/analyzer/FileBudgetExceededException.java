@@ -0,0 +1,29 @@
+package nexusviz.generator.analyzer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * ファイル単位の解析が、ファイルごとの時間の上限を超えたことを表す例外。
+ * 解析器の中断点で投げられ、そのファイルの解析を打ち切って次のファイルへ進むために用いる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class FileBudgetExceededException extends RuntimeException {
+    /**
+     * シリアライズの互換性を識別するバージョンを束縛する。
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 時間の上限を超えたファイルと、その上限からメッセージを作るコンストラクタ。
+     * 
+     * @param filePath       時間の上限を超えたファイルのパス
+     * @param fileTimeBudget ファイルごとの時間の上限
+     */
+    public FileBudgetExceededException(Path filePath, Duration fileTimeBudget) {
+        super("解析時間の上限(" + fileTimeBudget.toMillis() + "ミリ秒)を超えました: " + filePath);
+        return;
+    }
+}
@@ -0,0 +1,108 @@
+package nexusviz.generator.analyzer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import nexusviz.generator.result.ResolutionDiagnostics;
+import nexusviz.generator.result.ResolutionFailureCategory;
+
+/**
+ * 記号解決の失敗を、種類と解決できなかった名前ごとに数える収集器。
+ * 失敗の説明は種類ごとに決まった数だけを例として作り、それ以外の失敗では作らない。
+ * 複数のスレッドから同時に記録できる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ResolutionDiagnosticsCollector extends Object {
+    /**
+     * 失敗の種類ごとに残す、失敗の説明の例の数の既定値を束縛する。
+     */
+    public static final Integer DEFAULT_SAMPLE_LIMIT = 5;
+
+    /**
+     * 失敗の種類ごとに残す、失敗の説明の例の数を束縛する。
+     */
+    private final Integer sampleLimit;
+
+    /**
+     * 記号解決に失敗した総数を束縛する。
+     */
+    private Integer failureCount;
+
+    /**
+     * 失敗の種類ごとの数を束縛する。
+     */
+    private final Map<ResolutionFailureCategory, Integer> categoryCounts;
+
+    /**
+     * 解決できなかった名前ごとの数を束縛する。
+     */
+    private final Map<String, Integer> symbolCounts;
+
+    /**
+     * 失敗の種類ごとの、失敗の説明の例を束縛する。
+     */
+    private final Map<ResolutionFailureCategory, List<String>> sampleMessages;
+
+    /**
+     * 既定の数の例を残す収集器を生成するコンストラクタ。
+     */
+    public ResolutionDiagnosticsCollector() {
+        this(DEFAULT_SAMPLE_LIMIT);
+        return;
+    }
+
+    /**
+     * 失敗の種類ごとに残す例の数を指定するコンストラクタ。
+     * 
+     * @param sampleLimit 失敗の種類ごとに残す、失敗の説明の例の数
+     */
+    public ResolutionDiagnosticsCollector(Integer sampleLimit) {
+        this.sampleLimit = sampleLimit;
+        this.failureCount = 0;
+        this.categoryCounts = new EnumMap<>(ResolutionFailureCategory.class);
+        this.symbolCounts = new HashMap<>();
+        this.sampleMessages = new EnumMap<>(ResolutionFailureCategory.class);
+        return;
+    }
+
+    /**
+     * 記号解決の失敗を記録する。失敗の説明は、例として残す場合にだけ作る。
+     * 
+     * @param category   失敗の種類
+     * @param symbolName 解決できなかった名前
+     * @param filePath   ソースファイルのパス(特定できない場合はnull)
+     * @param message    失敗の説明を作る関数
+     */
+    public synchronized void record(ResolutionFailureCategory category, String symbolName, Path filePath,
+            Supplier<String> message) {
+        this.failureCount++;
+        this.categoryCounts.merge(category, 1, Integer::sum);
+        this.symbolCounts.merge(symbolName, 1, Integer::sum);
+        List<String> messages = this.sampleMessages.computeIfAbsent(category, aCategory -> new ArrayList<>());
+        if (messages.size() < this.sampleLimit) {
+            messages.add(filePath == null ? message.get() : filePath.getFileName() + ": " + message.get());
+        }
+        return;
+    }
+
+    /**
+     * これまでに記録した失敗の集計結果を応答する。
+     * 
+     * @return 記号解決の失敗の集計結果
+     */
+    public synchronized ResolutionDiagnostics diagnostics() {
+        Map<ResolutionFailureCategory, List<String>> copiedMessages = new EnumMap<>(ResolutionFailureCategory.class);
+        this.sampleMessages.forEach((category, messages) -> copiedMessages.put(category, List.copyOf(messages)));
+        return new ResolutionDiagnostics(this.failureCount,
+                Collections.unmodifiableMap(new EnumMap<>(this.categoryCounts)), Map.copyOf(this.symbolCounts),
+                Collections.unmodifiableMap(copiedMessages));
+    }
+}
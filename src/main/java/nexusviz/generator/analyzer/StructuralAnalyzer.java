@@ -2,10 +2,13 @@ package nexusviz.generator.analyzer;
 
 import static nexusviz.generator.model.structure.RelationType.*;
 
+import java.io.Serializable;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ast.CompilationUnit;
@@ -13,32 +16,58 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.stmt.Statement;
 
+import nexusviz.generator.model.structure.AccessModifier;
+import nexusviz.generator.model.structure.ConstructorSummary;
+import nexusviz.generator.model.structure.EnumConstantSummary;
+import nexusviz.generator.model.structure.FieldSummary;
+import nexusviz.generator.model.structure.MethodSummary;
+import nexusviz.generator.model.structure.ParameterSummary;
+import nexusviz.generator.model.structure.RelationType;
+import nexusviz.generator.model.structure.TypeHierarchyGraph;
 import nexusviz.generator.model.structure.TypeInfo;
+import nexusviz.generator.model.structure.TypeKind;
+import nexusviz.generator.model.structure.TypeRegistry;
+import nexusviz.generator.model.structure.TypeRelationGraph;
 import nexusviz.generator.model.structure.TypeRelationInfo;
+import nexusviz.generator.model.structure.TypeSummary;
+import nexusviz.generator.model.structure.TypeSymbolTable;
+import nexusviz.generator.project.ParseMode;
 import nexusviz.generator.result.StructuralAnalysisResult;
 import nexusviz.generator.util.TypeUtils;
 
 /**
  * プロジェクトの構造情報の解析を行うクラス。
+ * ファイル単位の解析結果である型情報と関係情報は、構文木を参照しない名前で保持するため、解析キャッシュに保存できる。
  * 
  * @author Ishiguro
  * @version 1.0
  */
 public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResult> {
     /**
-     * 型情報を保持するSetを束縛する。
+     * 解析キャッシュの互換性を識別する解析器のバージョンを束縛する。
      */
-    private Set<TypeInfo> typeInfos;
+    private static final String ANALYZER_VERSION = "1";
 
     /**
-     * 型同士の関係情報を保持するSetを束縛する。
+     * 型情報を完全修飾名と単純名で引けるように保持する登録簿を束縛する。
      */
-    private Set<TypeRelationInfo> typeRelations;
+    private TypeRegistry typeRegistry;
 
     /**
-     * デフォルトコンストラクタ。
+     * 型ごとに抽出した関係情報を追加し、最終結果の生成時に統合する関係情報のグラフを束縛する。
+     */
+    private TypeRelationGraph typeRelations;
+
+    /**
+     * 直前に解析したファイルの型情報と関係情報を束縛する。
+     */
+    private UnitResult unitResult;
+
+    /**
+     * デフォルトコンストラクタ。構造の解析には宣言のみが必要なため、既定では宣言のみを構文解析する。
      */
     public StructuralAnalyzer() {
+        super(ParseMode.DECLARATIONS_ONLY);
     }
 
     /**
@@ -49,11 +78,21 @@ public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResul
      */
     @Override
     protected void analyzeUnit(CompilationUnit aCompilationUnit, Path filePath) {
+        // 時間の上限で打ち切った場合に途中までの結果を捨てられるよう、ファイル単位で集めてから統合する
+        Set<TypeInfo> unitTypeInfos = new LinkedHashSet<>();
+        Set<TypeRelationInfo> unitTypeRelations = new LinkedHashSet<>();
         try {
-            // 型情報を収集する
+            // 型情報と、型ごとの関係情報を収集する
+            // 構文木を参照しない形で保持するため、解析後のコンパイルユニットは破棄できる
+            List<TypeDeclaration<?>> types = new ArrayList<>();
             aCompilationUnit.findAll(TypeDeclaration.class).forEach(aType -> {
-                this.typeInfos.add(createTypeInfo(aType));
+                checkpoint();
+                types.add(aType);
+                unitTypeInfos.add(createTypeInfo(aType));
             });
+            unitTypeRelations.addAll(TypeRelationAnalyzer.analyzeTypeRelations(types, workerPool(), this::checkpoint));
+        } catch (CancellationException | FileBudgetExceededException e) {
+            throw e;
         } catch (ParseProblemException e) {
             System.err.println("構文エラー: " + filePath + " - " + e.getMessage());
             handleError();
@@ -61,6 +100,54 @@ public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResul
             System.err.println("予期しないエラー: " + filePath + " - " + e.getMessage());
             handleError();
         }
+        this.unitResult = new UnitResult(new ArrayList<>(unitTypeInfos), new ArrayList<>(unitTypeRelations));
+        return;
+    }
+
+    /**
+     * 解析キャッシュの互換性を識別する解析器のバージョンを応答する。
+     * 
+     * @return 解析器のバージョン
+     */
+    @Override
+    protected String analyzerVersion() {
+        return ANALYZER_VERSION;
+    }
+
+    /**
+     * 解析キャッシュに保存するファイル単位の解析結果に含まれ得る型を応答する。
+     * 
+     * @return ファイル単位の解析結果に含まれ得る型のリスト
+     */
+    @Override
+    protected List<Class<?>> unitResultTypes() {
+        return List.of(UnitResult.class, TypeInfo.class, TypeSummary.class, TypeKind.class, AccessModifier.class,
+                FieldSummary.class, MethodSummary.class, ConstructorSummary.class, ParameterSummary.class,
+                EnumConstantSummary.class, TypeRelationInfo.class, RelationType.class);
+    }
+
+    /**
+     * 直前に解析したファイルの型情報と関係情報を、解析キャッシュに保存できる形で応答する。
+     * 
+     * @param filePath 解析したファイルのパス
+     * @return ファイルで宣言されている型の型情報と関係情報
+     */
+    @Override
+    protected Serializable lastUnitResult(Path filePath) {
+        return this.unitResult;
+    }
+
+    /**
+     * 解析したか解析キャッシュから復元したファイルの型情報と関係情報を、解析結果の要素に統合する。
+     * 
+     * @param unitResult ファイルで宣言されている型の型情報と関係情報
+     * @param filePath   ファイルのパス
+     */
+    @Override
+    protected void mergeUnitResult(Serializable unitResult, Path filePath) {
+        UnitResult structuralUnitResult = (UnitResult) unitResult;
+        this.typeRegistry.registerAll(new LinkedHashSet<>(structuralUnitResult.typeInfos()));
+        structuralUnitResult.typeRelations().forEach(this.typeRelations::add);
         return;
     }
 
@@ -72,24 +159,26 @@ public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResul
     @Override
     protected StructuralAnalysisResult buildResult() {
         // 型情報が一つも見つからなかった場合、nullを応答する
-        if (this.typeInfos.isEmpty()) {
+        if (this.typeRegistry.isEmpty()) {
             System.out.println("型情報が見つかりませんでした。");
             return null;
         }
 
         // 型同士の関係情報を解析する
-        this.typeRelations.addAll(TypeRelationAnalyzer.analyze(this.typeInfos));
+        TypeRelationAnalyzer.analyze(this.typeRegistry, this.typeRelations);
 
         // 関係情報に含まれるtoTypeのうち、登録されていない型情報を追加する
-        addTypeInfosFromRelations(this.typeInfos, this.typeRelations);
+        addTypeInfosFromRelations(this.typeRegistry, this.typeRelations);
 
         // this.hasErrorがtrueならその旨を通知
         if (this.hasError) {
             System.out.println("解析中にエラーが発生しました。解析結果の一部が不完全になっています。");
         }
 
-        // 結果を返す
-        return new StructuralAnalysisResult(this.typeInfos, this.typeRelations);
+        // 型のグラフを作り、結果を返す
+        TypeHierarchyGraph typeGraph = TypeHierarchyGraph.of(this.typeRegistry.typeInfos(), this.typeRelations);
+        return new StructuralAnalysisResult(this.typeRegistry.typeInfos(), this.typeRelations, this.skippedFiles,
+                resolutionDiagnostics(), typeGraph);
     }
 
     /**
@@ -97,55 +186,51 @@ public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResul
      */
     @Override
     protected void initializeResultElements() {
-        this.typeInfos = new LinkedHashSet<>();
-        this.typeRelations = new LinkedHashSet<>();
+        this.typeRegistry = new TypeRegistry();
+        this.typeRelations = new TypeRelationGraph();
         return;
     }
 
     /**
-     * 型関係情報の集合のtoTypeのうち、登録されていない型情報を追加する。
+     * 関係情報のグラフの参照先の型のうち、登録されていない型情報を追加する。
+     * 型情報の検索は登録簿の索引を引くため、関係情報の数に比例した時間で済む。
      * 
-     * @param typeInfos     既存の型情報の集合
-     * @param typeRelations 関係情報の集合
+     * @param typeRegistry  既存の型情報の登録簿
+     * @param typeRelations 関係情報のグラフ
      */
-    private void addTypeInfosFromRelations(Set<TypeInfo> typeInfos,
-            Set<TypeRelationInfo> typeRelations) {
-        // 既に登録されている完全修飾型名の集合を作成
-        Set<String> registeredTypeNames = new HashSet<>();
-        typeInfos.forEach(typeInfo -> {
-            String fullyQualifiedTypeName = typeInfo.fullyQualifiedScope() + "." + typeInfo.typeName();
-            registeredTypeNames.add(fullyQualifiedTypeName);
-        });
-
-        typeRelations.forEach(typeRelation -> {
+    private void addTypeInfosFromRelations(TypeRegistry typeRegistry,
+            TypeRelationGraph typeRelations) {
+        TypeSymbolTable symbolTable = typeRelations.symbolTable();
+        for (int edge = 0; edge < typeRelations.size(); edge++) {
+            int fromSymbol = typeRelations.fromSymbol(edge);
+            int toSymbol = typeRelations.toSymbol(edge);
+            String toTypeName = symbolTable.typeName(toSymbol);
+            String toTypeFullyQualifiedScope = symbolTable.fullyQualifiedScope(toSymbol);
+
             // toTypeの完全修飾型名を作成
-            String toFullyQualifiedTypeName = typeRelation.toTypeFullyQualifiedScope().isEmpty()
-                    ? typeRelation.toType().asString()
-                    : typeRelation.toTypeFullyQualifiedScope() + "."
-                            + typeRelation.toType().asString();
+            String toFullyQualifiedTypeName = TypeRegistry.fullyQualifiedNameOf(toTypeFullyQualifiedScope,
+                    toTypeName);
 
             // toTypeがインタフェースであるかどうかを判定
             Boolean isInterface = false;
-            if (typeRelation.relationType() == IMPLEMENTATION) {
+            if (typeRelations.relationType(edge) == IMPLEMENTATION) {
                 // 実装関係の場合、toTypeはインタフェースであるため、isInterfaceをtrueに設定する
                 isInterface = true;
-            } else if (typeRelation.relationType() == INHERITANCE) {
+            } else if (typeRelations.relationType(edge) == INHERITANCE) {
                 // 継承関係の場合、fromTypeがインタフェースであればtoTypeもインタフェースである
-                TypeInfo fromTypeInfo = findTypeInfo(typeInfos, typeRelation.fromTypeFullyQualifiedScope(),
-                        typeRelation.fromType().asString());
+                TypeInfo fromTypeInfo = typeRegistry.find(symbolTable.fullyQualifiedScope(fromSymbol),
+                        symbolTable.typeName(fromSymbol));
                 if (fromTypeInfo != null && fromTypeInfo.isInterface()) {
                     isInterface = true;
                 }
             }
 
             // toTypeが未登録の場合、型情報を生成して追加
-            if (!registeredTypeNames.contains(toFullyQualifiedTypeName)) {
-                typeInfos.add(
-                        new TypeInfo(typeRelation.toTypeFullyQualifiedScope(), typeRelation.toType().asString(), null,
-                                isInterface, typeRelation.isLocalType()));
-                registeredTypeNames.add(toFullyQualifiedTypeName);
+            if (!typeRegistry.containsFullyQualifiedName(toFullyQualifiedTypeName)) {
+                typeRegistry.register(new TypeInfo(toTypeFullyQualifiedScope, toTypeName, null, isInterface,
+                        typeRelations.isLocalType(edge)));
             }
-        });
+        }
         return;
     }
 
@@ -174,27 +259,19 @@ public class StructuralAnalyzer extends AbstractAnalyzer<StructuralAnalysisResul
             }
         }
 
-        TypeInfo typeInfo = new TypeInfo(fullyQualifiedScope, typeDeclaration.getNameAsString(), typeDeclaration,
-                isInterface, isLocalType);
+        TypeInfo typeInfo = new TypeInfo(fullyQualifiedScope, typeDeclaration.getNameAsString(),
+                TypeSummaryAnalyzer.analyze(typeDeclaration), isInterface, isLocalType);
 
         return typeInfo;
     }
 
     /**
-     * 指定された完全修飾スコープ名と型名に一致する型情報を型情報の集合から検索して応答する。
+     * ファイル一つ分の解析結果を、解析キャッシュに保存できる形で表すレコード。
      * 
-     * @param typeInfos           型情報の集合
-     * @param fullyQualifiedScope 完全修飾スコープ名
-     * @param typeName            型名
-     * @return 一致する型情報(存在しない場合はnull)
+     * @param typeInfos     ファイルで宣言されている型の型情報のリスト
+     * @param typeRelations ファイルで宣言されている型の関係情報のリスト
      */
-    private TypeInfo findTypeInfo(Set<TypeInfo> typeInfos, String fullyQualifiedScope, String typeName) {
-        for (TypeInfo typeInfo : typeInfos) {
-            if (typeInfo.fullyQualifiedScope().equals(fullyQualifiedScope)
-                    && typeInfo.typeName().equals(typeName)) {
-                return typeInfo;
-            }
-        }
-        return null;
+    private record UnitResult(List<TypeInfo> typeInfos, List<TypeRelationInfo> typeRelations)
+            implements Serializable {
     }
 }
@@ -2,13 +2,17 @@ package nexusviz.generator.analyzer;
 
 import static nexusviz.generator.model.structure.RelationType.*;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
@@ -22,7 +26,8 @@ import com.github.javaparser.ast.stmt.Statement;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 
-import nexusviz.generator.model.structure.TypeInfo;
+import nexusviz.generator.model.structure.TypeRegistry;
+import nexusviz.generator.model.structure.TypeRelationGraph;
 import nexusviz.generator.model.structure.TypeRelationInfo;
 import nexusviz.generator.util.TypeUtils;
 
@@ -56,46 +61,125 @@ public class TypeRelationAnalyzer extends Object {
     }
 
     /**
-     * 引数で受け取った型情報の集合をもとに、関係情報を解析する。
+     * 型ごとに抽出した関係情報の集合と型情報の登録簿をもとに、関係情報を統合する。
+     * 統合は型を記号表の記号に置き換えた辺の配列のグラフの上で行い、文字列の比較を繰り返さない。
+     * 統合を終えたグラフは、関係情報の集合に戻さずにそのまま応答する。
      * 
-     * @param typeInfos 型情報の集合
-     * @return 関係情報の集合
+     * @param typeRegistry  型情報の登録簿
+     * @param relationGraph analyzeTypeRelationsで型ごとに抽出した関係情報を追加したグラフ
+     * @return 統合した関係情報のグラフ
      */
-    public static Set<TypeRelationInfo> analyze(Set<TypeInfo> typeInfos) {
-        Set<TypeRelationInfo> typeRelations = new LinkedHashSet<>();
-
-        // 各型宣言情報に対して関係情報を解析する
-        typeInfos.forEach(typeInfo -> {
-            TypeDeclaration<?> type = typeInfo.typeDeclaration();
-            if (type instanceof ClassOrInterfaceDeclaration) { // クラスもしくはインタフェースの場合
-                typeRelations.addAll(analyzeClassOrInterfaceRelations(type));
-            } else if (type instanceof EnumDeclaration) { // 列挙型の場合
-                typeRelations.addAll(analyzeEnumRelations(type));
-            } else if (type instanceof RecordDeclaration) { // レコードの場合
-                typeRelations.addAll(analyzeRecordRelations(type));
-            }
-        });
+    public static TypeRelationGraph analyze(TypeRegistry typeRegistry, TypeRelationGraph relationGraph) {
 
         // 同一クラスに対する片方向関連と多重片方向関連を検出し、片方向関連を除外する
-        typeRelations.removeAll(detectMultiplicityUnidirectionalRelations(typeRelations));
+        relationGraph.removeUnidirectionalShadowedByMultiplicity();
 
         // 継承関係と実装関係において、TypeRelationInfoのtoTypeの名前とTypeInfoのtypeNameが一致する場合、同一型とみなし、TypeRelationInfoのfullyQualifiedScopeをTypeInfoのfullyQualifiedScopeと一致させる
-        Set<TypeRelationInfo> replacedTypeRelations = detectDuplicatedToTypeTypeRelationInfo(typeInfos, typeRelations);
+        relationGraph.qualifyHierarchyTargets(typeRegistry);
 
         // 双方向関連を検出・統合したものを応答する
-        return mergeToBidirectionalRelations(replacedTypeRelations);
+        relationGraph.mergeToBidirectional();
+        return relationGraph;
+    }
+
+    /**
+     * 複数の型宣言情報から、それぞれの型を参照元とする関係情報を抽出し、型宣言情報の順に統合して応答する。
+     * 型ごとの抽出は互いに独立しているため、ワーカのプールが渡され、型が二つ以上ある場合は、型ごとにプールで並列に抽出する。
+     * プールは解析全体で使い回すものを受け取り、ここでは生成も停止もしない。
+     * 各ワーカは型ごとの関係情報の集合に書き込み、統合は呼び出し元のスレッドで型宣言情報の順に行うため、
+     * 結果は逐次に抽出した場合と同じになる。抽出を行うスレッドには、呼び出し元のスレッドの記号解決の設定を引き継ぐ。
+     * 記号解決器は共有しているため、並列になるのはインポート宣言による名前の解決までで、記号解決はワーカの間で排他して行う。
+     * 
+     * @param types      型宣言情報のリスト
+     * @param pool       抽出を行うワーカのプール(nullの場合は呼び出し元のスレッドで逐次に抽出する)
+     * @param checkpoint 型ごとの抽出の前に呼び出す、中止と時間の上限の確認
+     * @return 関係情報の集合
+     */
+    public static Set<TypeRelationInfo> analyzeTypeRelations(List<TypeDeclaration<?>> types, ForkJoinPool pool,
+            Runnable checkpoint) {
+        Function<TypeDeclaration<?>, Set<TypeRelationInfo>> extractor = TypeUtils.withThreadContext(type -> {
+            checkpoint.run();
+            return analyzeTypeRelations(type);
+        });
+        List<Set<TypeRelationInfo>> typeRelationsPerType;
+        if (pool == null || types.size() <= 1) {
+            typeRelationsPerType = types.stream().map(extractor).toList();
+        } else {
+            typeRelationsPerType = extractInParallel(types, extractor, pool);
+        }
+
+        Set<TypeRelationInfo> typeRelations = new LinkedHashSet<>();
+        typeRelationsPerType.forEach(typeRelations::addAll);
+        return typeRelations;
+    }
+
+    /**
+     * 型ごとの関係情報の抽出をワーカのプールに投入し、型宣言情報の順に結果を応答する。
+     * いずれかの抽出が失敗しても、投入したすべての抽出が終わるまで待ってから最初の失敗を投げる。
+     * そのため、このファイルの抽出が次のファイルの解析と重なって、記号解決の失敗が別のファイルに数えられることはない。
+     * 
+     * @param types     型宣言情報のリスト
+     * @param extractor 型宣言情報から関係情報を抽出する関数
+     * @param pool      抽出を行うワーカのプール
+     * @return 型宣言情報の順に並んだ、型ごとの関係情報の集合のリスト
+     */
+    private static List<Set<TypeRelationInfo>> extractInParallel(List<TypeDeclaration<?>> types,
+            Function<TypeDeclaration<?>, Set<TypeRelationInfo>> extractor, ForkJoinPool pool) {
+        List<ForkJoinTask<Set<TypeRelationInfo>>> tasks = types.stream()
+                .map(type -> pool.submit(() -> extractor.apply(type)))
+                .toList();
+        List<Set<TypeRelationInfo>> typeRelationsPerType = new ArrayList<>();
+        RuntimeException failure = null;
+        for (ForkJoinTask<Set<TypeRelationInfo>> task : tasks) {
+            try {
+                typeRelationsPerType.add(task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure != null ? failure : new CancellationException("関係情報の抽出が中断されました。");
+            } catch (ExecutionException e) {
+                // 中止や時間の上限による打ち切りは、呼び出し元にそのまま伝える
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException ? runtimeException
+                            : new IllegalStateException("関係情報の抽出に失敗しました。", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return typeRelationsPerType;
+    }
+
+    /**
+     * 型宣言情報から、その型を参照元とする関係情報を抽出する。
+     * 関係情報の型は文字列表現の名前で保持するため、コンパイルユニットを保持しない。
+     * 
+     * @param type 型宣言情報
+     * @return 関係情報の集合
+     */
+    public static Set<TypeRelationInfo> analyzeTypeRelations(TypeDeclaration<?> type) {
+        Set<TypeRelationInfo> typeRelations = new LinkedHashSet<>();
+        if (type instanceof ClassOrInterfaceDeclaration) { // クラスもしくはインタフェースの場合
+            typeRelations.addAll(analyzeClassOrInterfaceRelations(type));
+        } else if (type instanceof EnumDeclaration) { // 列挙型の場合
+            typeRelations.addAll(analyzeEnumRelations(type));
+        } else if (type instanceof RecordDeclaration) { // レコードの場合
+            typeRelations.addAll(analyzeRecordRelations(type));
+        }
+
+        return typeRelations;
     }
 
     /**
      * 型宣言情報に基づいて参照関係を解析する。
      * 
      * @param fromTypeFullyQualifiedScope 参照元の型の完全修飾スコープ名
-     * @param fromType                    参照元の型情報
+     * @param fromTypeName                参照元の型の名前
      * @param toType                      参照先の型情報
      * @return 参照関係の集合
      */
     private static Set<TypeRelationInfo> analyzeAssociations(String fromTypeFullyQualifiedScope,
-            Type fromType,
+            String fromTypeName,
             Type toType) {
         Set<TypeRelationInfo> typeRelations = new LinkedHashSet<>();
         Map<Type, Boolean> multiplicities = MultiplicityAnalyzer.analyze(toType);
@@ -105,29 +189,31 @@ public class TypeRelationAnalyzer extends Object {
                 if (FREQUENT_JAVA_LANG_TYPES.contains(aType.asString())) { // java.langパッケージの型の場合
                     String toTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(aType);
                     typeRelations.add(
-                            new TypeRelationInfo(null, null, aType, toTypeFullyQualifiedScope, null, NOT_LOCAL_TYPE));
+                            new TypeRelationInfo(null, null, aType.asString(), toTypeFullyQualifiedScope, null,
+                                    NOT_LOCAL_TYPE));
                 } else if (TypeUtils.isGenerics(aType)) { // ジェネリクス型の場合
                     Type outerType = TypeUtils.getOuterGenericType(aType);
                     String outerTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(aType);
                     if (isMultiple) { // 多重度ありの場合
                         typeRelations.add(
-                                new TypeRelationInfo(fromType, fromTypeFullyQualifiedScope, outerType,
+                                new TypeRelationInfo(fromTypeName, fromTypeFullyQualifiedScope, outerType.asString(),
                                         outerTypeFullyQualifiedScope,
                                         MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION, NOT_LOCAL_TYPE));
                     } else { // 多重度なしの場合
-                        typeRelations.add(new TypeRelationInfo(fromType, fromTypeFullyQualifiedScope, outerType,
-                                outerTypeFullyQualifiedScope, UNIDIRECTIONAL_ASSOCIATION, NOT_LOCAL_TYPE));
+                        typeRelations.add(new TypeRelationInfo(fromTypeName, fromTypeFullyQualifiedScope,
+                                outerType.asString(), outerTypeFullyQualifiedScope, UNIDIRECTIONAL_ASSOCIATION,
+                                NOT_LOCAL_TYPE));
                     }
                 } else { // それ以外の方の場合
                     String toTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(aType);
                     if (isMultiple) { // 多重度ありの場合
                         typeRelations
-                                .add(new TypeRelationInfo(fromType, fromTypeFullyQualifiedScope, aType,
+                                .add(new TypeRelationInfo(fromTypeName, fromTypeFullyQualifiedScope, aType.asString(),
                                         toTypeFullyQualifiedScope,
                                         MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION, NOT_LOCAL_TYPE));
                     } else { // 多重度なしの場合
-                        typeRelations.add(new TypeRelationInfo(fromType, fromTypeFullyQualifiedScope, aType,
-                                toTypeFullyQualifiedScope,
+                        typeRelations.add(new TypeRelationInfo(fromTypeName, fromTypeFullyQualifiedScope,
+                                aType.asString(), toTypeFullyQualifiedScope,
                                 UNIDIRECTIONAL_ASSOCIATION, NOT_LOCAL_TYPE));
                     }
                 }
@@ -193,13 +279,13 @@ public class TypeRelationAnalyzer extends Object {
     private static Set<TypeRelationInfo> analyzeFieldRelations(TypeDeclaration<?> typeDeclaration,
             List<FieldDeclaration> fields) {
         Set<TypeRelationInfo> fieldRelations = new LinkedHashSet<>();
-        Type aType = StaticJavaParser.parseType(typeDeclaration.getNameAsString());
+        String typeName = typeDeclaration.getNameAsString();
         String fullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
 
         fields.forEach(field -> {
             field.getVariables().forEach(variable -> {
                 Type fieldType = variable.getType();
-                fieldRelations.addAll(analyzeAssociations(fullyQualifiedScope, aType, fieldType));
+                fieldRelations.addAll(analyzeAssociations(fullyQualifiedScope, typeName, fieldType));
             });
         });
         return fieldRelations;
@@ -215,20 +301,21 @@ public class TypeRelationAnalyzer extends Object {
     private static Set<TypeRelationInfo> analyzeImplementations(TypeDeclaration<?> typeDeclaration,
             List<ClassOrInterfaceType> interfaces) {
         Set<TypeRelationInfo> implementations = new LinkedHashSet<>();
-        Type aType = StaticJavaParser.parseType(typeDeclaration.getNameAsString());
+        String typeName = typeDeclaration.getNameAsString();
         String fullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
 
         interfaces.forEach(anInterface -> {
             String interfaceFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(anInterface);
             implementations
-                    .add(new TypeRelationInfo(aType, fullyQualifiedScope, anInterface, interfaceFullyQualifiedScope,
-                            IMPLEMENTATION, NOT_LOCAL_TYPE));
+                    .add(new TypeRelationInfo(typeName, fullyQualifiedScope, anInterface.asString(),
+                            interfaceFullyQualifiedScope, IMPLEMENTATION, NOT_LOCAL_TYPE));
 
             if (TypeUtils.isGenerics(anInterface)) { // ジェネリクス型の場合
                 Type outerGenericType = TypeUtils.getOuterGenericType(anInterface);
                 String outerGenericTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(anInterface);
-                implementations.add(new TypeRelationInfo(anInterface, interfaceFullyQualifiedScope, outerGenericType,
-                        outerGenericTypeFullyQualifiedScope, IMPLEMENTATION, NOT_LOCAL_TYPE));
+                implementations.add(new TypeRelationInfo(anInterface.asString(), interfaceFullyQualifiedScope,
+                        outerGenericType.asString(), outerGenericTypeFullyQualifiedScope, IMPLEMENTATION,
+                        NOT_LOCAL_TYPE));
             }
         });
         return implementations;
@@ -244,20 +331,21 @@ public class TypeRelationAnalyzer extends Object {
     private static Set<TypeRelationInfo> analyzeInheritance(TypeDeclaration<?> typeDeclaration,
             List<ClassOrInterfaceType> superClasses) {
         Set<TypeRelationInfo> inheritances = new LinkedHashSet<>();
-        Type aType = StaticJavaParser.parseType(typeDeclaration.getNameAsString());
+        String typeName = typeDeclaration.getNameAsString();
         String fullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
 
         superClasses.forEach(superClass -> {
             String superClassFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(superClass);
             inheritances.add(
-                    new TypeRelationInfo(aType, fullyQualifiedScope, superClass, superClassFullyQualifiedScope,
-                            INHERITANCE, NOT_LOCAL_TYPE));
+                    new TypeRelationInfo(typeName, fullyQualifiedScope, superClass.asString(),
+                            superClassFullyQualifiedScope, INHERITANCE, NOT_LOCAL_TYPE));
 
             if (TypeUtils.isGenerics(superClass)) { // ジェネリクス型の場合
                 Type outerGenericType = TypeUtils.getOuterGenericType(superClass);
                 String outerGenericTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(superClass);
-                inheritances.add(new TypeRelationInfo(superClass, superClassFullyQualifiedScope, outerGenericType,
-                        outerGenericTypeFullyQualifiedScope, INHERITANCE, NOT_LOCAL_TYPE));
+                inheritances.add(new TypeRelationInfo(superClass.asString(), superClassFullyQualifiedScope,
+                        outerGenericType.asString(), outerGenericTypeFullyQualifiedScope, INHERITANCE,
+                        NOT_LOCAL_TYPE));
             }
         });
         return inheritances;
@@ -271,7 +359,7 @@ public class TypeRelationAnalyzer extends Object {
      */
     private static Set<TypeRelationInfo> analyzeInnerRelation(TypeDeclaration<?> typeDeclaration) {
         Set<TypeRelationInfo> innerRelations = new LinkedHashSet<>();
-        Type innerType = StaticJavaParser.parseType(typeDeclaration.getNameAsString());
+        String innerTypeName = typeDeclaration.getNameAsString();
         String innerTypeFullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
 
         // 親型が存在し、かつそれが型宣言情報の場合、インナークラスの関係（合成・集約・包含）を追加
@@ -283,7 +371,7 @@ public class TypeRelationAnalyzer extends Object {
 
             // 親が型宣言情報の場合、インナークラスの関係を追加
             else if (parent instanceof TypeDeclaration<?> outerTypeDeclaration) {
-                innerRelations.add(createInnerTypeRelationInfo(typeDeclaration, innerType,
+                innerRelations.add(createInnerTypeRelationInfo(typeDeclaration, innerTypeName,
                         innerTypeFullyQualifiedScope, outerTypeDeclaration, NOT_LOCAL_TYPE));
                 return;
             }
@@ -307,7 +395,7 @@ public class TypeRelationAnalyzer extends Object {
                     return;
                 }
 
-                innerRelations.add(createInnerTypeRelationInfo(typeDeclaration, innerType,
+                innerRelations.add(createInnerTypeRelationInfo(typeDeclaration, innerTypeName,
                         innerTypeFullyQualifiedScope, outerTypeDeclaration, LOCAL_TYPE));
                 return;
             }
@@ -325,12 +413,12 @@ public class TypeRelationAnalyzer extends Object {
     private static Set<TypeRelationInfo> analyzeRecordParameterRelations(TypeDeclaration<?> typeDeclaration,
             NodeList<Parameter> params) {
         Set<TypeRelationInfo> paramRelations = new LinkedHashSet<>();
-        Type aType = StaticJavaParser.parseType(typeDeclaration.getNameAsString());
+        String typeName = typeDeclaration.getNameAsString();
         String fullyQualifiedScope = TypeUtils.getFullyQualifiedScope(typeDeclaration);
 
         params.forEach(param -> {
             Type paramType = param.getType();
-            paramRelations.addAll(analyzeAssociations(fullyQualifiedScope, aType, paramType));
+            paramRelations.addAll(analyzeAssociations(fullyQualifiedScope, typeName, paramType));
         });
         return paramRelations;
     }
@@ -364,15 +452,16 @@ public class TypeRelationAnalyzer extends Object {
      * インナークラスの関係情報を生成する。
      * 
      * @param typeDeclaration              インナークラスの型宣言情報
-     * @param innerType                    インナークラスの型情報
+     * @param innerTypeName                インナークラスの型の名前
      * @param innerTypeFullyQualifiedScope インナークラスの完全修飾スコープ名
      * @param outerTypeDeclaration         アウタークラスの型宣言情報
      * @param isLocalType                  ローカル型であるかどうか
      * @return インナークラスの関係情報
      */
-    private static TypeRelationInfo createInnerTypeRelationInfo(TypeDeclaration<?> typeDeclaration, Type innerType,
-            String innerTypeFullyQualifiedScope, TypeDeclaration<?> outerTypeDeclaration, Boolean isLocalType) {
-        Type outerType = StaticJavaParser.parseType(outerTypeDeclaration.getNameAsString());
+    private static TypeRelationInfo createInnerTypeRelationInfo(TypeDeclaration<?> typeDeclaration,
+            String innerTypeName, String innerTypeFullyQualifiedScope, TypeDeclaration<?> outerTypeDeclaration,
+            Boolean isLocalType) {
+        String outerTypeName = outerTypeDeclaration.getNameAsString();
 
         // インナークラスがstaticであるかどうかを判定
         Boolean isStaticInner = isStaticInner(typeDeclaration, outerTypeDeclaration);
@@ -383,86 +472,19 @@ public class TypeRelationAnalyzer extends Object {
         // インナークラスがローカルクラスの場合は包含、staticの場合は集約、非staticの場合は合成とする
         if (isLocalType) {
             return new TypeRelationInfo(
-                    innerType, innerTypeFullyQualifiedScope, outerType, outerTypeFullyQualifiedScope,
+                    innerTypeName, innerTypeFullyQualifiedScope, outerTypeName, outerTypeFullyQualifiedScope,
                     CONTAINMENT, isLocalType);
         } else if (isStaticInner) {
             return new TypeRelationInfo(
-                    innerType, innerTypeFullyQualifiedScope, outerType, outerTypeFullyQualifiedScope,
+                    innerTypeName, innerTypeFullyQualifiedScope, outerTypeName, outerTypeFullyQualifiedScope,
                     AGGREGATION, isLocalType);
         } else {
             return new TypeRelationInfo(
-                    innerType, innerTypeFullyQualifiedScope, outerType, outerTypeFullyQualifiedScope,
+                    innerTypeName, innerTypeFullyQualifiedScope, outerTypeName, outerTypeFullyQualifiedScope,
                     COMPOSITION, isLocalType);
         }
     }
 
-    /**
-     * 継承と実装に関して同名型を検出し、置換済みの関係情報の集合を応答する。
-     * 継承関係と実装関係において、
-     * TypeRelationInfoのtoTypeの名前と
-     * TypeInfoのtypeNameが一致する場合、同一型と見なす。
-     * 
-     * @param typeInfos     型情報の集合
-     * @param typeRelations 関係情報の集合
-     * @return 除外済みの関係情報の集合
-     */
-    private static Set<TypeRelationInfo> detectDuplicatedToTypeTypeRelationInfo(Set<TypeInfo> typeInfos,
-            Set<TypeRelationInfo> typeRelations) {
-        Set<TypeRelationInfo> toAdd = new LinkedHashSet<>();
-        Set<TypeRelationInfo> toRemove = new HashSet<>();
-
-        for (TypeRelationInfo typeRelation : typeRelations) {
-            Boolean isInheritanceOrImplementation = (typeRelation.relationType() == INHERITANCE
-                    || typeRelation.relationType() == IMPLEMENTATION);
-            for (TypeInfo typeInfo : typeInfos) {
-                // 継承関係または実装関係でかつ、
-                // 関係情報の完全修飾スコープ名が空でかつ、
-                // 関係情報の参照先型の名前と型情報の型名が同一の場合、
-                // 完全修飾スコープ名にしたものを追加し、完全修飾スコープ名が空のものを削除する
-                if (isInheritanceOrImplementation && typeRelation.toTypeFullyQualifiedScope().isEmpty()
-                        && typeRelation.toType().toString().equals(typeInfo.typeName())) {
-                    TypeRelationInfo newTypeRelationInfo = new TypeRelationInfo(typeRelation.fromType(),
-                            typeRelation.fromTypeFullyQualifiedScope(), typeRelation.toType(),
-                            typeInfo.fullyQualifiedScope(), typeRelation.relationType(),
-                            typeRelation.isLocalType());
-                    toAdd.add(newTypeRelationInfo);
-                    toRemove.add(typeRelation);
-                    break;
-                }
-            }
-        }
-
-        typeRelations.removeAll(toRemove);
-        typeRelations.addAll(toAdd);
-
-        return typeRelations;
-    }
-
-    /**
-     * 引数の片方向関連から同一クラスに対する多重片方向関連を検出し、除外する片方向関連を応答する。
-     * 
-     * @param typeRelations 関係情報の集合
-     * @return 除外する関係情報の集合
-     */
-    private static Set<TypeRelationInfo> detectMultiplicityUnidirectionalRelations(
-            Set<TypeRelationInfo> typeRelations) {
-        // 同一クラスに対する多重片方向関連の検出と統合
-        Set<TypeRelationInfo> toRemove = new HashSet<>();
-        typeRelations.forEach(aRelationInfo -> {
-            if (aRelationInfo.relationType() == UNIDIRECTIONAL_ASSOCIATION) { // 関係タイプが片方向関連の場合
-                TypeRelationInfo multiplicityRelationInfo = new TypeRelationInfo(aRelationInfo.fromType(),
-                        aRelationInfo.fromTypeFullyQualifiedScope(),
-                        aRelationInfo.toType(), aRelationInfo.toTypeFullyQualifiedScope(),
-                        MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION, aRelationInfo.isLocalType());
-                if (typeRelations.contains(multiplicityRelationInfo)
-                        && !toRemove.contains(multiplicityRelationInfo)) {
-                    toRemove.add(aRelationInfo);
-                }
-            }
-        });
-        return toRemove;
-    }
-
     /**
      * インナークラスがstaticであるかどうかを判定する。
      * 
@@ -495,46 +517,4 @@ public class TypeRelationAnalyzer extends Object {
         // static修飾子がない、アウター型がインタフェースでないメンバクラスの場合
         return false;
     }
-
-    /**
-     * 引数の片方向関連から双方向関連を検出・統合したものを応答する。
-     * 
-     * @param typeRelations 関係情報の集合
-     * @return 最終的な関係情報の集合
-     */
-    private static Set<TypeRelationInfo> mergeToBidirectionalRelations(
-            Set<TypeRelationInfo> typeRelations) {
-        // 双方向関連の検出と統合
-        Set<TypeRelationInfo> toAdd = new HashSet<>();
-        Set<TypeRelationInfo> toRemove = new HashSet<>();
-        typeRelations.forEach(aRelationInfo -> {
-            // 関係タイプが片方向関連以外の場合スキップ
-            if (aRelationInfo.relationType() != UNIDIRECTIONAL_ASSOCIATION) {
-                return;
-            }
-
-            // toTypeFullyQualifiedScopeとfromTypeFullyQualifiedScopeが同じで、かつtoType.toString()とfromType.toString()が同じ場合はスキップ
-            if (aRelationInfo.toTypeFullyQualifiedScope().equals(aRelationInfo.fromTypeFullyQualifiedScope())
-                    && aRelationInfo.toType().toString().equals(aRelationInfo.fromType().toString())) {
-                return;
-            }
-
-            TypeRelationInfo reversedRelationInfo = new TypeRelationInfo(aRelationInfo.toType(),
-                    aRelationInfo.toTypeFullyQualifiedScope(), aRelationInfo.fromType(),
-                    aRelationInfo.fromTypeFullyQualifiedScope(), aRelationInfo.relationType(),
-                    aRelationInfo.isLocalType());
-            if (typeRelations.contains(reversedRelationInfo)
-                    && !toRemove.contains(reversedRelationInfo)) {
-                toAdd.add(
-                        new TypeRelationInfo(aRelationInfo.fromType(), aRelationInfo.fromTypeFullyQualifiedScope(),
-                                aRelationInfo.toType(), aRelationInfo.toTypeFullyQualifiedScope(),
-                                BIDIRECTIONAL_ASSOCIATION, aRelationInfo.isLocalType()));
-                toRemove.add(aRelationInfo);
-                toRemove.add(reversedRelationInfo);
-            }
-        });
-        typeRelations.addAll(toAdd);
-        typeRelations.removeAll(toRemove);
-        return typeRelations;
-    }
 }
@@ -0,0 +1,154 @@
+package nexusviz.generator.analyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.modifiers.NodeWithAccessModifiers;
+
+import nexusviz.generator.model.structure.AccessModifier;
+import nexusviz.generator.model.structure.ConstructorSummary;
+import nexusviz.generator.model.structure.EnumConstantSummary;
+import nexusviz.generator.model.structure.FieldSummary;
+import nexusviz.generator.model.structure.MethodSummary;
+import nexusviz.generator.model.structure.ParameterSummary;
+import nexusviz.generator.model.structure.TypeKind;
+import nexusviz.generator.model.structure.TypeSummary;
+
+/**
+ * 型宣言から、構文木を参照しない型の要約を生成するクラス。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeSummaryAnalyzer extends Object {
+    /**
+     * インスタンス化を防止するためのコンストラクタ。
+     */
+    private TypeSummaryAnalyzer() {
+    }
+
+    /**
+     * 型宣言を解析し、型の要約を応答する。
+     * 
+     * @param typeDeclaration 型宣言情報
+     * @return 型の要約
+     */
+    public static TypeSummary analyze(TypeDeclaration<?> typeDeclaration) {
+        TypeKind typeKind = analyzeTypeKind(typeDeclaration);
+
+        // メンバ型かどうか、インタフェースのメンバ型かどうかを取得
+        Boolean isMemberType = typeDeclaration.getParentNode().isPresent()
+                && typeDeclaration.getParentNode().get() instanceof TypeDeclaration<?>;
+        Boolean isMemberOfInterface = isMemberType
+                && typeDeclaration.getParentNode().get() instanceof ClassOrInterfaceDeclaration outerType
+                && outerType.isInterface();
+
+        // レコードコンポーネントとコンパクトコンストラクタ
+        List<ParameterSummary> recordComponents = List.of();
+        List<ConstructorSummary> compactConstructors = new ArrayList<>();
+        if (typeDeclaration instanceof RecordDeclaration aRecord) {
+            List<ParameterSummary> parameters = analyzeParameters(aRecord.getParameters());
+            recordComponents = parameters;
+            aRecord.getCompactConstructors().forEach(compactConstructor -> {
+                compactConstructors.add(new ConstructorSummary(analyzeAccessModifier(compactConstructor),
+                        compactConstructor.getNameAsString(), parameters));
+            });
+        }
+
+        // 列挙子
+        List<EnumConstantSummary> enumConstants = new ArrayList<>();
+        if (typeDeclaration instanceof EnumDeclaration anEnum) {
+            anEnum.getEntries().forEach(entry -> {
+                enumConstants.add(new EnumConstantSummary(entry.getNameAsString(),
+                        entry.getArguments().stream().map(argument -> argument.toString()).toList()));
+            });
+        }
+
+        // フィールド(変数ごと)
+        List<FieldSummary> fields = new ArrayList<>();
+        typeDeclaration.getFields().forEach(field -> {
+            AccessModifier accessModifier = analyzeAccessModifier(field);
+            field.getVariables().forEach(variable -> {
+                fields.add(new FieldSummary(accessModifier, variable.getNameAsString(), variable.getTypeAsString(),
+                        variable.getInitializer().map(initializer -> initializer.toString()).orElse(null),
+                        field.isStatic(), field.isFinal()));
+            });
+        });
+
+        // コンストラクタ
+        List<ConstructorSummary> constructors = new ArrayList<>();
+        typeDeclaration.getConstructors().forEach(constructor -> {
+            constructors.add(new ConstructorSummary(analyzeAccessModifier(constructor),
+                    constructor.getNameAsString(), analyzeParameters(constructor.getParameters())));
+        });
+
+        // メソッド
+        List<MethodSummary> methods = new ArrayList<>();
+        typeDeclaration.getMethods().forEach(method -> {
+            methods.add(new MethodSummary(analyzeAccessModifier(method), method.getNameAsString(),
+                    analyzeParameters(method.getParameters()), method.getTypeAsString(),
+                    method.getBody().isPresent(), method.isDefault(), method.isStatic(), method.isFinal()));
+        });
+
+        return new TypeSummary(typeKind, analyzeAccessModifier(typeDeclaration),
+                typeDeclaration.hasModifier(Modifier.Keyword.ABSTRACT),
+                typeDeclaration.hasModifier(Modifier.Keyword.STATIC),
+                typeDeclaration.hasModifier(Modifier.Keyword.FINAL), isMemberType, isMemberOfInterface,
+                recordComponents, List.copyOf(enumConstants), List.copyOf(fields),
+                List.copyOf(compactConstructors), List.copyOf(constructors), List.copyOf(methods));
+    }
+
+    /**
+     * 宣言に明示されたアクセス修飾子を応答する。
+     * 
+     * @param declaration アクセス修飾子を持つ宣言
+     * @return アクセス修飾子
+     */
+    private static AccessModifier analyzeAccessModifier(NodeWithAccessModifiers<?> declaration) {
+        if (declaration.isPrivate()) {
+            return AccessModifier.PRIVATE;
+        } else if (declaration.isProtected()) {
+            return AccessModifier.PROTECTED;
+        } else if (declaration.isPublic()) {
+            return AccessModifier.PUBLIC;
+        }
+        return AccessModifier.PACKAGE_PRIVATE;
+    }
+
+    /**
+     * パラメータのリストから、パラメータの要約のリストを応答する。
+     * 
+     * @param parameters パラメータのリスト
+     * @return パラメータの要約のリスト
+     */
+    private static List<ParameterSummary> analyzeParameters(NodeList<Parameter> parameters) {
+        return parameters.stream()
+                .map(parameter -> new ParameterSummary(parameter.getNameAsString(), parameter.getTypeAsString(),
+                        parameter.isVarArgs()))
+                .toList();
+    }
+
+    /**
+     * 型宣言の種類を応答する。
+     * 
+     * @param typeDeclaration 型宣言情報
+     * @return 型の種類
+     */
+    private static TypeKind analyzeTypeKind(TypeDeclaration<?> typeDeclaration) {
+        if (typeDeclaration instanceof ClassOrInterfaceDeclaration aClassOrInterface) {
+            return aClassOrInterface.isInterface() ? TypeKind.INTERFACE : TypeKind.CLASS;
+        } else if (typeDeclaration instanceof EnumDeclaration) {
+            return TypeKind.ENUM;
+        } else if (typeDeclaration instanceof RecordDeclaration) {
+            return TypeKind.RECORD;
+        }
+        return TypeKind.ANNOTATION;
+    }
+}
@@ -0,0 +1,287 @@
+package nexusviz.generator.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ファイル単位の解析結果をディスクに保存し、次回以降の解析で再利用するためのキャッシュ。
+ * エントリはソースファイルのパスとその内容のハッシュ値で識別し、キャッシュ全体は解析器のバージョンで識別する。
+ * キャッシュファイルは、ソースディレクトリ、ライブラリのディレクトリ、型を解決するJDKの組ごとに分ける。
+ * 解析器のバージョンが異なるキャッシュファイルは読み込まずに破棄する。
+ * ファイル単位の解析結果は他のファイルやライブラリの型の解決結果を含むため、エントリには解析時の依存先のハッシュ値を記録し、
+ * 記録した依存先のいずれかが変わったエントリだけを無効にする。
+ * キャッシュファイルからは、エントリと解析器が示した解析結果の型、JDKの基本的な型とコレクションだけを復元する。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class AnalysisCache extends Object {
+    /**
+     * キャッシュファイルを格納する既定のディレクトリを束縛する。
+     */
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".nexusviz", "cache");
+
+    /**
+     * 内容のハッシュ値の計算に用いるアルゴリズムを束縛する。
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * キャッシュファイルの拡張子を束縛する。
+     */
+    private static final String CACHE_FILE_EXTENSION = ".cache";
+
+    /**
+     * 解析結果の型のほかにキャッシュファイルから復元を許す、エントリの型とJDKの型のパターンを束縛する。
+     * 変更不可のコレクションは、直列化の代理であるjava.util.CollSerとして保存され、復元時に元の実装に戻される。
+     * 配列は要素の型で判定されるため、マップの内部のMap.Entryの配列とCollSerのObjectの配列も許す。
+     */
+    private static final List<String> ALLOWED_CLASS_PATTERNS = List.of(Entry.class.getName(), "java.lang.Boolean",
+            "java.lang.Enum", "java.lang.Integer", "java.lang.Number", "java.lang.Object", "java.util.ArrayList",
+            "java.util.CollSer", "java.util.HashMap", "java.util.ImmutableCollections$*", "java.util.LinkedHashMap",
+            "java.util.Map$Entry");
+
+    /**
+     * キャッシュファイルのパスを束縛する。
+     */
+    private final Path cacheFilePath;
+
+    /**
+     * 解析器のバージョンを束縛する。
+     */
+    private final String analyzerVersion;
+
+    /**
+     * 前回の解析で保存された、ソースファイルのパスとエントリのマップを束縛する。
+     */
+    private final Map<String, Entry> loadedEntries;
+
+    /**
+     * 今回の解析で参照・保存された、ソースファイルのパスとエントリのマップを束縛する。
+     */
+    private final Map<String, Entry> currentEntries;
+
+    /**
+     * ヒットしたエントリの数を束縛する。
+     */
+    private Integer hitCount;
+
+    /**
+     * ヒットしなかったエントリの数を束縛する。
+     */
+    private Integer missCount;
+
+    /**
+     * ソースファイル一つ分のキャッシュのエントリを表すレコード。
+     * 
+     * @param contentHash      ソースファイルの内容のハッシュ値
+     * @param dependencyHashes 解析時の依存先の名前とハッシュ値のマップ
+     * @param unitResult       ファイル単位の解析結果
+     */
+    private record Entry(String contentHash, Map<String, String> dependencyHashes, Serializable unitResult)
+            implements Serializable {
+    }
+
+    /**
+     * フィールドを初期化するコンストラクタ。
+     * 
+     * @param cacheFilePath   キャッシュファイルのパス
+     * @param analyzerVersion 解析器のバージョン
+     * @param loadedEntries   前回の解析で保存されたエントリ
+     */
+    private AnalysisCache(Path cacheFilePath, String analyzerVersion, Map<String, Entry> loadedEntries) {
+        this.cacheFilePath = cacheFilePath;
+        this.analyzerVersion = analyzerVersion;
+        this.loadedEntries = loadedEntries;
+        this.currentEntries = new LinkedHashMap<>();
+        this.hitCount = 0;
+        this.missCount = 0;
+        return;
+    }
+
+    /**
+     * 解析器とプロジェクトに対応するキャッシュファイルを読み込み、キャッシュを生成して応答する。
+     * キャッシュファイルが存在しない場合、読み込めない場合、解析器のバージョンが異なる場合は空のキャッシュを応答する。
+     * 
+     * @param cacheDirectory   キャッシュファイルを格納するディレクトリ
+     * @param analyzerName     解析器の名前
+     * @param analyzerVersion  解析器のバージョン
+     * @param sourceRootPath   ソースコードのルートパス
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param jdkHome          型を解決するJDKのホームディレクトリ(nullの場合は解析を行うJVMのJDK)
+     * @param unitResultTypes  ファイル単位の解析結果に含まれ得る、JDKの基本的な型とコレクション以外の型
+     * @return キャッシュ
+     */
+    public static AnalysisCache open(Path cacheDirectory, String analyzerName, String analyzerVersion,
+            Path sourceRootPath, Path jarDirectoryPath, Path jdkHome, List<Class<?>> unitResultTypes) {
+        // ソースディレクトリ、ライブラリのディレクトリ、JDKの組ごとにキャッシュファイルを分ける
+        Path effectiveJdkHome = jdkHome == null ? Paths.get(System.getProperty("java.home")) : jdkHome;
+        String projectKey = sourceRootPath.toAbsolutePath().normalize().toString() + "|"
+                + (jarDirectoryPath == null ? "" : jarDirectoryPath.toAbsolutePath().normalize().toString()) + "|"
+                + effectiveJdkHome.toAbsolutePath().normalize().toString();
+        String projectHash = contentHash(projectKey.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        String fileName = analyzerName + "-" + projectHash + CACHE_FILE_EXTENSION;
+        Path cacheFilePath = cacheDirectory.resolve(fileName);
+
+        // キャッシュファイルが書き換えられていても、許した型以外は復元しない
+        List<String> classPatterns = new ArrayList<>(ALLOWED_CLASS_PATTERNS);
+        unitResultTypes.forEach(type -> classPatterns.add(type.getName()));
+        classPatterns.add("!*");
+        ObjectInputFilter filter = ObjectInputFilter.Config.createFilter(String.join(";", classPatterns));
+
+        return new AnalysisCache(cacheFilePath, analyzerVersion, readEntries(cacheFilePath, analyzerVersion, filter));
+    }
+
+    /**
+     * バイト列の内容のハッシュ値を16進数の文字列で応答する。
+     * 
+     * @param contents バイト列
+     * @return ハッシュ値
+     */
+    public static String contentHash(byte[] contents) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(contents));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " が利用できません。", e);
+        }
+    }
+
+    /**
+     * ソースファイルの内容のハッシュ値を16進数の文字列で応答する。
+     * 
+     * @param filePath ソースファイルのパス
+     * @return ハッシュ値
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    public static String contentHash(Path filePath) throws IOException {
+        return contentHash(Files.readAllBytes(filePath));
+    }
+
+    /**
+     * ソースファイルのパスとハッシュ値に一致し、記録した依存先のハッシュ値もすべて現在と一致する解析結果を応答する。
+     * 一致した解析結果は、次回の解析のためにそのまま引き継がれる。
+     * 
+     * @param filePath         ソースファイルのパス
+     * @param contentHash      ソースファイルの内容のハッシュ値
+     * @param dependencyHashes 現在の依存先の名前とハッシュ値のマップ
+     * @return 一致する解析結果(なければ空)
+     */
+    public Optional<Serializable> lookup(Path filePath, String contentHash, Map<String, String> dependencyHashes) {
+        String key = filePath.toAbsolutePath().normalize().toString();
+        Entry entry = this.loadedEntries.get(key);
+        if (contentHash == null || entry == null || !entry.contentHash().equals(contentHash)
+                || !entry.dependencyHashes().equals(dependencyHashes)) {
+            this.missCount++;
+            return Optional.empty();
+        }
+
+        this.hitCount++;
+        this.currentEntries.put(key, entry);
+        return Optional.of(entry.unitResult());
+    }
+
+    /**
+     * ソースファイルの解析結果をキャッシュに登録する。ディスクへの書き込みは save で行う。
+     * 
+     * @param filePath         ソースファイルのパス
+     * @param contentHash      ソースファイルの内容のハッシュ値
+     * @param dependencyHashes 解析時の依存先の名前とハッシュ値のマップ
+     * @param unitResult       ファイル単位の解析結果
+     */
+    public void store(Path filePath, String contentHash, Map<String, String> dependencyHashes,
+            Serializable unitResult) {
+        if (contentHash == null || unitResult == null) {
+            return;
+        }
+        this.currentEntries.put(filePath.toAbsolutePath().normalize().toString(),
+                new Entry(contentHash, new LinkedHashMap<>(dependencyHashes), unitResult));
+        return;
+    }
+
+    /**
+     * 今回の解析で参照・登録されたエントリだけをキャッシュファイルに書き込む。
+     * 削除されたソースファイルのエントリはこの時点で取り除かれる。
+     */
+    public void save() {
+        try {
+            Files.createDirectories(this.cacheFilePath.getParent());
+            Path temporaryPath = Files.createTempFile(this.cacheFilePath.getParent(),
+                    this.cacheFilePath.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporaryPath);
+                    ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeUTF(this.analyzerVersion);
+                objectOutput.writeObject(new LinkedHashMap<>(this.currentEntries));
+            }
+            Files.move(temporaryPath, this.cacheFilePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("解析キャッシュの書き込み失敗: " + e.getMessage());
+        }
+        return;
+    }
+
+    /**
+     * フィールド変数 hitCount を返す。
+     * 
+     * @return ヒットしたエントリの数
+     */
+    public Integer hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * フィールド変数 missCount を返す。
+     * 
+     * @return ヒットしなかったエントリの数
+     */
+    public Integer missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * キャッシュファイルを読み込み、エントリのマップを応答する。
+     * 
+     * @param cacheFilePath   キャッシュファイルのパス
+     * @param analyzerVersion 解析器のバージョン
+     * @param filter          復元を許す型を判定するフィルタ
+     * @return エントリのマップ(読み込めなかった場合は空のマップ)
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Entry> readEntries(Path cacheFilePath, String analyzerVersion,
+            ObjectInputFilter filter) {
+        if (!Files.isRegularFile(cacheFilePath)) {
+            return new LinkedHashMap<>();
+        }
+
+        try (InputStream input = Files.newInputStream(cacheFilePath);
+                ObjectInputStream objectInput = new ObjectInputStream(input)) {
+            objectInput.setObjectInputFilter(filter);
+            // 解析器のバージョンが異なる場合は破棄する
+            if (!analyzerVersion.equals(objectInput.readUTF())) {
+                return new LinkedHashMap<>();
+            }
+            return (Map<String, Entry>) objectInput.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("解析キャッシュの読み込み失敗: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package nexusviz.generator.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * JARファイルの内容のハッシュ値とクラスの名前の一覧をディスクに保存し、次回以降の解析で再利用するための索引。
+ * エントリはJARファイルのパスで識別し、ファイルのバイト数と最終更新時刻が変わっていなければ、
+ * JARファイルを開かずに保存されている内容を用いる。
+ * 複数のスレッドから同時に要約を求めてよい。JARファイルの走査はロックの外で行う。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class JarClassIndex extends Object {
+    /**
+     * 索引ファイルの名前を束縛する。
+     */
+    private static final String INDEX_FILE_NAME = "jar-class-index.cache";
+
+    /**
+     * 索引ファイルの形式のバージョンを束縛する。形式や名前の変換規則を変えた場合は、バージョンも変える必要がある。
+     */
+    private static final String INDEX_VERSION = "2";
+
+    /**
+     * クラスファイルの拡張子を束縛する。
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * 索引ファイルのパスを束縛する。nullの場合は索引をディスクに保存しない。
+     */
+    private final Path indexFilePath;
+
+    /**
+     * JARファイルのパスとエントリのマップを束縛する。
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * 索引のエントリを用いたJARファイルの数を束縛する。
+     */
+    private Integer hitCount;
+
+    /**
+     * 走査したJARファイルの数を束縛する。
+     */
+    private Integer missCount;
+
+    /**
+     * JARファイル一つ分の索引のエントリを表すレコード。
+     * 
+     * @param fileSize     JARファイルのバイト数
+     * @param lastModified JARファイルの最終更新時刻(エポックミリ秒)
+     * @param contentHash  JARファイルの内容のハッシュ値
+     * @param classNames   JARファイルに含まれるクラスの名前(入れ子のクラスの区切りも「.」とする)
+     */
+    private record Entry(Long fileSize, Long lastModified, String contentHash, List<String> classNames)
+            implements Serializable {
+    }
+
+    /**
+     * フィールドを初期化するコンストラクタ。
+     * 
+     * @param indexFilePath 索引ファイルのパス(nullの場合はディスクに保存しない)
+     * @param entries       前回までに保存されたエントリ
+     */
+    private JarClassIndex(Path indexFilePath, Map<String, Entry> entries) {
+        this.indexFilePath = indexFilePath;
+        this.entries = entries;
+        this.hitCount = 0;
+        this.missCount = 0;
+        return;
+    }
+
+    /**
+     * 索引ファイルを読み込み、索引を生成して応答する。
+     * 索引ファイルが存在しない場合、読み込めない場合、形式のバージョンが異なる場合は空の索引を応答する。
+     * 
+     * @param cacheDirectory 索引ファイルを格納するディレクトリ(nullの場合はディスクに保存しない索引を応答する)
+     * @return 索引
+     */
+    public static JarClassIndex open(Path cacheDirectory) {
+        if (cacheDirectory == null) {
+            return new JarClassIndex(null, new LinkedHashMap<>());
+        }
+        Path indexFilePath = cacheDirectory.resolve(INDEX_FILE_NAME);
+        return new JarClassIndex(indexFilePath, readEntries(indexFilePath));
+    }
+
+    /**
+     * JARファイルの内容のハッシュ値とクラスの名前の一覧を応答する。
+     * 索引のエントリのバイト数と最終更新時刻がJARファイルと一致すればそれを用い、一致しなければJARファイルを走査する。
+     * 
+     * @param jarPath JARファイルのパス
+     * @return JARファイルの要約
+     * @throws IOException JARファイルの属性の取得や走査に失敗した場合
+     */
+    public JarSummary summaryOf(Path jarPath) throws IOException {
+        String key = jarPath.toAbsolutePath().normalize().toString();
+        Long fileSize = Files.size(jarPath);
+        Long lastModified = Files.getLastModifiedTime(jarPath).toMillis();
+        synchronized (this) {
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.fileSize().equals(fileSize) && entry.lastModified().equals(lastModified)) {
+                this.hitCount++;
+                return new JarSummary(jarPath, entry.contentHash(), entry.classNames());
+            }
+        }
+
+        String contentHash = AnalysisCache.contentHash(Files.readAllBytes(jarPath));
+        List<String> classNames = scanClassNames(jarPath);
+        synchronized (this) {
+            this.missCount++;
+            this.entries.put(key, new Entry(fileSize, lastModified, contentHash, classNames));
+        }
+        return new JarSummary(jarPath, contentHash, classNames);
+    }
+
+    /**
+     * 索引ファイルを書き込む。存在しなくなったJARファイルのエントリはこの時点で取り除かれる。
+     * ディスクに保存しない索引の場合は何もしない。
+     */
+    public synchronized void save() {
+        if (this.indexFilePath == null) {
+            return;
+        }
+        this.entries.keySet().removeIf(key -> !Files.isRegularFile(Path.of(key)));
+        try {
+            Files.createDirectories(this.indexFilePath.getParent());
+            Path temporaryPath = Files.createTempFile(this.indexFilePath.getParent(),
+                    this.indexFilePath.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporaryPath);
+                    ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeUTF(INDEX_VERSION);
+                objectOutput.writeObject(new LinkedHashMap<>(this.entries));
+            }
+            Files.move(temporaryPath, this.indexFilePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("JARの索引の書き込み失敗: " + e.getMessage());
+        }
+        return;
+    }
+
+    /**
+     * 索引のエントリを用いたJARファイルの数と、走査したJARファイルの数を標準出力に出力する。
+     */
+    public synchronized void printSummary() {
+        System.out.println("JARの索引: ヒット " + this.hitCount + " 件, 走査 " + this.missCount + " 件");
+        return;
+    }
+
+    /**
+     * フィールド変数 hitCount を返す。
+     * 
+     * @return 索引のエントリを用いたJARファイルの数
+     */
+    public synchronized Integer hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * フィールド変数 missCount を返す。
+     * 
+     * @return 走査したJARファイルの数
+     */
+    public synchronized Integer missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * JARファイルのエントリの一覧だけを読み、クラスの名前の一覧を応答する。クラスファイルの中身は読まない。
+     * 名前はJarTypeSolverと同じ規則で、パスの区切りと入れ子のクラスの区切りを「.」に置き換えて作る。
+     * 
+     * @param jarPath JARファイルのパス
+     * @return クラスの名前の一覧
+     * @throws IOException JARファイルの読み込みに失敗した場合
+     */
+    private static List<String> scanClassNames(Path jarPath) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            zipFile.stream()
+                    .map(ZipEntry::getName)
+                    .filter(entryName -> entryName.endsWith(CLASS_FILE_EXTENSION))
+                    .forEach(entryName -> classNames.add(entryName
+                            .substring(0, entryName.length() - CLASS_FILE_EXTENSION.length())
+                            .replace('/', '.')
+                            .replace('$', '.')));
+        }
+        return Collections.unmodifiableList(classNames);
+    }
+
+    /**
+     * 索引ファイルを読み込み、エントリのマップを応答する。
+     * 
+     * @param indexFilePath 索引ファイルのパス
+     * @return エントリのマップ(読み込めなかった場合は空のマップ)
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Entry> readEntries(Path indexFilePath) {
+        if (!Files.isRegularFile(indexFilePath)) {
+            return new LinkedHashMap<>();
+        }
+
+        try (InputStream input = Files.newInputStream(indexFilePath);
+                ObjectInputStream objectInput = new ObjectInputStream(input)) {
+            // 形式のバージョンが異なる場合は破棄する
+            if (!INDEX_VERSION.equals(objectInput.readUTF())) {
+                return new LinkedHashMap<>();
+            }
+            return (Map<String, Entry>) objectInput.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("JARの索引の読み込み失敗: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+}
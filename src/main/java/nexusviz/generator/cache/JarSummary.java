@@ -0,0 +1,17 @@
+package nexusviz.generator.cache;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JARファイルの内容のハッシュ値と、それに含まれるクラスの名前の一覧を表すレコード。
+ * 
+ * @param jarPath     JARファイルのパス
+ * @param contentHash JARファイルの内容のハッシュ値
+ * @param classNames  JARファイルに含まれるクラスの名前(入れ子のクラスの区切りも「.」とする)
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record JarSummary(Path jarPath, String contentHash, List<String> classNames) {
+}
@@ -3,13 +3,10 @@ package nexusviz.generator.converter;
 import java.nio.file.Path;
 import java.util.Set;
 
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.EnumDeclaration;
-import com.github.javaparser.ast.body.RecordDeclaration;
-import com.github.javaparser.ast.body.TypeDeclaration;
-
 import nexusviz.generator.model.structure.TypeInfo;
-import nexusviz.generator.model.structure.TypeRelationInfo;
+import nexusviz.generator.model.structure.TypeRelationGraph;
+import nexusviz.generator.model.structure.TypeSymbolTable;
+import nexusviz.generator.model.structure.TypeSummary;
 import nexusviz.generator.renderer.StructuralRenderer;
 
 /**
@@ -47,30 +44,36 @@ public class StructuralConverter extends Object {
 	 * 
 	 * @param projectPath   プロジェクトのパス
 	 * @param typeInfos     型情報の集合
-	 * @param typeRelations 関係情報の集合
+	 * @param typeRelations 関係情報のグラフ
 	 * @return 生成した画像ファイルのパス文字列
 	 */
 	public String executeConversion(Path projectPath, Set<TypeInfo> typeInfos,
-			Set<TypeRelationInfo> typeRelations) {
+			TypeRelationGraph typeRelations) {
 		try {
 			// 型情報をPlantUMLに変換する
 			typeInfos.forEach(typeInfo -> {
-				TypeDeclaration<?> aType = typeInfo.typeDeclaration();
+				TypeSummary aType = typeInfo.typeSummary();
 				if (aType != null) { // 型定義情報が存在する場合
-					if (aType instanceof ClassOrInterfaceDeclaration aClassOrInterface) { // クラスもしくはインタフェース情報の場合
-						if (aClassOrInterface.isInterface()) {
-							convertInterface(aClassOrInterface, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
+					switch (aType.typeKind()) {
+						case CLASS -> { // クラス情報の場合
+							convertClass(aType, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
 									typeInfo.isLocalType());
-						} else {
-							convertClass(aClassOrInterface, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
+						}
+						case INTERFACE -> { // インタフェース情報の場合
+							convertInterface(aType, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
 									typeInfo.isLocalType());
 						}
-					} else if (aType instanceof EnumDeclaration anEnum) { // 列挙型情報の場合
-						convertEnum(anEnum, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
-								typeInfo.isLocalType());
-					} else if (aType instanceof RecordDeclaration aRecord) { // レコード情報の場合
-						convertRecord(aRecord, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
-								typeInfo.isLocalType());
+						case ENUM -> { // 列挙型情報の場合
+							convertEnum(aType, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
+									typeInfo.isLocalType());
+						}
+						case RECORD -> { // レコード情報の場合
+							convertRecord(aType, typeInfo.fullyQualifiedScope(), typeInfo.typeName(),
+									typeInfo.isLocalType());
+						}
+						default -> {
+							// アノテーション型は未対応
+						}
 					}
 				} else { // 型定義情報が存在しない場合
 					if (typeInfo.isInterface()) {
@@ -87,9 +90,9 @@ public class StructuralConverter extends Object {
 		}
 
 		// 関係情報をPlantUMLに変換する
-		typeRelations.forEach(aRelation -> {
-			convertTypeRelation(aRelation);
-		});
+		for (int edge = 0; edge < typeRelations.size(); edge++) {
+			convertTypeRelation(typeRelations, edge);
+		}
 
 		// PlantUMLのコードをファイルに出力し、画像ファイルを生成する
 		return this.structuralRenderer.render(projectPath);
@@ -98,28 +101,28 @@ public class StructuralConverter extends Object {
 	/**
 	 * クラス情報をPlantUMLに変換する。
 	 * 
-	 * @param aClass              クラス情報
+	 * @param aClass              クラスの要約
 	 * @param fullyQualifiedScope 完全修飾スコープ名
 	 * @param className           クラス名
 	 * @param isLocalType         ローカル型であるかどうか
 	 */
-	private void convertClass(ClassOrInterfaceDeclaration aClass, String fullyQualifiedScope, String className,
+	private void convertClass(TypeSummary aClass, String fullyQualifiedScope, String className,
 			Boolean isLocalType) {
 		// クラス定義の記述を始める
 		this.structuralRenderer.addClassDefinition(aClass, fullyQualifiedScope, className, isLocalType);
 
 		// フィールド情報をPlantUMLに変換する
-		aClass.getFields().forEach(field -> {
+		aClass.fields().forEach(field -> {
 			this.structuralRenderer.addField(field, NOT_INTERFACE);
 		});
 
 		// コンストラクタ情報をPlantUMLに変換する
-		aClass.getConstructors().forEach(constructor -> {
+		aClass.constructors().forEach(constructor -> {
 			this.structuralRenderer.addConstructor(constructor, aClass);
 		});
 
 		// メソッド情報をPlantUMLに変換する
-		aClass.getMethods().forEach(method -> {
+		aClass.methods().forEach(method -> {
 			this.structuralRenderer.addMethod(method, NOT_INTERFACE);
 		});
 
@@ -131,32 +134,32 @@ public class StructuralConverter extends Object {
 	/**
 	 * 列挙型情報をPlantUMLに変換する。
 	 * 
-	 * @param anEnum              列挙型情報
+	 * @param anEnum              列挙型の要約
 	 * @param fullyQualifiedScope 完全修飾スコープ名
 	 * @param enumName            列挙型名
 	 * @param isLocalType         ローカル型であるかどうか
 	 */
-	private void convertEnum(EnumDeclaration anEnum, String fullyQualifiedScope, String enumName, Boolean isLocalType) {
+	private void convertEnum(TypeSummary anEnum, String fullyQualifiedScope, String enumName, Boolean isLocalType) {
 		// 列挙型定義の記述を始める
 		this.structuralRenderer.addEnumDefinition(anEnum, fullyQualifiedScope, enumName, isLocalType);
 
 		// 列挙型メンバをPlantUMLに変換する
-		anEnum.getEntries().forEach(member -> {
-			this.structuralRenderer.addEnumMember(anEnum.getNameAsString(), member);
+		anEnum.enumConstants().forEach(member -> {
+			this.structuralRenderer.addEnumMember(enumName, member);
 		});
 
 		// フィールド情報をPlantUMLに変換する
-		anEnum.getFields().forEach(field -> {
+		anEnum.fields().forEach(field -> {
 			this.structuralRenderer.addField(field, NOT_INTERFACE);
 		});
 
 		// コンストラクタ情報をPlantUMLに変換する
-		anEnum.getConstructors().forEach(constructor -> {
+		anEnum.constructors().forEach(constructor -> {
 			this.structuralRenderer.addConstructor(constructor, anEnum);
 		});
 
 		// メソッド情報をPlantUMLに変換する
-		anEnum.getMethods().forEach(method -> {
+		anEnum.methods().forEach(method -> {
 			this.structuralRenderer.addMethod(method, NOT_INTERFACE);
 		});
 
@@ -168,23 +171,23 @@ public class StructuralConverter extends Object {
 	/**
 	 * インタフェース情報をPlantUMLに変換する。
 	 * 
-	 * @param anInterface         インタフェース情報
+	 * @param anInterface         インタフェースの要約
 	 * @param fullyQualifiedScope 完全修飾スコープ名
 	 * @param interfaceName       インタフェース名
 	 * @param isLocalType         ローカル型であるかどうか
 	 */
-	private void convertInterface(ClassOrInterfaceDeclaration anInterface, String fullyQualifiedScope,
+	private void convertInterface(TypeSummary anInterface, String fullyQualifiedScope,
 			String interfaceName, Boolean isLocalType) {
 		// インタフェース定義の記述を始める
 		this.structuralRenderer.addInterfaceDefinition(anInterface, fullyQualifiedScope, interfaceName, isLocalType);
 
 		// フィールド情報をPlantUMLに変換する
-		anInterface.getFields().forEach(field -> {
+		anInterface.fields().forEach(field -> {
 			this.structuralRenderer.addField(field, INTERFACE);
 		});
 
 		// メソッド情報をPlantUMLに変換する
-		anInterface.getMethods().forEach(method -> {
+		anInterface.methods().forEach(method -> {
 			this.structuralRenderer.addMethod(method, INTERFACE);
 		});
 
@@ -196,41 +199,41 @@ public class StructuralConverter extends Object {
 	/**
 	 * レコード情報をPlantUMLに変換する。
 	 * 
-	 * @param aRecord             レコード情報
+	 * @param aRecord             レコードの要約
 	 * @param fullyQualifiedScope 完全修飾スコープ名
 	 * @param recordName          レコード名
 	 * @param isLocalType         ローカル型であるかどうか
 	 */
-	private void convertRecord(RecordDeclaration aRecord, String fullyQualifiedScope, String recordName,
+	private void convertRecord(TypeSummary aRecord, String fullyQualifiedScope, String recordName,
 			Boolean isLocalType) {
 		// レコード定義の記述を始める
 		this.structuralRenderer.addRecordDefinition(aRecord, fullyQualifiedScope, recordName, isLocalType);
 
 		// レコードパラメータをPlantUMLに変換する
-		aRecord.getParameters().forEach(param -> {
-			this.structuralRenderer.addRecordParameter(param.getType().asString().replaceAll(",",
-					", "), param.getNameAsString());
+		aRecord.recordComponents().forEach(param -> {
+			this.structuralRenderer.addRecordParameter(param.typeName().replaceAll(",",
+					", "), param.name());
 		});
 
 		// フィールド情報をPlantUMLに変換する
-		aRecord.getFields().forEach(field -> {
+		aRecord.fields().forEach(field -> {
 			this.structuralRenderer.addField(field, NOT_INTERFACE);
 		});
 
 		/**
 		 * コンパクトコンストラクタ情報をPlantUMLに変換する
 		 */
-		aRecord.getCompactConstructors().forEach(compactConstructor -> {
+		aRecord.compactConstructors().forEach(compactConstructor -> {
 			this.structuralRenderer.addCompactConstructor(compactConstructor, aRecord);
 		});
 
 		// コンストラクタ情報をPlantUMLに変換する
-		aRecord.getConstructors().forEach(constructor -> {
+		aRecord.constructors().forEach(constructor -> {
 			this.structuralRenderer.addConstructor(constructor, aRecord);
 		});
 
 		// メソッド情報をPlantUMLに変換する
-		aRecord.getMethods().forEach(method -> {
+		aRecord.methods().forEach(method -> {
 			this.structuralRenderer.addMethod(method, NOT_INTERFACE);
 		});
 
@@ -240,50 +243,45 @@ public class StructuralConverter extends Object {
 	}
 
 	/**
-	 * 関係情報をPlantUMLに変換する。
+	 * 関係情報のグラフの辺をPlantUMLに変換する。
 	 * 
-	 * @param aRelation 関係情報
+	 * @param typeRelations 関係情報のグラフ
+	 * @param edge          辺の番号
 	 */
-	private void convertTypeRelation(TypeRelationInfo aRelation) {
-		switch (aRelation.relationType()) {
+	private void convertTypeRelation(TypeRelationGraph typeRelations, int edge) {
+		TypeSymbolTable symbolTable = typeRelations.symbolTable();
+		String fromTypeName = symbolTable.typeName(typeRelations.fromSymbol(edge));
+		String fromScope = symbolTable.fullyQualifiedScope(typeRelations.fromSymbol(edge));
+		String toTypeName = symbolTable.typeName(typeRelations.toSymbol(edge));
+		String toScope = symbolTable.fullyQualifiedScope(typeRelations.toSymbol(edge));
+		switch (typeRelations.relationType(edge)) {
 			case INHERITANCE -> { // 継承
-				this.structuralRenderer.addInheritance(aRelation.fromType(), aRelation.fromTypeFullyQualifiedScope(),
-						aRelation.toType(), aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addInheritance(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case IMPLEMENTATION -> { // 実装
-				this.structuralRenderer.addImplementation(aRelation.fromType(), aRelation.fromTypeFullyQualifiedScope(),
-						aRelation.toType(), aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addImplementation(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case UNIDIRECTIONAL_ASSOCIATION -> { // 片方向関連
-				this.structuralRenderer.addUnidirectionalAssociation(aRelation.fromType(),
-						aRelation.fromTypeFullyQualifiedScope(), aRelation.toType(),
-						aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addUnidirectionalAssociation(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case BIDIRECTIONAL_ASSOCIATION -> { // 双方向関連
-				this.structuralRenderer.addBidirectionalAssociation(aRelation.fromType(),
-						aRelation.fromTypeFullyQualifiedScope(), aRelation.toType(),
-						aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addBidirectionalAssociation(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION -> { // 多重片方向関連
-				this.structuralRenderer.addMultiplicityUnidirectionalAssociation(aRelation.fromType(),
-						aRelation.fromTypeFullyQualifiedScope(), aRelation.toType(),
-						aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addMultiplicityUnidirectionalAssociation(fromTypeName, fromScope, toTypeName,
+						toScope);
 			}
 			case AGGREGATION -> { // 集約
-				this.structuralRenderer.addAggregation(aRelation.fromType(), aRelation.fromTypeFullyQualifiedScope(),
-						aRelation.toType(), aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addAggregation(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case COMPOSITION -> { // 合成
-				this.structuralRenderer.addComposition(aRelation.fromType(), aRelation.fromTypeFullyQualifiedScope(),
-						aRelation.toType(), aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addComposition(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case CONTAINMENT -> { // 包含
-				this.structuralRenderer.addContainment(aRelation.fromType(), aRelation.fromTypeFullyQualifiedScope(),
-						aRelation.toType(), aRelation.toTypeFullyQualifiedScope());
+				this.structuralRenderer.addContainment(fromTypeName, fromScope, toTypeName, toScope);
 			}
 			case null -> { // 型情報のみ
-				this.structuralRenderer.addEmptyClass(aRelation.toTypeFullyQualifiedScope(),
-						aRelation.toType().asString());
+				this.structuralRenderer.addEmptyClass(toScope, toTypeName);
 			}
 			default -> {
 				// その他の関係は未対応
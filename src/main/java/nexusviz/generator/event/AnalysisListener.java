@@ -0,0 +1,98 @@
+package nexusviz.generator.event;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 解析の進捗と所要時間の通知を受け取るインタフェース。
+ * すべてのメソッドは何もしない既定の実装を持つため、必要な通知だけをオーバーライドすればよい。
+ * 構文解析の開始と終了は構文解析のワーカのスレッドから通知されるため、それらを受け取る場合はスレッド安全にする必要がある。
+ * それ以外の通知は、解析を呼び出したスレッドから通知される。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public interface AnalysisListener {
+    /**
+     * 解析の対象とするソースファイルが見つかったことを通知する。
+     * 
+     * @param filePath ソースファイルのパス
+     */
+    default void fileDiscovered(Path filePath) {
+        return;
+    }
+
+    /**
+     * ソースファイルの構文解析を開始したことを通知する。
+     * 
+     * @param filePath ソースファイルのパス
+     */
+    default void parseStarted(Path filePath) {
+        return;
+    }
+
+    /**
+     * ソースファイルの構文解析を終えたことを通知する。
+     * 
+     * @param filePath     ソースファイルのパス
+     * @param parseTime    構文解析(ファイルの読み込みを除く)に要した時間
+     * @param isSuccessful 構文解析に成功したかどうか
+     */
+    default void parseFinished(Path filePath, Duration parseTime, Boolean isSuccessful) {
+        return;
+    }
+
+    /**
+     * ファイル単位の解析(記号解決を含む)を開始したことを通知する。
+     * 
+     * @param filePath ソースファイルのパス
+     */
+    default void resolveStarted(Path filePath) {
+        return;
+    }
+
+    /**
+     * ファイル単位の解析(記号解決を含む)を終えたことを通知する。
+     * 
+     * @param filePath     ソースファイルのパス
+     * @param resolveTime  ファイル単位の解析に要した時間
+     * @param failureCount 記号解決に失敗した数
+     */
+    default void resolveFinished(Path filePath, Duration resolveTime, Integer failureCount) {
+        return;
+    }
+
+    /**
+     * 記号解決に失敗したことを通知する。失敗の説明は必要になるまで作らないため、関数として渡す。
+     * 
+     * @param filePath ソースファイルのパス(特定できない場合はnull)
+     * @param message  失敗の説明を作る関数
+     */
+    default void resolutionFailed(Path filePath, Supplier<String> message) {
+        return;
+    }
+
+    /**
+     * ファイル一つ分の解析結果を統合したことを通知する。
+     * 
+     * @param filePath       ソースファイルのパス
+     * @param isCached       解析キャッシュの解析結果を統合したかどうか
+     * @param completedCount 統合を終えたファイルの数
+     * @param totalCount     統合するファイルの総数
+     */
+    default void unitAnalyzed(Path filePath, Boolean isCached, Integer completedCount, Integer totalCount) {
+        return;
+    }
+
+    /**
+     * 解析の段階を終えたことを通知する。
+     * 
+     * @param phase       解析の段階
+     * @param elapsedTime 段階に要した時間
+     * @param fileCount   段階で扱ったファイルの数
+     */
+    default void phaseCompleted(AnalysisPhase phase, Duration elapsedTime, Integer fileCount) {
+        return;
+    }
+}
@@ -0,0 +1,14 @@
+package nexusviz.generator.event;
+
+/**
+ * 解析の段階を表す列挙型。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum AnalysisPhase {
+    /** ソースファイルの探索 */ DISCOVERY,
+    /** 字句の走査による型の索引の構築 */ INDEXING,
+    /** 構文解析とファイル単位の解析 */ ANALYSIS,
+    /** 最終結果の生成 */ RESULT
+}
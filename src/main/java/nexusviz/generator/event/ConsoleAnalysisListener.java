@@ -0,0 +1,89 @@
+package nexusviz.generator.event;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 記号解決の失敗を標準エラー出力に出力する、解析器の既定の通知の受け取り手。
+ * 失敗の多いプロジェクトでは出力の負荷が大きいため、出力は一定の間隔に一度だけとし、
+ * その時点までの失敗の数と直近の失敗の説明を出力する。失敗の種類と名前ごとの集計は、解析結果が保持する。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ConsoleAnalysisListener extends Object implements AnalysisListener {
+    /**
+     * 出力の間隔の既定値を束縛する。
+     */
+    public static final Duration DEFAULT_REPORT_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * 出力の間隔(ナノ秒)を束縛する。
+     */
+    private final Long reportIntervalNanos;
+
+    /**
+     * 解析中に記号解決に失敗した数を束縛する。
+     */
+    private Integer failureCount;
+
+    /**
+     * 最後に出力した時刻(System.nanoTimeの値)を束縛する。まだ出力していない場合はnull。
+     */
+    private Long lastReportTime;
+
+    /**
+     * 既定の間隔で出力する受け取り手を生成するコンストラクタ。
+     */
+    public ConsoleAnalysisListener() {
+        this(DEFAULT_REPORT_INTERVAL);
+        return;
+    }
+
+    /**
+     * 出力の間隔を指定するコンストラクタ。
+     * 
+     * @param reportInterval 出力の間隔
+     */
+    public ConsoleAnalysisListener(Duration reportInterval) {
+        this.reportIntervalNanos = reportInterval.toNanos();
+        this.failureCount = 0;
+        this.lastReportTime = null;
+        return;
+    }
+
+    /**
+     * 記号解決の失敗を数え、前回の出力から間隔が空いていれば、失敗の数と失敗の説明を標準エラー出力に出力する。
+     * 出力しない場合、失敗の説明は作らない。
+     * 
+     * @param filePath ソースファイルのパス(特定できない場合はnull)
+     * @param message  失敗の説明を作る関数
+     */
+    @Override
+    public synchronized void resolutionFailed(Path filePath, Supplier<String> message) {
+        this.failureCount++;
+        Long now = System.nanoTime();
+        if (this.lastReportTime == null || now - this.lastReportTime >= this.reportIntervalNanos) {
+            System.err.println("記号解決の失敗: " + this.failureCount + " 件 (直近: " + message.get() + ")");
+            this.lastReportTime = now;
+        }
+        return;
+    }
+
+    /**
+     * 解析の段階を終えた時点で、失敗の数と出力の間隔の計測を次の解析のために初期化する。
+     * 
+     * @param phase       完了した段階
+     * @param elapsedTime 段階の所要時間
+     * @param fileCount   段階で扱ったファイルの数
+     */
+    @Override
+    public synchronized void phaseCompleted(AnalysisPhase phase, Duration elapsedTime, Integer fileCount) {
+        if (phase == AnalysisPhase.ANALYSIS) {
+            this.failureCount = 0;
+            this.lastReportTime = null;
+        }
+        return;
+    }
+}
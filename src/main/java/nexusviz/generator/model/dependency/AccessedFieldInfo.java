@@ -1,5 +1,7 @@
 package nexusviz.generator.model.dependency;
 
+import java.io.Serializable;
+
 /**
  * フィールドのアクセス情報を表すレコード。
  * 
@@ -10,5 +12,6 @@ package nexusviz.generator.model.dependency;
  * @author Ishiguro
  * @version 1.0
  */
-public record AccessedFieldInfo(String declaringTypeName, String fieldName, AccessType accessType) {
+public record AccessedFieldInfo(String declaringTypeName, String fieldName, AccessType accessType)
+        implements Serializable {
 }
@@ -1,5 +1,6 @@
 package nexusviz.generator.model.dependency;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
@@ -14,5 +15,5 @@ import java.util.Map;
  * @version 1.0
  */
 public record CalleeMethodInfo(String declaringTypeName, String methodName, Map<String, String> parameters,
-		String returnTypeName) {
+		String returnTypeName) implements Serializable {
 }
@@ -1,5 +1,6 @@
 package nexusviz.generator.model.dependency;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
@@ -12,5 +13,6 @@ import java.util.Map;
  * @author Ishiguro
  * @version 1.0
  */
-public record CallerMethodInfo(String methodName, Map<String, String> parameters, String returnTypeName) {
+public record CallerMethodInfo(String methodName, Map<String, String> parameters, String returnTypeName)
+        implements Serializable {
 }
@@ -1,5 +1,6 @@
 package nexusviz.generator.model.dependency;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
@@ -12,5 +13,5 @@ import java.util.Map;
  * @version 1.0
  */
 public record DependencyInfo(Map<CalleeMethodInfo, Integer> calleeMethods,
-        Map<AccessedFieldInfo, Integer> accessedFields) {
+        Map<AccessedFieldInfo, Integer> accessedFields) implements Serializable {
 }
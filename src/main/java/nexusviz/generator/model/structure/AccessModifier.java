@@ -0,0 +1,14 @@
+package nexusviz.generator.model.structure;
+
+/**
+ * 宣言に明示されたアクセス修飾子を表す列挙型。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum AccessModifier {
+    /** public */ PUBLIC,
+    /** protected */ PROTECTED,
+    /** 修飾子なし */ PACKAGE_PRIVATE,
+    /** private */ PRIVATE
+}
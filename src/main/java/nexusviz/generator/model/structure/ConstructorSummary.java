@@ -0,0 +1,18 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * コンストラクタもしくはコンパクトコンストラクタの要約を表すレコード。
+ * 
+ * @param accessModifier アクセス修飾子
+ * @param name           コンストラクタ名
+ * @param parameters     パラメータの要約のリスト(コンパクトコンストラクタの場合はレコードコンポーネント)
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record ConstructorSummary(AccessModifier accessModifier, String name, List<ParameterSummary> parameters)
+        implements Serializable {
+}
@@ -0,0 +1,16 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 列挙子の要約を表すレコード。
+ * 
+ * @param name      列挙子名
+ * @param arguments 引数の式の文字列のリスト
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record EnumConstantSummary(String name, List<String> arguments) implements Serializable {
+}
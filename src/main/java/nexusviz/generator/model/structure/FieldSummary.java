@@ -0,0 +1,20 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+
+/**
+ * フィールドの変数一つ分の要約を表すレコード。
+ * 
+ * @param accessModifier アクセス修飾子
+ * @param name           変数名
+ * @param typeName       型名
+ * @param initializer    初期化式(存在しない場合はnull)
+ * @param isStatic       staticであるかどうか
+ * @param isFinal        finalであるかどうか
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record FieldSummary(AccessModifier accessModifier, String name, String typeName, String initializer,
+        Boolean isStatic, Boolean isFinal) implements Serializable {
+}
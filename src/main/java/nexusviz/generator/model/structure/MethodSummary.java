@@ -0,0 +1,24 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * メソッドの要約を表すレコード。
+ * 
+ * @param accessModifier アクセス修飾子
+ * @param name           メソッド名
+ * @param parameters     パラメータの要約のリスト
+ * @param returnTypeName 戻り値の型名
+ * @param hasBody        実装を持つかどうか
+ * @param isDefault      defaultであるかどうか
+ * @param isStatic       staticであるかどうか
+ * @param isFinal        finalであるかどうか
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record MethodSummary(AccessModifier accessModifier, String name, List<ParameterSummary> parameters,
+        String returnTypeName, Boolean hasBody, Boolean isDefault, Boolean isStatic, Boolean isFinal)
+        implements Serializable {
+}
@@ -0,0 +1,16 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+
+/**
+ * パラメータもしくはレコードコンポーネントの要約を表すレコード。
+ * 
+ * @param name      パラメータ名
+ * @param typeName  型名
+ * @param isVarArgs 可変長引数であるかどうか
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record ParameterSummary(String name, String typeName, Boolean isVarArgs) implements Serializable {
+}
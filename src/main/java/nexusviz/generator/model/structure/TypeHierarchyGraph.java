@@ -0,0 +1,665 @@
+package nexusviz.generator.model.structure;
+
+import static nexusviz.generator.model.structure.RelationType.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * 型情報と関係情報から作る、変更できない型のグラフ。
+ * 型を完全修飾名ごとに0から始まる整数の節点とし、関係の種類ごとに、参照先と参照元の隣接を
+ * 節点ごとの開始位置の配列と隣接する節点の配列(CSR形式)で保持する。
+ * 隣接する節点は、次数と番号を指定して一つずつ取り出すか、関数に渡して順に処理できる。
+ * いずれも反復子を作らず、節点の次数に比例した時間で済む。
+ * 下位・上位の型や参照する型の問い合わせは、作業領域を使い回すカーソルで、配列を作らずに行える。
+ * 参照元または関係の種類を持たない関係情報(java.langの型への参照など)は、辺に含めない。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeHierarchyGraph extends Object {
+    /**
+     * 節点が存在しないことを表す番号を束縛する。
+     */
+    public static final int NO_NODE = -1;
+
+    /**
+     * 関係の種類の一覧を束縛する。
+     */
+    private static final RelationType[] RELATION_TYPES = RelationType.values();
+
+    /**
+     * 継承と実装を表す関係の種類を束縛する。
+     */
+    private static final RelationType[] HIERARCHY_RELATION_TYPES = { INHERITANCE, IMPLEMENTATION };
+
+    /**
+     * 参照元を参照先の型を保持する側とみなす、フィールドの関連を表す関係の種類を束縛する。
+     */
+    private static final RelationType[] HOLDING_RELATION_TYPES = { UNIDIRECTIONAL_ASSOCIATION,
+            MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION, BIDIRECTIONAL_ASSOCIATION };
+
+    /**
+     * 節点ごとの型の完全修飾名を束縛する。
+     */
+    private final String[] fullyQualifiedNames;
+
+    /**
+     * 節点ごとの型情報を束縛する。型情報のない節点はnull。
+     */
+    private final TypeInfo[] typeInfos;
+
+    /**
+     * 型の完全修飾名から節点への対応を束縛する。
+     */
+    private final Map<String, Integer> nodeIds;
+
+    /**
+     * 関係の種類ごとの、節点ごとの参照先の開始位置を束縛する。
+     */
+    private final int[][] successorOffsets;
+
+    /**
+     * 関係の種類ごとの、参照先の節点を束縛する。
+     */
+    private final int[][] successors;
+
+    /**
+     * 関係の種類ごとの、節点ごとの参照元の開始位置を束縛する。
+     */
+    private final int[][] predecessorOffsets;
+
+    /**
+     * 関係の種類ごとの、参照元の節点を束縛する。
+     */
+    private final int[][] predecessors;
+
+    /**
+     * 構築済みの配列を指定するコンストラクタ。
+     * 
+     * @param fullyQualifiedNames 節点ごとの型の完全修飾名
+     * @param typeInfos           節点ごとの型情報
+     * @param nodeIds             型の完全修飾名から節点への対応
+     * @param successorOffsets    関係の種類ごとの、節点ごとの参照先の開始位置
+     * @param successors          関係の種類ごとの、参照先の節点
+     * @param predecessorOffsets  関係の種類ごとの、節点ごとの参照元の開始位置
+     * @param predecessors        関係の種類ごとの、参照元の節点
+     */
+    private TypeHierarchyGraph(String[] fullyQualifiedNames, TypeInfo[] typeInfos, Map<String, Integer> nodeIds,
+            int[][] successorOffsets, int[][] successors, int[][] predecessorOffsets, int[][] predecessors) {
+        this.fullyQualifiedNames = fullyQualifiedNames;
+        this.typeInfos = typeInfos;
+        this.nodeIds = nodeIds;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors;
+        this.predecessorOffsets = predecessorOffsets;
+        this.predecessors = predecessors;
+        return;
+    }
+
+    /**
+     * 型情報の集合と関係情報のグラフから型のグラフを作って応答する。
+     * 節点の番号は、型情報の順、続いて型情報のない型が関係情報に初めて現れた順に割り当てる。
+     * 同じ節点の組を結ぶ同じ種類の関係は、一本の辺にまとめる。
+     * 関係情報の端点は記号ごとに一度だけ節点に対応させる。
+     * 
+     * @param typeInfos     型情報の集合
+     * @param typeRelations 関係情報のグラフ
+     * @return グラフ
+     */
+    public static TypeHierarchyGraph of(Set<TypeInfo> typeInfos, TypeRelationGraph typeRelations) {
+        // 節点を割り当てる
+        Map<String, Integer> nodeIds = new HashMap<>();
+        List<String> fullyQualifiedNames = new ArrayList<>();
+        List<TypeInfo> nodeTypeInfos = new ArrayList<>();
+        typeInfos.forEach(typeInfo -> {
+            String fullyQualifiedName = TypeRegistry.fullyQualifiedNameOf(typeInfo.fullyQualifiedScope(),
+                    typeInfo.typeName());
+            if (nodeIds.putIfAbsent(fullyQualifiedName, fullyQualifiedNames.size()) == null) {
+                fullyQualifiedNames.add(fullyQualifiedName);
+                nodeTypeInfos.add(typeInfo);
+            }
+        });
+
+        // 関係の種類ごとに、重複を除いた辺を集める
+        TypeSymbolTable symbolTable = typeRelations.symbolTable();
+        int[] nodesOfSymbols = new int[symbolTable.size()];
+        Arrays.fill(nodesOfSymbols, NO_NODE);
+        List<List<int[]>> edgesPerRelationType = new ArrayList<>();
+        List<Set<Long>> edgeKeysPerRelationType = new ArrayList<>();
+        for (RelationType relationType : RELATION_TYPES) {
+            edgesPerRelationType.add(new ArrayList<>());
+            edgeKeysPerRelationType.add(new HashSet<>());
+        }
+        for (int edge = 0; edge < typeRelations.size(); edge++) {
+            int fromSymbol = typeRelations.fromSymbol(edge);
+            RelationType relationType = typeRelations.relationType(edge);
+            if (fromSymbol == TypeSymbolTable.NO_SYMBOL || relationType == null) {
+                continue;
+            }
+            int from = nodeIdOf(fromSymbol, symbolTable, nodesOfSymbols, nodeIds, fullyQualifiedNames,
+                    nodeTypeInfos);
+            int to = nodeIdOf(typeRelations.toSymbol(edge), symbolTable, nodesOfSymbols, nodeIds,
+                    fullyQualifiedNames, nodeTypeInfos);
+            int ordinal = relationType.ordinal();
+            if (edgeKeysPerRelationType.get(ordinal).add(((long) from << 32) | to)) {
+                edgesPerRelationType.get(ordinal).add(new int[] { from, to });
+            }
+        }
+
+        // 関係の種類ごとに、参照先と参照元の隣接をCSR形式にする
+        int nodeCount = fullyQualifiedNames.size();
+        int[][] successorOffsets = new int[RELATION_TYPES.length][];
+        int[][] successors = new int[RELATION_TYPES.length][];
+        int[][] predecessorOffsets = new int[RELATION_TYPES.length][];
+        int[][] predecessors = new int[RELATION_TYPES.length][];
+        for (int ordinal = 0; ordinal < RELATION_TYPES.length; ordinal++) {
+            List<int[]> edges = edgesPerRelationType.get(ordinal);
+            successorOffsets[ordinal] = new int[nodeCount + 1];
+            successors[ordinal] = new int[edges.size()];
+            predecessorOffsets[ordinal] = new int[nodeCount + 1];
+            predecessors[ordinal] = new int[edges.size()];
+            fillAdjacency(edges, 0, successorOffsets[ordinal], successors[ordinal]);
+            fillAdjacency(edges, 1, predecessorOffsets[ordinal], predecessors[ordinal]);
+        }
+
+        return new TypeHierarchyGraph(fullyQualifiedNames.toArray(String[]::new),
+                nodeTypeInfos.toArray(TypeInfo[]::new), Map.copyOf(nodeIds), successorOffsets, successors,
+                predecessorOffsets, predecessors);
+    }
+
+    /**
+     * 節点の数を応答する。
+     * 
+     * @return 節点の数
+     */
+    public int nodeCount() {
+        return this.fullyQualifiedNames.length;
+    }
+
+    /**
+     * 関係の種類の辺の数を応答する。
+     * 
+     * @param relationType 関係の種類
+     * @return 辺の数
+     */
+    public int edgeCount(RelationType relationType) {
+        return this.successors[relationType.ordinal()].length;
+    }
+
+    /**
+     * 型の完全修飾名に対応する節点を応答する。
+     * 
+     * @param fullyQualifiedName 型の完全修飾名
+     * @return 節点(存在しない場合はNO_NODE)
+     */
+    public int nodeOf(String fullyQualifiedName) {
+        return this.nodeIds.getOrDefault(fullyQualifiedName, NO_NODE);
+    }
+
+    /**
+     * 型情報に対応する節点を応答する。
+     * 
+     * @param typeInfo 型情報
+     * @return 節点(存在しない場合はNO_NODE)
+     */
+    public int nodeOf(TypeInfo typeInfo) {
+        return nodeOf(TypeRegistry.fullyQualifiedNameOf(typeInfo.fullyQualifiedScope(), typeInfo.typeName()));
+    }
+
+    /**
+     * 節点の型の完全修飾名を応答する。
+     * 
+     * @param node 節点
+     * @return 型の完全修飾名
+     */
+    public String fullyQualifiedNameOf(int node) {
+        return this.fullyQualifiedNames[node];
+    }
+
+    /**
+     * 節点の型情報を応答する。
+     * 
+     * @param node 節点
+     * @return 型情報(型情報のない節点の場合はnull)
+     */
+    public TypeInfo typeInfoOf(int node) {
+        return this.typeInfos[node];
+    }
+
+    /**
+     * 節点を参照元とする、関係の種類の辺の数を応答する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @return 参照先の数
+     */
+    public int successorCount(int node, RelationType relationType) {
+        int[] offsets = this.successorOffsets[relationType.ordinal()];
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * 節点を参照元とする、関係の種類の辺の参照先のうち、指定した番号のものを応答する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @param index        0からsuccessorCount未満の番号
+     * @return 参照先の節点
+     */
+    public int successor(int node, RelationType relationType, int index) {
+        return this.successors[relationType.ordinal()][this.successorOffsets[relationType.ordinal()][node] + index];
+    }
+
+    /**
+     * 節点を参照元とする、関係の種類の辺の参照先を順に処理する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @param action       参照先の節点を受け取る処理
+     */
+    public void forEachSuccessor(int node, RelationType relationType, IntConsumer action) {
+        forEachAdjacent(this.successorOffsets[relationType.ordinal()], this.successors[relationType.ordinal()],
+                node, action);
+        return;
+    }
+
+    /**
+     * 節点を参照先とする、関係の種類の辺の数を応答する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @return 参照元の数
+     */
+    public int predecessorCount(int node, RelationType relationType) {
+        int[] offsets = this.predecessorOffsets[relationType.ordinal()];
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * 節点を参照先とする、関係の種類の辺の参照元のうち、指定した番号のものを応答する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @param index        0からpredecessorCount未満の番号
+     * @return 参照元の節点
+     */
+    public int predecessor(int node, RelationType relationType, int index) {
+        return this.predecessors[relationType.ordinal()][this.predecessorOffsets[relationType.ordinal()][node]
+                + index];
+    }
+
+    /**
+     * 節点を参照先とする、関係の種類の辺の参照元を順に処理する。
+     * 
+     * @param node         節点
+     * @param relationType 関係の種類
+     * @param action       参照元の節点を受け取る処理
+     */
+    public void forEachPredecessor(int node, RelationType relationType, IntConsumer action) {
+        forEachAdjacent(this.predecessorOffsets[relationType.ordinal()], this.predecessors[relationType.ordinal()],
+                node, action);
+        return;
+    }
+
+    /**
+     * 節点の型を直接または間接に継承・実装するすべての型の節点を、近いものから順に応答する。
+     * 繰り返し問い合わせる場合は、配列を作らないcursorを用いる。
+     * 
+     * @param node 節点
+     * @return 下位の型の節点の配列
+     */
+    public int[] subtypesOf(int node) {
+        return cursor().subtypesOf(node).toArray();
+    }
+
+    /**
+     * 節点の型が直接または間接に継承・実装するすべての型の節点を、近いものから順に応答する。
+     * 繰り返し問い合わせる場合は、配列を作らないcursorを用いる。
+     * 
+     * @param node 節点
+     * @return 上位の型の節点の配列
+     */
+    public int[] supertypesOf(int node) {
+        return cursor().supertypesOf(node).toArray();
+    }
+
+    /**
+     * 節点の型をフィールドの関連で参照する型の節点を、節点の番号の順に応答する。
+     * 集約・合成・包含は型の入れ子を表すため含めない。双方向関連は、どちら向きに記録されていても参照しているものとみなす。
+     * 繰り返し問い合わせる場合は、配列を作らないcursorを用いる。
+     * 
+     * @param node 節点
+     * @return 参照する型の節点の配列
+     */
+    public int[] holdersOf(int node) {
+        int[] holders = cursor().holdersOf(node).toArray();
+        Arrays.sort(holders);
+        return holders;
+    }
+
+    /**
+     * 節点から、指定した種類の辺を参照元へ向かって辿れるすべての節点を、近いものから順に応答する。
+     * 
+     * @param node          節点
+     * @param relationTypes 辿る関係の種類
+     * @return 辿れる節点の配列
+     */
+    public int[] reachablePredecessors(int node, RelationType... relationTypes) {
+        return cursor().reachablePredecessors(node, relationTypes).toArray();
+    }
+
+    /**
+     * 節点から、指定した種類の辺を参照先へ向かって辿れるすべての節点を、近いものから順に応答する。
+     * 
+     * @param node          節点
+     * @param relationTypes 辿る関係の種類
+     * @return 辿れる節点の配列
+     */
+    public int[] reachableSuccessors(int node, RelationType... relationTypes) {
+        return cursor().reachableSuccessors(node, relationTypes).toArray();
+    }
+
+    /**
+     * このグラフの問い合わせに使い回すカーソルを作って応答する。
+     * カーソルは作成時に節点の数の作業領域を確保し、以降の問い合わせでは配列も反復子も作らない。
+     * 
+     * @return カーソル
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * グラフの問い合わせの結果の節点を、一つずつ取り出すカーソル。
+     * 問い合わせのたびに作業領域を初期化し直さず、世代の番号で訪問済みの節点を区別するため、
+     * 一つのカーソルで問い合わせを繰り返しても、確保し直すことはない。
+     * 辿る処理は取り出しに合わせて少しずつ進めるため、途中で取り出しをやめれば残りは辿らない。
+     * 一つのカーソルを複数のスレッドから同時に使うことはできない。
+     */
+    public class Cursor extends Object {
+        /**
+         * 取り出す節点の待ち行列を束縛する。
+         */
+        private final int[] queue;
+
+        /**
+         * 節点ごとの、最後に訪問した問い合わせの世代の番号を束縛する。
+         */
+        private final int[] visitedGenerations;
+
+        /**
+         * 実行中の問い合わせの世代の番号を束縛する。
+         */
+        private int generation;
+
+        /**
+         * 待ち行列の次に取り出す位置を束縛する。
+         */
+        private int head;
+
+        /**
+         * 待ち行列の次に追加する位置を束縛する。
+         */
+        private int tail;
+
+        /**
+         * 辿る隣接の、関係の種類ごとの節点ごとの開始位置を束縛する。辿らない場合はnull。
+         */
+        private int[][] offsets;
+
+        /**
+         * 辿る隣接の、関係の種類ごとの隣接する節点を束縛する。
+         */
+        private int[][] adjacents;
+
+        /**
+         * 辿る関係の種類を束縛する。
+         */
+        private RelationType[] relationTypes;
+
+        /**
+         * 作業領域を確保するコンストラクタ。
+         */
+        private Cursor() {
+            this.queue = new int[nodeCount()];
+            this.visitedGenerations = new int[nodeCount()];
+            this.generation = 0;
+            this.head = 0;
+            this.tail = 0;
+            this.offsets = null;
+            this.adjacents = null;
+            this.relationTypes = null;
+            return;
+        }
+
+        /**
+         * 節点の型を直接または間接に継承・実装するすべての型の節点を、近いものから順に取り出せるようにする。
+         * 
+         * @param node 節点
+         * @return このカーソル
+         */
+        public Cursor subtypesOf(int node) {
+            return reachablePredecessors(node, HIERARCHY_RELATION_TYPES);
+        }
+
+        /**
+         * 節点の型が直接または間接に継承・実装するすべての型の節点を、近いものから順に取り出せるようにする。
+         * 
+         * @param node 節点
+         * @return このカーソル
+         */
+        public Cursor supertypesOf(int node) {
+            return reachableSuccessors(node, HIERARCHY_RELATION_TYPES);
+        }
+
+        /**
+         * 節点の型をフィールドの関連で参照する型の節点を、関係の種類の順に取り出せるようにする。
+         * 集約・合成・包含は型の入れ子を表すため含めない。双方向関連は、どちら向きに記録されていても参照しているものとみなす。
+         * 
+         * @param node 節点
+         * @return このカーソル
+         */
+        public Cursor holdersOf(int node) {
+            start(node, null, null, null);
+            for (RelationType relationType : HOLDING_RELATION_TYPES) {
+                enqueueAdjacents(predecessorOffsets[relationType.ordinal()],
+                        predecessors[relationType.ordinal()], node);
+            }
+            enqueueAdjacents(successorOffsets[BIDIRECTIONAL_ASSOCIATION.ordinal()],
+                    successors[BIDIRECTIONAL_ASSOCIATION.ordinal()], node);
+            return this;
+        }
+
+        /**
+         * 節点から、指定した種類の辺を参照元へ向かって辿れるすべての節点を、近いものから順に取り出せるようにする。
+         * 
+         * @param node          節点
+         * @param relationTypes 辿る関係の種類
+         * @return このカーソル
+         */
+        public Cursor reachablePredecessors(int node, RelationType... relationTypes) {
+            start(node, predecessorOffsets, predecessors, relationTypes);
+            return this;
+        }
+
+        /**
+         * 節点から、指定した種類の辺を参照先へ向かって辿れるすべての節点を、近いものから順に取り出せるようにする。
+         * 
+         * @param node          節点
+         * @param relationTypes 辿る関係の種類
+         * @return このカーソル
+         */
+        public Cursor reachableSuccessors(int node, RelationType... relationTypes) {
+            start(node, successorOffsets, successors, relationTypes);
+            return this;
+        }
+
+        /**
+         * まだ取り出していない節点があるかどうかを応答する。
+         * 
+         * @return 取り出していない節点があるかどうか
+         */
+        public boolean hasNext() {
+            return this.head < this.tail;
+        }
+
+        /**
+         * 次の節点を取り出して応答する。辿る問い合わせでは、取り出した節点の隣接をここで待ち行列に加える。
+         * 
+         * @return 節点
+         * @throws NoSuchElementException 取り出す節点が残っていない場合
+         */
+        public int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int node = this.queue[this.head++];
+            if (this.offsets != null) {
+                for (RelationType relationType : this.relationTypes) {
+                    enqueueAdjacents(this.offsets[relationType.ordinal()], this.adjacents[relationType.ordinal()],
+                            node);
+                }
+            }
+            return node;
+        }
+
+        /**
+         * 残りの節点を順に取り出して処理する。
+         * 
+         * @param action 節点を受け取る処理
+         */
+        public void forEachRemaining(IntConsumer action) {
+            while (hasNext()) {
+                action.accept(next());
+            }
+            return;
+        }
+
+        /**
+         * 残りの節点を取り出した順に並べた配列を応答する。
+         * 
+         * @return 節点の配列
+         */
+        public int[] toArray() {
+            int count = 0;
+            while (hasNext()) {
+                next();
+                count++;
+            }
+            return Arrays.copyOfRange(this.queue, this.tail - count, this.tail);
+        }
+
+        /**
+         * 新しい問い合わせを始める。辿る問い合わせでは、起点の節点を訪問済みとし、起点の隣接を待ち行列に加える。
+         * 
+         * @param node          起点の節点
+         * @param offsets       辿る隣接の、関係の種類ごとの節点ごとの開始位置(辿らない場合はnull)
+         * @param adjacents     辿る隣接の、関係の種類ごとの隣接する節点
+         * @param relationTypes 辿る関係の種類
+         */
+        private void start(int node, int[][] offsets, int[][] adjacents, RelationType[] relationTypes) {
+            if (this.generation == Integer.MAX_VALUE) {
+                Arrays.fill(this.visitedGenerations, 0);
+                this.generation = 0;
+            }
+            this.generation++;
+            this.head = 0;
+            this.tail = 0;
+            this.offsets = offsets;
+            this.adjacents = adjacents;
+            this.relationTypes = relationTypes;
+            if (offsets != null) {
+                this.visitedGenerations[node] = this.generation;
+                this.queue[this.tail++] = node;
+                next();
+            }
+            return;
+        }
+
+        /**
+         * 節点の隣接する節点のうち、この問い合わせでまだ訪問していないものを待ち行列に加える。
+         * 
+         * @param relationOffsets   節点ごとの隣接の開始位置
+         * @param relationAdjacents 隣接する節点
+         * @param node              節点
+         */
+        private void enqueueAdjacents(int[] relationOffsets, int[] relationAdjacents, int node) {
+            for (int index = relationOffsets[node]; index < relationOffsets[node + 1]; index++) {
+                int adjacent = relationAdjacents[index];
+                if (this.visitedGenerations[adjacent] != this.generation) {
+                    this.visitedGenerations[adjacent] = this.generation;
+                    this.queue[this.tail++] = adjacent;
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * 節点の隣接する節点を順に処理する。
+     * 
+     * @param offsets   節点ごとの隣接の開始位置
+     * @param adjacents 隣接する節点
+     * @param node      節点
+     * @param action    隣接する節点を受け取る処理
+     */
+    private static void forEachAdjacent(int[] offsets, int[] adjacents, int node, IntConsumer action) {
+        for (int index = offsets[node]; index < offsets[node + 1]; index++) {
+            action.accept(adjacents[index]);
+        }
+        return;
+    }
+
+    /**
+     * 関係情報の端点の記号に対応する節点を応答する。まだ節点がなければ、型情報のない節点として割り当てる。
+     * 
+     * @param symbol              端点の記号
+     * @param symbolTable         端点の記号表
+     * @param nodesOfSymbols      記号ごとの、対応させた節点(未対応の場合はNO_NODE)
+     * @param nodeIds             型の完全修飾名から節点への対応
+     * @param fullyQualifiedNames 節点ごとの型の完全修飾名
+     * @param nodeTypeInfos       節点ごとの型情報
+     * @return 節点
+     */
+    private static int nodeIdOf(int symbol, TypeSymbolTable symbolTable, int[] nodesOfSymbols,
+            Map<String, Integer> nodeIds, List<String> fullyQualifiedNames, List<TypeInfo> nodeTypeInfos) {
+        if (nodesOfSymbols[symbol] == NO_NODE) {
+            String fullyQualifiedName = TypeRegistry.fullyQualifiedNameOf(symbolTable.fullyQualifiedScope(symbol),
+                    symbolTable.typeName(symbol));
+            nodesOfSymbols[symbol] = nodeIds.computeIfAbsent(fullyQualifiedName, aName -> {
+                fullyQualifiedNames.add(aName);
+                nodeTypeInfos.add(null);
+                return fullyQualifiedNames.size() - 1;
+            });
+        }
+        return nodesOfSymbols[symbol];
+    }
+
+    /**
+     * 辺の一方の端点ごとに、もう一方の端点を開始位置の配列と隣接する節点の配列に詰める。
+     * 隣接する節点は、辺を追加した順に並ぶ。
+     * 
+     * @param edges     参照元と参照先の組の辺のリスト
+     * @param keyIndex  隣接をまとめる端点(0は参照元、1は参照先)
+     * @param offsets   節点ごとの隣接の開始位置を書き込む、節点の数より一つ大きい配列
+     * @param adjacents 隣接する節点を書き込む、辺の数の大きさの配列
+     */
+    private static void fillAdjacency(List<int[]> edges, int keyIndex, int[] offsets, int[] adjacents) {
+        int valueIndex = 1 - keyIndex;
+        edges.forEach(edge -> offsets[edge[keyIndex] + 1]++);
+        for (int node = 1; node < offsets.length; node++) {
+            offsets[node] += offsets[node - 1];
+        }
+        int[] positions = Arrays.copyOf(offsets, offsets.length - 1);
+        edges.forEach(edge -> adjacents[positions[edge[keyIndex]]++] = edge[valueIndex]);
+        return;
+    }
+}
@@ -1,19 +1,19 @@
 package nexusviz.generator.model.structure;
 
-import com.github.javaparser.ast.body.TypeDeclaration;
+import java.io.Serializable;
 
 /**
  * 型情報を表すレコード。
  * 
  * @param fullyQualifiedScope 完全修飾スコープ
  * @param typeName            型名
- * @param typeDeclaration     型宣言
+ * @param typeSummary         型宣言の要約(宣言がプロジェクト内にない場合はnull)
  * @param isInterface         インタフェースであるかどうか
  * @param isLocalType         ローカル型であるかどうか
  * 
  * @author Ishiguro
  * @version 1.0
  */
-public record TypeInfo(String fullyQualifiedScope, String typeName, TypeDeclaration<?> typeDeclaration,
-		Boolean isInterface, Boolean isLocalType) {
+public record TypeInfo(String fullyQualifiedScope, String typeName, TypeSummary typeSummary,
+		Boolean isInterface, Boolean isLocalType) implements Serializable {
 }
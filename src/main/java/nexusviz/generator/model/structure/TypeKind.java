@@ -0,0 +1,15 @@
+package nexusviz.generator.model.structure;
+
+/**
+ * 型の種類を表す列挙型。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum TypeKind {
+    /** クラス */ CLASS,
+    /** インタフェース */ INTERFACE,
+    /** 列挙型 */ ENUM,
+    /** レコード */ RECORD,
+    /** アノテーション型 */ ANNOTATION
+}
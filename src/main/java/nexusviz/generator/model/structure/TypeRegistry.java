@@ -0,0 +1,164 @@
+package nexusviz.generator.model.structure;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 型情報の集合を、完全修飾名と単純名で引けるように保持する登録簿。
+ * 型情報は登録した順に保持し、同じ名前の型情報が複数ある場合は、最初に登録したものを引く。
+ * そのため、型情報の集合を先頭から順に調べて最初に一致したものを応答する検索と同じ結果を、一定の時間で得られる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeRegistry extends Object {
+    /**
+     * 登録した順の型情報の集合を束縛する。
+     */
+    private final Set<TypeInfo> typeInfos;
+
+    /**
+     * 完全修飾名から型情報への対応を束縛する。
+     */
+    private final Map<String, TypeInfo> typeInfosByFullyQualifiedName;
+
+    /**
+     * 完全修飾スコープ名と型名の組から型情報への対応を束縛する。
+     */
+    private final Map<TypeKey, TypeInfo> typeInfosByScopeAndName;
+
+    /**
+     * 単純名から型情報への対応を束縛する。
+     */
+    private final Map<String, TypeInfo> typeInfosBySimpleName;
+
+    /**
+     * 空の登録簿を生成するコンストラクタ。
+     */
+    public TypeRegistry() {
+        this.typeInfos = new LinkedHashSet<>();
+        this.typeInfosByFullyQualifiedName = new HashMap<>();
+        this.typeInfosByScopeAndName = new HashMap<>();
+        this.typeInfosBySimpleName = new HashMap<>();
+        return;
+    }
+
+    /**
+     * 型情報を登録する。既に同じ型情報を登録している場合は何もしない。
+     * 
+     * @param typeInfo 型情報
+     * @return 新たに登録した場合はtrue
+     */
+    public Boolean register(TypeInfo typeInfo) {
+        if (!this.typeInfos.add(typeInfo)) {
+            return false;
+        }
+        this.typeInfosByFullyQualifiedName.putIfAbsent(
+                fullyQualifiedNameOf(typeInfo.fullyQualifiedScope(), typeInfo.typeName()), typeInfo);
+        this.typeInfosByScopeAndName.putIfAbsent(new TypeKey(typeInfo.fullyQualifiedScope(), typeInfo.typeName()),
+                typeInfo);
+        this.typeInfosBySimpleName.putIfAbsent(typeInfo.typeName(), typeInfo);
+        return true;
+    }
+
+    /**
+     * 型情報の集合をすべて登録する。
+     * 
+     * @param typeInfos 型情報の集合
+     */
+    public void registerAll(Set<TypeInfo> typeInfos) {
+        typeInfos.forEach(this::register);
+        return;
+    }
+
+    /**
+     * 完全修飾名の型情報を登録しているかどうかを応答する。
+     * 
+     * @param fullyQualifiedName 完全修飾名
+     * @return 登録していればtrue
+     */
+    public Boolean containsFullyQualifiedName(String fullyQualifiedName) {
+        return this.typeInfosByFullyQualifiedName.containsKey(fullyQualifiedName);
+    }
+
+    /**
+     * 完全修飾名に一致する型情報を応答する。
+     * 
+     * @param fullyQualifiedName 完全修飾名
+     * @return 一致する型情報(存在しない場合はnull)
+     */
+    public TypeInfo findByFullyQualifiedName(String fullyQualifiedName) {
+        return this.typeInfosByFullyQualifiedName.get(fullyQualifiedName);
+    }
+
+    /**
+     * 完全修飾スコープ名と型名に一致する型情報を応答する。
+     * 
+     * @param fullyQualifiedScope 完全修飾スコープ名
+     * @param typeName            型名
+     * @return 一致する型情報(存在しない場合はnull)
+     */
+    public TypeInfo find(String fullyQualifiedScope, String typeName) {
+        return this.typeInfosByScopeAndName.get(new TypeKey(fullyQualifiedScope, typeName));
+    }
+
+    /**
+     * 単純名に一致する型情報のうち、最初に登録したものを応答する。
+     * 
+     * @param simpleName 単純名
+     * @return 一致する型情報(存在しない場合はnull)
+     */
+    public TypeInfo findBySimpleName(String simpleName) {
+        return this.typeInfosBySimpleName.get(simpleName);
+    }
+
+    /**
+     * 登録した型情報の数を応答する。
+     * 
+     * @return 型情報の数
+     */
+    public Integer size() {
+        return this.typeInfos.size();
+    }
+
+    /**
+     * 型情報を一つも登録していないかどうかを応答する。
+     * 
+     * @return 登録していなければtrue
+     */
+    public Boolean isEmpty() {
+        return this.typeInfos.isEmpty();
+    }
+
+    /**
+     * 登録した順の型情報の集合を、変更できない形で応答する。
+     * 
+     * @return 型情報の集合
+     */
+    public Set<TypeInfo> typeInfos() {
+        return Collections.unmodifiableSet(this.typeInfos);
+    }
+
+    /**
+     * 完全修飾スコープ名と型名から完全修飾名を作って応答する。完全修飾スコープ名が空の場合は型名を応答する。
+     * 
+     * @param fullyQualifiedScope 完全修飾スコープ名
+     * @param typeName            型名
+     * @return 完全修飾名
+     */
+    public static String fullyQualifiedNameOf(String fullyQualifiedScope, String typeName) {
+        return fullyQualifiedScope.isEmpty() ? typeName : fullyQualifiedScope + "." + typeName;
+    }
+
+    /**
+     * 完全修飾スコープ名と型名の組を表すレコード。
+     * 
+     * @param fullyQualifiedScope 完全修飾スコープ名
+     * @param typeName            型名
+     */
+    private record TypeKey(String fullyQualifiedScope, String typeName) {
+    }
+}
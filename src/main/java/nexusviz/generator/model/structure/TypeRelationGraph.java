@@ -0,0 +1,437 @@
+package nexusviz.generator.model.structure;
+
+import static nexusviz.generator.model.structure.RelationType.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * 関係情報を、記号表の記号を端点とする辺の配列として保持するグラフ。
+ * 辺は参照元と参照先の記号、関係の種類、ローカル型であるかどうかの組で識別し、同じ組の辺は一つだけ保持する。
+ * 辺の組は整数の配列と、辺の番号を格納する開番地法の索引で保持し、関係情報の統合は記号の整数と
+ * 辺の番号の集合に対する操作で行う。辺を取り除くたびに配列を詰めるため、0からsizeまでの番号の辺はすべて有効である。
+ * 辺は追加した順に保持し、統合を終えたグラフはそのまま解析結果として関係情報を表す。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeRelationGraph extends Object {
+    /**
+     * 関係の種類の一覧を束縛する。
+     */
+    private static final RelationType[] RELATION_TYPES = RelationType.values();
+
+    /**
+     * 関係の種類がないことを表す番号を束縛する。
+     */
+    private static final int NO_RELATION_TYPE = RELATION_TYPES.length;
+
+    /**
+     * 索引の空きを表す値を束縛する。
+     */
+    private static final int EMPTY_SLOT = -1;
+
+    /**
+     * 辺の配列の初期の大きさを束縛する。
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * 端点の記号表を束縛する。
+     */
+    private final TypeSymbolTable symbolTable;
+
+    /**
+     * 辺ごとの参照元の記号を束縛する。
+     */
+    private int[] fromSymbols;
+
+    /**
+     * 辺ごとの参照先の記号を束縛する。
+     */
+    private int[] toSymbols;
+
+    /**
+     * 辺ごとの関係の種類の番号を束縛する。
+     */
+    private byte[] relationTypes;
+
+    /**
+     * ローカル型の関係である辺の番号の集合を束縛する。
+     */
+    private BitSet localEdges;
+
+    /**
+     * 保持している辺の数を束縛する。
+     */
+    private int edgeCount;
+
+    /**
+     * 辺の組のハッシュ値で引く、辺の番号の開番地法の索引を束縛する。大きさは常に2の冪で、空きはEMPTY_SLOT。
+     */
+    private int[] edgeSlots;
+
+    /**
+     * 空のグラフを生成するコンストラクタ。
+     */
+    public TypeRelationGraph() {
+        this.symbolTable = new TypeSymbolTable();
+        this.fromSymbols = new int[INITIAL_CAPACITY];
+        this.toSymbols = new int[INITIAL_CAPACITY];
+        this.relationTypes = new byte[INITIAL_CAPACITY];
+        this.localEdges = new BitSet();
+        this.edgeCount = 0;
+        this.edgeSlots = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(this.edgeSlots, EMPTY_SLOT);
+        return;
+    }
+
+    /**
+     * 関係情報の集合から、その順に辺を追加したグラフを生成して応答する。
+     * 
+     * @param typeRelations 関係情報の集合
+     * @return グラフ
+     */
+    public static TypeRelationGraph of(Set<TypeRelationInfo> typeRelations) {
+        TypeRelationGraph graph = new TypeRelationGraph();
+        typeRelations.forEach(graph::add);
+        return graph;
+    }
+
+    /**
+     * 関係情報を辺として追加する。同じ辺を既に保持している場合は何もしない。
+     * 
+     * @param typeRelation 関係情報
+     * @return 新たに追加した場合はtrue
+     */
+    public Boolean add(TypeRelationInfo typeRelation) {
+        int fromSymbol = this.symbolTable.intern(typeRelation.fromTypeName(),
+                typeRelation.fromTypeFullyQualifiedScope());
+        int toSymbol = this.symbolTable.intern(typeRelation.toTypeName(), typeRelation.toTypeFullyQualifiedScope());
+        int relationType = typeRelation.relationType() == null ? NO_RELATION_TYPE
+                : typeRelation.relationType().ordinal();
+        return addEdge(fromSymbol, toSymbol, relationType, typeRelation.isLocalType());
+    }
+
+    /**
+     * 同じ端点の組に多重片方向関連がある片方向関連の辺を取り除く。
+     */
+    public void removeUnidirectionalShadowedByMultiplicity() {
+        BitSet toRemove = new BitSet(this.edgeCount);
+        for (int edge = 0; edge < this.edgeCount; edge++) {
+            if (this.relationTypes[edge] == UNIDIRECTIONAL_ASSOCIATION.ordinal()
+                    && findEdge(this.fromSymbols[edge], this.toSymbols[edge],
+                            MULTIPLICITY_UNIDIRECTIONAL_ASSOCIATION.ordinal(),
+                            this.localEdges.get(edge)) != EMPTY_SLOT) {
+                toRemove.set(edge);
+            }
+        }
+        removeEdges(toRemove);
+        return;
+    }
+
+    /**
+     * 参照先の完全修飾スコープ名が空の継承関係と実装関係のうち、参照先の型の名前と同名の型情報があるものを、
+     * その型情報の完全修飾スコープ名を参照先とする辺に置き換える。置き換えた辺は末尾に追加する。
+     * 
+     * @param typeRegistry 型情報の登録簿
+     */
+    public void qualifyHierarchyTargets(TypeRegistry typeRegistry) {
+        BitSet toRemove = new BitSet(this.edgeCount);
+        int[] qualifiedSymbols = new int[this.symbolTable.size()];
+        Arrays.fill(qualifiedSymbols, EMPTY_SLOT);
+        for (int edge = 0; edge < this.edgeCount; edge++) {
+            int relationType = this.relationTypes[edge];
+            int toSymbol = this.toSymbols[edge];
+            if ((relationType != INHERITANCE.ordinal() && relationType != IMPLEMENTATION.ordinal())
+                    || !this.symbolTable.fullyQualifiedScope(toSymbol).isEmpty()) {
+                continue;
+            }
+            if (qualifiedSymbols[toSymbol] == EMPTY_SLOT) {
+                String typeName = this.symbolTable.typeName(toSymbol);
+                TypeInfo typeInfo = typeRegistry.findBySimpleName(typeName);
+                qualifiedSymbols[toSymbol] = typeInfo == null ? TypeSymbolTable.NO_SYMBOL
+                        : this.symbolTable.intern(typeName, typeInfo.fullyQualifiedScope());
+            }
+            if (qualifiedSymbols[toSymbol] != TypeSymbolTable.NO_SYMBOL) {
+                toRemove.set(edge);
+            }
+        }
+
+        // 置き換える辺を取り除いてから、置き換えた辺を元の順に末尾へ追加する
+        int[] removedFromSymbols = selectEdges(this.fromSymbols, toRemove);
+        int[] removedToSymbols = selectEdges(this.toSymbols, toRemove);
+        byte[] removedRelationTypes = selectEdges(this.relationTypes, toRemove);
+        BitSet removedLocalEdges = selectEdges(this.localEdges, toRemove);
+        removeEdges(toRemove);
+        for (int index = 0; index < removedFromSymbols.length; index++) {
+            addEdge(removedFromSymbols[index], qualifiedSymbols[removedToSymbols[index]],
+                    removedRelationTypes[index], removedLocalEdges.get(index));
+        }
+        return;
+    }
+
+    /**
+     * 互いに逆向きの片方向関連の辺の組を、一つの双方向関連の辺に統合する。
+     * 参照元と参照先が同じ型である片方向関連は統合しない。
+     */
+    public void mergeToBidirectional() {
+        BitSet toRemove = new BitSet(this.edgeCount);
+        BitSet toMerge = new BitSet(this.edgeCount);
+        int unidirectional = UNIDIRECTIONAL_ASSOCIATION.ordinal();
+        for (int edge = 0; edge < this.edgeCount; edge++) {
+            int fromSymbol = this.fromSymbols[edge];
+            int toSymbol = this.toSymbols[edge];
+            if (this.relationTypes[edge] != unidirectional || fromSymbol == toSymbol) {
+                continue;
+            }
+            int reversedEdge = findEdge(toSymbol, fromSymbol, unidirectional, this.localEdges.get(edge));
+            if (reversedEdge != EMPTY_SLOT && !toRemove.get(reversedEdge)) {
+                toMerge.set(edge);
+                toRemove.set(edge);
+                toRemove.set(reversedEdge);
+            }
+        }
+        for (int edge = toMerge.nextSetBit(0); edge >= 0; edge = toMerge.nextSetBit(edge + 1)) {
+            addEdge(this.fromSymbols[edge], this.toSymbols[edge], BIDIRECTIONAL_ASSOCIATION.ordinal(),
+                    this.localEdges.get(edge));
+        }
+        removeEdges(toRemove);
+        return;
+    }
+
+    /**
+     * 辺の数を応答する。辺の番号は0からこの数未満である。
+     * 
+     * @return 辺の数
+     */
+    public int size() {
+        return this.edgeCount;
+    }
+
+    /**
+     * 辺の参照元の記号を応答する。
+     * 
+     * @param edge 辺の番号
+     * @return 参照元の記号(参照元がない場合はTypeSymbolTable.NO_SYMBOL)
+     */
+    public int fromSymbol(int edge) {
+        return this.fromSymbols[edge];
+    }
+
+    /**
+     * 辺の参照先の記号を応答する。
+     * 
+     * @param edge 辺の番号
+     * @return 参照先の記号
+     */
+    public int toSymbol(int edge) {
+        return this.toSymbols[edge];
+    }
+
+    /**
+     * 辺の関係の種類を応答する。
+     * 
+     * @param edge 辺の番号
+     * @return 関係の種類(型情報のみを表す辺の場合はnull)
+     */
+    public RelationType relationType(int edge) {
+        return this.relationTypes[edge] == NO_RELATION_TYPE ? null : RELATION_TYPES[this.relationTypes[edge]];
+    }
+
+    /**
+     * 辺がローカル型の関係であるかどうかを応答する。
+     * 
+     * @param edge 辺の番号
+     * @return ローカル型の関係であるかどうか
+     */
+    public Boolean isLocalType(int edge) {
+        return this.localEdges.get(edge);
+    }
+
+    /**
+     * 辺を関係情報にして応答する。
+     * 
+     * @param edge 辺の番号
+     * @return 関係情報
+     */
+    public TypeRelationInfo typeRelationOf(int edge) {
+        return new TypeRelationInfo(this.symbolTable.typeName(this.fromSymbols[edge]),
+                this.symbolTable.fullyQualifiedScope(this.fromSymbols[edge]),
+                this.symbolTable.typeName(this.toSymbols[edge]),
+                this.symbolTable.fullyQualifiedScope(this.toSymbols[edge]), relationType(edge), isLocalType(edge));
+    }
+
+    /**
+     * 端点の記号表を応答する。
+     * 
+     * @return 記号表
+     */
+    public TypeSymbolTable symbolTable() {
+        return this.symbolTable;
+    }
+
+    /**
+     * 辺を追加する。同じ辺を既に保持している場合は何もしない。
+     * 
+     * @param fromSymbol   参照元の記号
+     * @param toSymbol     参照先の記号
+     * @param relationType 関係の種類の番号
+     * @param isLocalType  ローカル型であるかどうか
+     * @return 新たに追加した場合はtrue
+     */
+    private Boolean addEdge(int fromSymbol, int toSymbol, int relationType, Boolean isLocalType) {
+        if (findEdge(fromSymbol, toSymbol, relationType, isLocalType) != EMPTY_SLOT) {
+            return false;
+        }
+        int edge = this.edgeCount;
+        if (edge == this.fromSymbols.length) {
+            int capacity = edge * 2;
+            this.fromSymbols = Arrays.copyOf(this.fromSymbols, capacity);
+            this.toSymbols = Arrays.copyOf(this.toSymbols, capacity);
+            this.relationTypes = Arrays.copyOf(this.relationTypes, capacity);
+            this.edgeSlots = new int[capacity * 2];
+            rebuildEdgeSlots();
+        }
+        this.fromSymbols[edge] = fromSymbol;
+        this.toSymbols[edge] = toSymbol;
+        this.relationTypes[edge] = (byte) relationType;
+        this.localEdges.set(edge, isLocalType);
+        this.edgeCount++;
+        this.edgeSlots[emptySlotOf(edge)] = edge;
+        return true;
+    }
+
+    /**
+     * 端点と関係の種類とローカル型であるかどうかが一致する辺の番号を応答する。
+     * 
+     * @param fromSymbol   参照元の記号
+     * @param toSymbol     参照先の記号
+     * @param relationType 関係の種類の番号
+     * @param isLocalType  ローカル型であるかどうか
+     * @return 辺の番号(存在しない場合はEMPTY_SLOT)
+     */
+    private int findEdge(int fromSymbol, int toSymbol, int relationType, Boolean isLocalType) {
+        int mask = this.edgeSlots.length - 1;
+        for (int slot = hashOf(fromSymbol, toSymbol, relationType, isLocalType) & mask;; slot = (slot + 1) & mask) {
+            int edge = this.edgeSlots[slot];
+            if (edge == EMPTY_SLOT) {
+                return EMPTY_SLOT;
+            }
+            if (this.fromSymbols[edge] == fromSymbol && this.toSymbols[edge] == toSymbol
+                    && this.relationTypes[edge] == relationType && this.localEdges.get(edge) == isLocalType) {
+                return edge;
+            }
+        }
+    }
+
+    /**
+     * 辺の番号の集合に含まれる辺を取り除き、残りの辺を順を保って前に詰め、索引を作り直す。
+     * 
+     * @param edges 取り除く辺の番号の集合
+     */
+    private void removeEdges(BitSet edges) {
+        if (edges.isEmpty()) {
+            return;
+        }
+        int keptCount = 0;
+        BitSet keptLocalEdges = new BitSet(this.edgeCount);
+        for (int edge = edges.nextClearBit(0); edge < this.edgeCount; edge = edges.nextClearBit(edge + 1)) {
+            this.fromSymbols[keptCount] = this.fromSymbols[edge];
+            this.toSymbols[keptCount] = this.toSymbols[edge];
+            this.relationTypes[keptCount] = this.relationTypes[edge];
+            keptLocalEdges.set(keptCount, this.localEdges.get(edge));
+            keptCount++;
+        }
+        this.localEdges = keptLocalEdges;
+        this.edgeCount = keptCount;
+        rebuildEdgeSlots();
+        return;
+    }
+
+    /**
+     * 保持している辺から索引を作り直す。
+     */
+    private void rebuildEdgeSlots() {
+        Arrays.fill(this.edgeSlots, EMPTY_SLOT);
+        for (int edge = 0; edge < this.edgeCount; edge++) {
+            this.edgeSlots[emptySlotOf(edge)] = edge;
+        }
+        return;
+    }
+
+    /**
+     * 辺の組のハッシュ値の位置から探して、索引の最初の空きの位置を応答する。
+     * 
+     * @param edge 辺の番号
+     * @return 索引の空きの位置
+     */
+    private int emptySlotOf(int edge) {
+        int mask = this.edgeSlots.length - 1;
+        int slot = hashOf(this.fromSymbols[edge], this.toSymbols[edge], this.relationTypes[edge],
+                this.localEdges.get(edge)) & mask;
+        while (this.edgeSlots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * 辺の組のハッシュ値を応答する。
+     * 
+     * @param fromSymbol   参照元の記号
+     * @param toSymbol     参照先の記号
+     * @param relationType 関係の種類の番号
+     * @param isLocalType  ローカル型であるかどうか
+     * @return ハッシュ値
+     */
+    private static int hashOf(int fromSymbol, int toSymbol, int relationType, Boolean isLocalType) {
+        int hash = fromSymbol * 31 + toSymbol;
+        hash = hash * 31 + relationType * 2 + (isLocalType ? 1 : 0);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 辺ごとの値の配列から、辺の番号の集合に含まれる辺の値を順に取り出して応答する。
+     * 
+     * @param values 辺ごとの値の配列
+     * @param edges  取り出す辺の番号の集合
+     * @return 取り出した値の配列
+     */
+    private static int[] selectEdges(int[] values, BitSet edges) {
+        return edges.stream().map(edge -> values[edge]).toArray();
+    }
+
+    /**
+     * 辺ごとの値の配列から、辺の番号の集合に含まれる辺の値を順に取り出して応答する。
+     * 
+     * @param values 辺ごとの値の配列
+     * @param edges  取り出す辺の番号の集合
+     * @return 取り出した値の配列
+     */
+    private static byte[] selectEdges(byte[] values, BitSet edges) {
+        byte[] selected = new byte[edges.cardinality()];
+        int index = 0;
+        for (int edge = edges.nextSetBit(0); edge >= 0; edge = edges.nextSetBit(edge + 1)) {
+            selected[index++] = values[edge];
+        }
+        return selected;
+    }
+
+    /**
+     * 辺ごとの真偽の集合から、辺の番号の集合に含まれる辺の真偽を順に取り出して応答する。
+     * 
+     * @param values 辺ごとの真偽の集合
+     * @param edges  取り出す辺の番号の集合
+     * @return 取り出した真偽の集合
+     */
+    private static BitSet selectEdges(BitSet values, BitSet edges) {
+        BitSet selected = new BitSet(edges.cardinality());
+        int index = 0;
+        for (int edge = edges.nextSetBit(0); edge >= 0; edge = edges.nextSetBit(edge + 1)) {
+            selected.set(index++, values.get(edge));
+        }
+        return selected;
+    }
+}
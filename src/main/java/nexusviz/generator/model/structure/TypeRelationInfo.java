@@ -1,13 +1,14 @@
 package nexusviz.generator.model.structure;
 
-import com.github.javaparser.ast.type.Type;
+import java.io.Serializable;
 
 /**
  * 関係情報を表すレコード。
+ * 型は構文木の型ではなく、その文字列表現の名前で保持するため、コンパイルユニットを参照せず、解析キャッシュに保存できる。
  * 
- * @param fromType                    参照元の型
+ * @param fromTypeName                参照元の型の名前(参照元がない場合はnull)
  * @param fromTypeFullyQualifiedScope 参照元の型の完全修飾スコープ
- * @param toType                      参照先の型
+ * @param toTypeName                  参照先の型の名前
  * @param toTypeFullyQualifiedScope   参照先の型の完全修飾スコープ
  * @param relationType                関係の種類
  * @param isLocalType                 ローカル型であるかどうか
@@ -15,6 +16,6 @@ import com.github.javaparser.ast.type.Type;
  * @author Ishiguro
  * @version 1.0
  */
-public record TypeRelationInfo(Type fromType, String fromTypeFullyQualifiedScope, Type toType,
-        String toTypeFullyQualifiedScope, RelationType relationType, Boolean isLocalType) {
+public record TypeRelationInfo(String fromTypeName, String fromTypeFullyQualifiedScope, String toTypeName,
+        String toTypeFullyQualifiedScope, RelationType relationType, Boolean isLocalType) implements Serializable {
 }
@@ -0,0 +1,32 @@
+package nexusviz.generator.model.structure;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 型宣言の要約を表すレコード。
+ * 構文木を参照せず、クラス図の描画に必要な修飾子とメンバの情報だけを保持する。
+ * 
+ * @param typeKind            型の種類
+ * @param accessModifier      アクセス修飾子
+ * @param isAbstract          明示的にabstractであるかどうか
+ * @param isStatic            明示的にstaticであるかどうか
+ * @param isFinal             明示的にfinalであるかどうか
+ * @param isMemberType        他の型のメンバ型であるかどうか
+ * @param isMemberOfInterface インタフェースのメンバ型であるかどうか
+ * @param recordComponents    レコードコンポーネントの要約のリスト
+ * @param enumConstants       列挙子の要約のリスト
+ * @param fields              フィールドの要約のリスト
+ * @param compactConstructors コンパクトコンストラクタの要約のリスト
+ * @param constructors        コンストラクタの要約のリスト
+ * @param methods             メソッドの要約のリスト
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record TypeSummary(TypeKind typeKind, AccessModifier accessModifier, Boolean isAbstract, Boolean isStatic,
+        Boolean isFinal, Boolean isMemberType, Boolean isMemberOfInterface, List<ParameterSummary> recordComponents,
+        List<EnumConstantSummary> enumConstants, List<FieldSummary> fields,
+        List<ConstructorSummary> compactConstructors, List<ConstructorSummary> constructors,
+        List<MethodSummary> methods) implements Serializable {
+}
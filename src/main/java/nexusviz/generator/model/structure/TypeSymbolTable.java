@@ -0,0 +1,102 @@
+package nexusviz.generator.model.structure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 型の名前と完全修飾スコープ名の組を、0から始まる整数の記号に対応させる記号表。
+ * 同じ組は同じ記号に対応させる。文字列の比較とハッシュ値の計算は登録する時の一度だけで済み、
+ * 以降は記号の整数で比較できる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeSymbolTable extends Object {
+    /**
+     * 型がないことを表す記号を束縛する。
+     */
+    public static final int NO_SYMBOL = -1;
+
+    /**
+     * 型の名前と完全修飾スコープ名の組から記号への対応を束縛する。
+     */
+    private final Map<TypeIdentity, Integer> symbols;
+
+    /**
+     * 記号ごとの完全修飾スコープ名を束縛する。
+     */
+    private final List<String> fullyQualifiedScopes;
+
+    /**
+     * 記号ごとの型の名前を束縛する。
+     */
+    private final List<String> typeNames;
+
+    /**
+     * 空の記号表を生成するコンストラクタ。
+     */
+    public TypeSymbolTable() {
+        this.symbols = new HashMap<>();
+        this.fullyQualifiedScopes = new ArrayList<>();
+        this.typeNames = new ArrayList<>();
+        return;
+    }
+
+    /**
+     * 型の名前と完全修飾スコープ名の組に対応する記号を応答する。初めての組であれば新たな記号を割り当てる。
+     * 
+     * @param typeName            型の名前(nullの場合は型がないことを表す)
+     * @param fullyQualifiedScope 完全修飾スコープ名
+     * @return 記号(型の名前がnullの場合はNO_SYMBOL)
+     */
+    public int intern(String typeName, String fullyQualifiedScope) {
+        if (typeName == null) {
+            return NO_SYMBOL;
+        }
+        return this.symbols.computeIfAbsent(new TypeIdentity(typeName, fullyQualifiedScope), identity -> {
+            this.fullyQualifiedScopes.add(fullyQualifiedScope);
+            this.typeNames.add(typeName);
+            return this.typeNames.size() - 1;
+        });
+    }
+
+    /**
+     * 記号の完全修飾スコープ名を応答する。
+     * 
+     * @param symbol 記号
+     * @return 完全修飾スコープ名(NO_SYMBOLの場合はnull)
+     */
+    public String fullyQualifiedScope(int symbol) {
+        return symbol < 0 ? null : this.fullyQualifiedScopes.get(symbol);
+    }
+
+    /**
+     * 記号の型の名前を応答する。
+     * 
+     * @param symbol 記号
+     * @return 型の名前(NO_SYMBOLの場合はnull)
+     */
+    public String typeName(int symbol) {
+        return symbol < 0 ? null : this.typeNames.get(symbol);
+    }
+
+    /**
+     * 割り当てた記号の数を応答する。
+     * 
+     * @return 記号の数
+     */
+    public int size() {
+        return this.typeNames.size();
+    }
+
+    /**
+     * 型の名前と完全修飾スコープ名の組を表すレコード。
+     * 
+     * @param typeName            型の名前
+     * @param fullyQualifiedScope 完全修飾スコープ名
+     */
+    private record TypeIdentity(String typeName, String fullyQualifiedScope) {
+    }
+}
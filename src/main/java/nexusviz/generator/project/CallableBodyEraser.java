@@ -0,0 +1,159 @@
+package nexusviz.generator.project;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * ソースコードを字句単位で走査し、メソッド・コンストラクタ・初期化子などの本体の中身を空白に置き換えるユーティリティクラス。
+ * 宣言だけを構文解析するための前処理であり、本体の構文木の生成を省くことで構文解析の時間とメモリを削減する。
+ * 改行は残すため、宣言の位置(行番号と桁)は元のソースコードと一致する。
+ * ローカル型を宣言している可能性がある本体と、フィールドの初期化式などの本体以外の波括弧は置き換えない。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class CallableBodyEraser extends Object {
+    /**
+     * 型宣言を表すキーワードを束縛する。
+     */
+    private static final Set<String> TYPE_DECLARATION_KEYWORDS = Set.of("class", "interface", "enum");
+
+    /**
+     * 文脈によって型宣言を表す識別子を束縛する。
+     */
+    private static final String RECORD_KEYWORD = "record";
+
+    /**
+     * インスタンス化を防止するためのコンストラクタ。
+     */
+    private CallableBodyEraser() {
+    }
+
+    /**
+     * 波括弧で囲まれた範囲の種類を表す列挙型。
+     */
+    private enum Scope {
+        /** 型の本体 */ TYPE_BODY,
+        /** メソッド・コンストラクタ・初期化子などの本体 */ CALLABLE_BODY,
+        /** それ以外のブロックや配列の初期化子 */ BLOCK
+    }
+
+    /**
+     * ソースコードのうち、ローカル型を宣言しない本体の中身を空白に置き換えて応答する。
+     * 波括弧の対応が取れないなど字句の走査に失敗した場合は、元のソースコードをそのまま応答する。
+     * 
+     * @param source ソースコード
+     * @return 本体の中身を空白に置き換えたソースコード
+     */
+    public static String erase(String source) {
+        StringBuilder erasedSource = new StringBuilder(source);
+        Deque<Scope> scopes = new ArrayDeque<>();
+
+        // 型の本体の直下にあるメンバ宣言の状態
+        Boolean declaresType = false;
+        Boolean hasAssignment = false;
+        int parenthesisDepth = 0;
+        String previousWord = null;
+
+        // 走査中の本体の状態(本体の中の波括弧はすべてブロックとして扱うため、走査中の本体は高々一つ)
+        int callableBodyStart = -1;
+        Boolean callableDeclaresType = false;
+
+        // 直前の字句の状態
+        Boolean followsRecord = false;
+        Boolean followsDot = false;
+
+        SourceTokenizer tokenizer = new SourceTokenizer(source);
+        while (tokenizer.next()) {
+            // 識別子・キーワード
+            if (tokenizer.isWord()) {
+                String word = tokenizer.text();
+                Boolean startsTypeDeclaration = followsRecord
+                        || (!followsDot && TYPE_DECLARATION_KEYWORDS.contains(word));
+                if (startsTypeDeclaration) {
+                    if (callableBodyStart >= 0) {
+                        callableDeclaresType = true;
+                    } else if (scopes.peek() == Scope.TYPE_BODY) {
+                        declaresType = true;
+                    }
+                }
+                previousWord = word;
+                followsRecord = !followsDot && word.equals(RECORD_KEYWORD);
+                followsDot = false;
+                continue;
+            }
+
+            // 記号
+            Boolean atMemberLevel = scopes.peek() == Scope.TYPE_BODY && parenthesisDepth == 0;
+            if (tokenizer.isSymbol('{')) {
+                if (scopes.isEmpty() || (atMemberLevel && declaresType)) {
+                    scopes.push(Scope.TYPE_BODY);
+                } else if (atMemberLevel && !hasAssignment && !"default".equals(previousWord)) {
+                    scopes.push(Scope.CALLABLE_BODY);
+                    callableBodyStart = tokenizer.tokenStart();
+                    callableDeclaresType = false;
+                } else {
+                    scopes.push(Scope.BLOCK);
+                }
+                if (scopes.peek() != Scope.BLOCK) {
+                    declaresType = false;
+                    hasAssignment = false;
+                }
+            } else if (tokenizer.isSymbol('}')) {
+                if (scopes.isEmpty()) {
+                    return source;
+                }
+                Scope closedScope = scopes.pop();
+                if (closedScope == Scope.CALLABLE_BODY) {
+                    if (!callableDeclaresType) {
+                        blank(erasedSource, callableBodyStart + 1, tokenizer.tokenStart());
+                    }
+                    callableBodyStart = -1;
+                }
+                if (closedScope != Scope.BLOCK) {
+                    declaresType = false;
+                    hasAssignment = false;
+                    parenthesisDepth = 0;
+                }
+            } else if (scopes.peek() == Scope.TYPE_BODY) {
+                if (tokenizer.isSymbol('(')) {
+                    parenthesisDepth++;
+                } else if (tokenizer.isSymbol(')')) {
+                    parenthesisDepth--;
+                } else if (tokenizer.isSymbol('=') && atMemberLevel) {
+                    hasAssignment = true;
+                } else if (tokenizer.isSymbol(';') && atMemberLevel) {
+                    declaresType = false;
+                    hasAssignment = false;
+                }
+            }
+            previousWord = null;
+            followsRecord = false;
+            followsDot = tokenizer.isSymbol('.');
+        }
+
+        // 字句が不正な場合や、波括弧の対応が取れない場合は置き換えない
+        if (tokenizer.isMalformed() || !scopes.isEmpty()) {
+            return source;
+        }
+        return erasedSource.toString();
+    }
+
+    /**
+     * 範囲内の改行以外の文字を空白に置き換える。
+     * 
+     * @param erasedSource 置き換えるソースコード
+     * @param start        範囲の開始位置
+     * @param end          範囲の終了位置(この位置は含まない)
+     */
+    private static void blank(StringBuilder erasedSource, int start, int end) {
+        for (int index = start; index < end; index++) {
+            char aCharacter = erasedSource.charAt(index);
+            if (aCharacter != '\n' && aCharacter != '\r') {
+                erasedSource.setCharAt(index, ' ');
+            }
+        }
+        return;
+    }
+}
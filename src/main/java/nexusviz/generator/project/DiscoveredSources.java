@@ -0,0 +1,33 @@
+package nexusviz.generator.project;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * ソースファイルの探索結果を表すレコード。
+ * 
+ * @param sourcePaths      探索順に並んだ、解析対象のソースファイルのパス
+ * @param scannedFileCount 走査したファイルの数(除外したディレクトリの配下は含まない)
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record DiscoveredSources(List<Path> sourcePaths, Integer scannedFileCount) {
+    /**
+     * 解析対象として採用したソースファイルの数を応答する。
+     * 
+     * @return 採用したソースファイルの数
+     */
+    public Integer acceptedFileCount() {
+        return this.sourcePaths.size();
+    }
+
+    /**
+     * 走査したファイルと採用したソースファイルの数を標準出力に出力する。
+     */
+    public void printSummary() {
+        System.out.println("ソースファイルの探索: 走査 " + this.scannedFileCount + " 件, 採用 "
+                + acceptedFileCount() + " 件");
+        return;
+    }
+}
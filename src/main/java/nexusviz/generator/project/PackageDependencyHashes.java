@@ -0,0 +1,247 @@
+package nexusviz.generator.project;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import nexusviz.generator.cache.AnalysisCache;
+
+/**
+ * 型の索引のインポート宣言から作ったパッケージの依存グラフについて、パッケージごとに、
+ * そこから推移的に依存するすべてのパッケージのソースファイルの内容を要約したハッシュ値を求めるクラス。
+ * 依存グラフを強連結成分に分け、依存先の成分から順にハッシュ値を積み上げるため、パッケージと依存の数に比例する時間で求まる。
+ * インポートせずに完全修飾名で参照した型の依存は追跡しない。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+class PackageDependencyHashes extends Object {
+    /**
+     * 名前順に並んだ、プロジェクトのパッケージ名の配列を束縛する。
+     */
+    private final String[] packageNames;
+
+    /**
+     * パッケージ名と、packageNamesでの番号のマップを束縛する。
+     */
+    private final Map<String, Integer> packageIds;
+
+    /**
+     * トップレベルの型の完全修飾名と、それを宣言するパッケージ名のマップを束縛する。
+     */
+    private final Map<String, String> packagesByTypeName;
+
+    /**
+     * パッケージの番号ごとに、直接依存するパッケージの番号の配列を束縛する。
+     */
+    private final int[][] successors;
+
+    /**
+     * パッケージの番号ごとに、推移的に依存するパッケージを含めた内容のハッシュ値を束縛する。
+     */
+    private final String[] closureHashes;
+
+    /**
+     * 型の索引のソースファイルの概要から、パッケージごとのハッシュ値を求めるコンストラクタ。
+     * 
+     * @param sourceSummaries 探索順に並んだ、ソースファイルごとの概要
+     */
+    PackageDependencyHashes(List<SourceFileSummary> sourceSummaries) {
+        this.packagesByTypeName = new HashMap<>();
+        Map<String, List<SourceFileSummary>> summariesByPackage = new HashMap<>();
+        sourceSummaries.forEach(summary -> {
+            summariesByPackage.computeIfAbsent(summary.packageName(), packageName -> new ArrayList<>()).add(summary);
+            summary.fullyQualifiedTypeNames().forEach(
+                    typeName -> this.packagesByTypeName.putIfAbsent(typeName, summary.packageName()));
+        });
+        this.packageNames = summariesByPackage.keySet().stream().sorted().toArray(String[]::new);
+        this.packageIds = new HashMap<>();
+        for (int id = 0; id < this.packageNames.length; id++) {
+            this.packageIds.put(this.packageNames[id], id);
+        }
+
+        // パッケージごとの内容のハッシュ値と、直接依存するパッケージ
+        String[] packageHashes = new String[this.packageNames.length];
+        this.successors = new int[this.packageNames.length][];
+        for (int id = 0; id < this.packageNames.length; id++) {
+            StringBuilder contents = new StringBuilder();
+            BitSet dependedPackages = new BitSet(this.packageNames.length);
+            for (SourceFileSummary summary : summariesByPackage.get(this.packageNames[id])) {
+                contents.append(summary.filePath()).append('\0').append(summary.contentHash()).append('\n');
+                dependedPackagesOf(summary).forEach(
+                        packageName -> dependedPackages.set(this.packageIds.get(packageName)));
+            }
+            dependedPackages.clear(id);
+            packageHashes[id] = AnalysisCache.contentHash(contents.toString().getBytes(StandardCharsets.UTF_8));
+            this.successors[id] = dependedPackages.stream().toArray();
+        }
+        this.closureHashes = new String[this.packageNames.length];
+        new ComponentHasher(packageHashes).hashAll();
+        return;
+    }
+
+    /**
+     * ソースファイルが直接依存するパッケージごとに、推移的な依存を含めた内容のハッシュ値を応答する。
+     * ファイル自身のパッケージと、インポート宣言が参照するプロジェクトのパッケージを依存とみなす。
+     * 
+     * @param summary ソースファイルの概要
+     * @return パッケージ名とハッシュ値のマップ(パッケージ名の順)
+     */
+    Map<String, String> dependencyHashesOf(SourceFileSummary summary) {
+        Map<String, String> dependencyHashes = new LinkedHashMap<>();
+        dependedPackagesOf(summary).stream().sorted().forEach(packageName -> dependencyHashes.put(packageName,
+                this.closureHashes[this.packageIds.get(packageName)]));
+        return dependencyHashes;
+    }
+
+    /**
+     * ソースファイル自身のパッケージと、インポート宣言が参照するプロジェクトのパッケージを重複なく応答する。
+     * 
+     * @param summary ソースファイルの概要
+     * @return パッケージ名のリスト
+     */
+    private List<String> dependedPackagesOf(SourceFileSummary summary) {
+        List<String> packageNames = new ArrayList<>();
+        packageNames.add(summary.packageName());
+        summary.importNames().forEach(importName -> {
+            String name = importName.startsWith("static ") ? importName.substring("static ".length()) : importName;
+            if (name.endsWith(".*")) {
+                name = name.substring(0, name.length() - ".*".length());
+                if (this.packageIds.containsKey(name)) {
+                    packageNames.add(name);
+                    return;
+                }
+            }
+            // 型、入れ子の型、staticメンバのいずれかを指すため、索引にある型が見つかるまで末尾を取り除く
+            while (!name.isEmpty()) {
+                String packageName = this.packagesByTypeName.get(name);
+                if (packageName != null) {
+                    packageNames.add(packageName);
+                    return;
+                }
+                name = name.lastIndexOf('.') < 0 ? "" : name.substring(0, name.lastIndexOf('.'));
+            }
+        });
+        return packageNames.stream().distinct().toList();
+    }
+
+    /**
+     * 依存グラフの強連結成分をTarjanの方法で求め、成分が確定した順にハッシュ値を求めるクラス。
+     * 成分は依存先の成分より後に確定するため、成分のハッシュ値には依存先の成分のハッシュ値を含められる。
+     */
+    private class ComponentHasher extends Object {
+        /**
+         * パッケージの番号ごとの、そのパッケージだけの内容のハッシュ値を束縛する。
+         */
+        private final String[] packageHashes;
+
+        /**
+         * パッケージの番号ごとの、訪問した順番を束縛する。未訪問の場合は-1。
+         */
+        private final int[] visitOrders;
+
+        /**
+         * パッケージの番号ごとの、到達できる最も早い訪問の順番を束縛する。
+         */
+        private final int[] lowLinks;
+
+        /**
+         * 成分が確定していない訪問済みのパッケージの番号のスタックを束縛する。
+         */
+        private final Deque<Integer> stack;
+
+        /**
+         * スタックに積まれているパッケージを束縛する。
+         */
+        private final BitSet isOnStack;
+
+        /**
+         * 次に訪問するパッケージに割り当てる順番を束縛する。
+         */
+        private int nextVisitOrder;
+
+        /**
+         * フィールドを初期化するコンストラクタ。
+         * 
+         * @param packageHashes パッケージの番号ごとの、そのパッケージだけの内容のハッシュ値
+         */
+        private ComponentHasher(String[] packageHashes) {
+            this.packageHashes = packageHashes;
+            this.visitOrders = new int[packageHashes.length];
+            Arrays.fill(this.visitOrders, -1);
+            this.lowLinks = new int[packageHashes.length];
+            this.stack = new ArrayDeque<>();
+            this.isOnStack = new BitSet(packageHashes.length);
+            this.nextVisitOrder = 0;
+            return;
+        }
+
+        /**
+         * すべてのパッケージの、推移的な依存を含めたハッシュ値を求める。
+         */
+        private void hashAll() {
+            for (int id = 0; id < this.packageHashes.length; id++) {
+                if (this.visitOrders[id] < 0) {
+                    visit(id);
+                }
+            }
+            return;
+        }
+
+        /**
+         * パッケージを訪問し、それを根とする強連結成分が確定すれば、成分のハッシュ値を求める。
+         * 
+         * @param id パッケージの番号
+         */
+        private void visit(int id) {
+            this.visitOrders[id] = this.nextVisitOrder;
+            this.lowLinks[id] = this.nextVisitOrder;
+            this.nextVisitOrder++;
+            this.stack.push(id);
+            this.isOnStack.set(id);
+            for (int successor : PackageDependencyHashes.this.successors[id]) {
+                if (this.visitOrders[successor] < 0) {
+                    visit(successor);
+                    this.lowLinks[id] = Math.min(this.lowLinks[id], this.lowLinks[successor]);
+                } else if (this.isOnStack.get(successor)) {
+                    this.lowLinks[id] = Math.min(this.lowLinks[id], this.visitOrders[successor]);
+                }
+            }
+            if (this.lowLinks[id] != this.visitOrders[id]) {
+                return;
+            }
+
+            // 成分の各パッケージの内容と、依存先の成分のハッシュ値をまとめてハッシュ値にする
+            BitSet component = new BitSet(this.packageHashes.length);
+            int member;
+            do {
+                member = this.stack.pop();
+                this.isOnStack.clear(member);
+                component.set(member);
+            } while (member != id);
+            StringBuilder contents = new StringBuilder();
+            TreeSet<String> dependedHashes = new TreeSet<>();
+            component.stream().forEach(memberId -> {
+                contents.append(PackageDependencyHashes.this.packageNames[memberId]).append('\0')
+                        .append(this.packageHashes[memberId]).append('\n');
+                for (int successor : PackageDependencyHashes.this.successors[memberId]) {
+                    if (!component.get(successor)) {
+                        dependedHashes.add(PackageDependencyHashes.this.closureHashes[successor]);
+                    }
+                }
+            });
+            dependedHashes.forEach(hash -> contents.append(hash).append('\n'));
+            String closureHash = AnalysisCache.contentHash(contents.toString().getBytes(StandardCharsets.UTF_8));
+            component.stream().forEach(memberId -> PackageDependencyHashes.this.closureHashes[memberId] = closureHash);
+            return;
+        }
+    }
+}
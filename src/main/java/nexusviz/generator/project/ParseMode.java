@@ -0,0 +1,12 @@
+package nexusviz.generator.project;
+
+/**
+ * ソースファイルの構文解析の範囲を表す列挙型。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum ParseMode {
+    /** メソッドなどの本体を含めたすべて */ FULL,
+    /** 宣言のみ(ローカル型を宣言しない本体は空にする) */ DECLARATIONS_ONLY
+}
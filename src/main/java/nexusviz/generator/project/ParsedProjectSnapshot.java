@@ -0,0 +1,260 @@
+package nexusviz.generator.project;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import nexusviz.generator.event.AnalysisListener;
+import nexusviz.generator.util.JavaParserConfigurator;
+import nexusviz.generator.util.ParsingContext;
+import nexusviz.generator.util.TypeSolverSettings;
+
+/**
+ * プロジェクトのソースファイルを一度だけ構文解析した結果を保持するクラス。
+ * 構造解析と依存解析で共有し、二度目以降の解析ではファイルの読み込みと構文解析を省略する。
+ * 構築時には型の索引だけを作り、構文解析は解析器が要求したファイルについて初めて行う。
+ * 解析器は解析キャッシュにあるファイルを要求しないため、キャッシュにヒットしたファイルは構文解析されない。
+ * コンパイルユニットには構築時の構文解析のコンテキストが結び付いているため、
+ * ソースディレクトリかライブラリのディレクトリが変わった場合は作り直す必要がある。
+ * ソースファイルが追加・削除・変更された場合も古い構文解析の結果になるため、再利用する前にisUpToDateで確かめる。
+ * どの解析器も同じコンパイルユニットを使えるよう、常にメソッドなどの本体を含めたすべてを構文解析し、
+ * コンパイルユニットはスナップショットを手放すまで強参照で保持する。宣言のみの構文解析より時間とメモリを要するが、
+ * 解析器ごとに構文解析の範囲を切り替えて構文解析し直すことはなく、回収による暗黙の構文解析し直しも起こらない。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ParsedProjectSnapshot extends Object {
+    /**
+     * 構築時に作ったプロジェクトの型の索引を束縛する。
+     */
+    private final ProjectTypeIndex typeIndex;
+
+    /**
+     * これまでに構文解析したソースファイルのパスと、その構文解析の結果のマップを束縛する。
+     */
+    private final Map<Path, ParsedSource> parsedSources;
+
+    /**
+     * 構築に用いた構文解析のコンテキストを束縛する。
+     */
+    private final ParsingContext parsingContext;
+
+    /**
+     * ソースファイルの探索中にエラーが生じたかどうかを束縛する。
+     */
+    private final Boolean hasError;
+
+    /**
+     * フィールドを初期化するコンストラクタ。
+     * 
+     * @param parsingContext 構築に用いた構文解析のコンテキスト
+     * @param typeIndex      構築時に作ったプロジェクトの型の索引
+     * @param hasError       ソースファイルの探索中にエラーが生じたかどうか
+     */
+    private ParsedProjectSnapshot(ParsingContext parsingContext, ProjectTypeIndex typeIndex, Boolean hasError) {
+        this.parsingContext = parsingContext;
+        this.typeIndex = typeIndex;
+        this.parsedSources = new HashMap<>();
+        this.hasError = hasError;
+        return;
+    }
+
+    /**
+     * 構文解析のコンテキストを生成したうえでプロジェクトのソースファイルを既定の条件で探索し、
+     * スナップショットを生成して応答する。
+     * 
+     * @param sourceRootPath   ソースコードのルートパス
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param parallelism      字句の走査の並列度
+     * @return プロジェクトのスナップショット
+     */
+    public static ParsedProjectSnapshot build(Path sourceRootPath, Path jarDirectoryPath, Integer parallelism) {
+        return build(sourceRootPath, jarDirectoryPath, parallelism, new SourceDiscovery());
+    }
+
+    /**
+     * 構文解析のコンテキストを生成したうえでプロジェクトのソースファイルを探索・走査し、スナップショットを生成して応答する。
+     * 
+     * @param sourceRootPath   ソースコードのルートパス
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param parallelism      字句の走査の並列度
+     * @param sourceDiscovery  ソースファイルの探索の条件
+     * @return プロジェクトのスナップショット
+     */
+    public static ParsedProjectSnapshot build(Path sourceRootPath, Path jarDirectoryPath, Integer parallelism,
+            SourceDiscovery sourceDiscovery) {
+        return build(JavaParserConfigurator.createContext(sourceRootPath, jarDirectoryPath), parallelism,
+                sourceDiscovery);
+    }
+
+    /**
+     * 構文解析のコンテキストのソースディレクトリにあるソースファイルを探索・走査し、スナップショットを生成して応答する。
+     * 
+     * @param parsingContext  構文解析のコンテキスト
+     * @param parallelism     字句の走査の並列度
+     * @param sourceDiscovery ソースファイルの探索の条件
+     * @return プロジェクトのスナップショット
+     */
+    public static ParsedProjectSnapshot build(ParsingContext parsingContext, Integer parallelism,
+            SourceDiscovery sourceDiscovery) {
+        // ファイルの探索と字句の走査
+        Path sourceRootPath = parsingContext.sourceRootPath();
+        ProjectTypeIndex typeIndex;
+        try {
+            DiscoveredSources discoveredSources = sourceDiscovery.discover(sourceRootPath);
+            discoveredSources.printSummary();
+            typeIndex = ProjectTypeIndex.build(sourceRootPath, discoveredSources.sourcePaths(), parallelism);
+        } catch (IOException e) {
+            System.err.println("ファイル読み込み失敗: " + e.getMessage());
+            return build(ProjectTypeIndex.empty(sourceRootPath), parsingContext, true);
+        } catch (InterruptedException e) {
+            System.err.println("ソースファイルの走査が中断されました。");
+            Thread.currentThread().interrupt();
+            return build(ProjectTypeIndex.empty(sourceRootPath), parsingContext, true);
+        }
+        return build(typeIndex, parsingContext, false);
+    }
+
+    /**
+     * 構文解析のコンテキストを生成したうえで、構築済みの型の索引からスナップショットを生成して応答する。プロジェクトの選択時に作った索引を再利用する場合に用いる。
+     * 
+     * @param typeIndex        プロジェクトの型の索引
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @return プロジェクトのスナップショット
+     */
+    public static ParsedProjectSnapshot build(ProjectTypeIndex typeIndex, Path jarDirectoryPath) {
+        return build(typeIndex,
+                JavaParserConfigurator.createContext(typeIndex, jarDirectoryPath, TypeSolverSettings.DEFAULT),
+                false);
+    }
+
+    /**
+     * 構築済みの型の索引と構文解析のコンテキストから、スナップショットを生成して応答する。
+     * 既に型の解決の準備を終えたコンテキストを再利用する場合に用いる。
+     * 
+     * @param typeIndex      プロジェクトの型の索引
+     * @param parsingContext 構文解析のコンテキスト
+     * @return プロジェクトのスナップショット
+     */
+    public static ParsedProjectSnapshot build(ProjectTypeIndex typeIndex, ParsingContext parsingContext) {
+        return build(typeIndex, parsingContext, false);
+    }
+
+    /**
+     * 型の索引と構文解析のコンテキストから、まだ何も構文解析していないスナップショットを生成して応答する。
+     * 
+     * @param typeIndex      プロジェクトの型の索引
+     * @param parsingContext 構文解析のコンテキスト
+     * @param hasError       索引の構築中にエラーが生じたかどうか
+     * @return プロジェクトのスナップショット
+     */
+    private static ParsedProjectSnapshot build(ProjectTypeIndex typeIndex, ParsingContext parsingContext,
+            Boolean hasError) {
+        typeIndex.printSummary();
+        return new ParsedProjectSnapshot(parsingContext, typeIndex, hasError);
+    }
+
+    /**
+     * 引数のソースファイルの構文解析の結果を、一つずつ受け取り手へ渡す。
+     * 保持している結果をリストの順に先に渡し、まだ構文解析していないファイルは大きいファイルから並列に構文解析して、
+     * 終わった順に渡す。構文解析した結果は保持して以降の解析で共有する。受け取り手は渡される順に依存してはならない。
+     * コンパイルユニットはすべてを構文解析したものであり、どの構文解析の範囲を必要とする解析器にも渡せる。
+     * 
+     * @param sourcePaths 構文解析の結果を必要とするソースファイルのパスのリスト
+     * @param parallelism 構文解析の並列度
+     * @param listener    構文解析の開始と終了の通知の受け取り手
+     * @param consumer    構文解析の結果の受け取り手
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    public synchronized void forEachParsedSource(List<Path> sourcePaths, Integer parallelism,
+            AnalysisListener listener, Consumer<ParsedSource> consumer) throws InterruptedException {
+        List<Path> pathsToParse = new ArrayList<>();
+        sourcePaths.forEach(path -> {
+            ParsedSource parsedSource = this.parsedSources.get(path);
+            if (parsedSource == null) {
+                pathsToParse.add(path);
+                return;
+            }
+            consumer.accept(parsedSource);
+        });
+        ProjectSourceParser.parseAll(this.parsingContext, pathsToParse, parallelism, ParseMode.FULL,
+                this.typeIndex.fileSizes(), listener, parsedSource -> {
+                    this.parsedSources.put(parsedSource.filePath(), parsedSource);
+                    consumer.accept(parsedSource);
+                });
+        return;
+    }
+
+    /**
+     * 引数のソースディレクトリとライブラリのディレクトリ、TypeSolverの設定から構築されたスナップショットかどうかを応答する。
+     * 
+     * @param sourceRootPath   ソースコードのルートパス
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param settings         TypeSolverを構築する際の設定
+     * @return 同じディレクトリと設定から構築されていればtrue、そうでなければfalse
+     */
+    public Boolean isBuiltFrom(Path sourceRootPath, Path jarDirectoryPath, TypeSolverSettings settings) {
+        return this.parsingContext.isBuiltFrom(sourceRootPath, jarDirectoryPath, settings);
+    }
+
+    /**
+     * 構築した後にソースファイルの追加・削除・変更がなく、スナップショットを再利用できるかどうかを応答する。
+     * 構築時の型の索引と、探索し直したソースファイルのバイト数と最終更新時刻を比べる。
+     * 
+     * @param sourcePaths 探索順に並んだ、現在のソースファイルのパスのリスト
+     * @return ソースファイルが変わっていなければtrue
+     */
+    public Boolean isUpToDate(List<Path> sourcePaths) {
+        return !this.hasError && this.typeIndex.isUpToDate(sourcePaths);
+    }
+
+    /**
+     * フィールド変数 hasError を返す。
+     * 
+     * @return ソースファイルの探索中にエラーが生じたかどうか
+     */
+    public Boolean hasError() {
+        return this.hasError;
+    }
+
+    /**
+     * ライブラリのディレクトリのパスを応答する。
+     * 
+     * @return ライブラリのディレクトリのパス
+     */
+    public Path jarDirectoryPath() {
+        return this.parsingContext.jarDirectoryPath();
+    }
+
+    /**
+     * フィールド変数 parsingContext を返す。
+     * 
+     * @return 構築に用いた構文解析のコンテキスト
+     */
+    public ParsingContext parsingContext() {
+        return this.parsingContext;
+    }
+
+    /**
+     * ソースコードのルートパスを応答する。
+     * 
+     * @return ソースコードのルートパス
+     */
+    public Path sourceRootPath() {
+        return this.typeIndex.sourceRootPath();
+    }
+
+    /**
+     * フィールド変数 typeIndex を返す。
+     * 
+     * @return 構築時に作ったプロジェクトの型の索引
+     */
+    public ProjectTypeIndex typeIndex() {
+        return this.typeIndex;
+    }
+}
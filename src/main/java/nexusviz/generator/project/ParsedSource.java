@@ -0,0 +1,20 @@
+package nexusviz.generator.project;
+
+import java.nio.file.Path;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * ソースファイル一つ分の構文解析の結果を表すレコード。
+ * 
+ * @param filePath        ソースファイルのパス
+ * @param contentHash     ソースファイルの内容のハッシュ値(読み込みに失敗した場合はnull)
+ * @param compilationUnit コンパイルユニット(構文解析に失敗した場合はnull)
+ * @param hasSyntaxError  構文エラーで構文解析に失敗したかどうか(読み込みの失敗の場合はfalse)
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record ParsedSource(Path filePath, String contentHash, CompilationUnit compilationUnit,
+        Boolean hasSyntaxError) {
+}
@@ -0,0 +1,288 @@
+package nexusviz.generator.project;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+
+import nexusviz.generator.cache.AnalysisCache;
+import nexusviz.generator.event.AnalysisListener;
+import nexusviz.generator.util.ParsingContext;
+
+/**
+ * プロジェクトのソースファイルの構文解析を行うユーティリティクラス。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ProjectSourceParser extends Object {
+    /**
+     * 並列構文解析時に、ワーカ一つあたりに先行して読み込みを始めておくファイルの数を束縛する。
+     * 読み込んだ内容と未処理の構文解析結果は、この数とワーカの数の積までしか保持しない。
+     */
+    private static final Integer PREFETCH_WINDOW_PER_WORKER = 4;
+
+    /**
+     * インスタンス化を防止するためのコンストラクタ。
+     */
+    private ProjectSourceParser() {
+    }
+
+    /**
+     * ソースファイルを構文解析し、その結果を受け取り手へ渡す。
+     * 並列度が2以上の場合は、並列度と同じ数のワーカで構文解析を行う。各ワーカは独立したJavaParserを持ち、
+     * 未処理の構文解析結果は並列度に比例する数までに抑える。受け取り手は常に呼び出し元のスレッドで呼び出される。
+     * 結果を渡す順は並列度によって異なるため、受け取り手は順序に依存してはならない。
+     * 
+     * @param context     構文解析のコンテキスト
+     * @param sourcePaths 構文解析するソースファイルのパスのリスト
+     * @param parallelism 構文解析の並列度(1以下の場合は呼び出し元のスレッドで逐次に構文解析を行う)
+     * @param parseMode   構文解析の範囲
+     * @param consumer    構文解析の結果の受け取り手
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    public static void parseAll(ParsingContext context, List<Path> sourcePaths, Integer parallelism,
+            ParseMode parseMode, Consumer<ParsedSource> consumer) throws InterruptedException {
+        parseAll(context, sourcePaths, parallelism, parseMode, Map.of(), consumer);
+        return;
+    }
+
+    /**
+     * ソースファイルを構文解析し、その結果を受け取り手へ渡す。
+     * 並列に構文解析する場合、作業の列全体を大きいファイルから並べて投入し、その順に結果を渡す。
+     * 最後に大きいファイルが残って他のワーカが待たされることを避けられる。逐次の場合は引数のリストの順に渡す。
+     * 
+     * @param context     構文解析のコンテキスト
+     * @param sourcePaths 構文解析するソースファイルのパスのリスト
+     * @param parallelism 構文解析の並列度(1以下の場合は呼び出し元のスレッドで逐次に構文解析を行う)
+     * @param parseMode   構文解析の範囲
+     * @param fileSizes   ソースファイルのパスとバイト数のマップ(含まれないファイルは最後に、引数の順に投入する)
+     * @param consumer    構文解析の結果の受け取り手
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    public static void parseAll(ParsingContext context, List<Path> sourcePaths, Integer parallelism,
+            ParseMode parseMode, Map<Path, Long> fileSizes, Consumer<ParsedSource> consumer)
+            throws InterruptedException {
+        parseAll(context, sourcePaths, parallelism, parseMode, fileSizes, new AnalysisListener() {
+        }, consumer);
+        return;
+    }
+
+    /**
+     * ソースファイルを構文解析し、その結果を受け取り手へ渡す。並列の場合は大きいファイルから投入した順に、
+     * 逐次の場合は引数のリストの順に渡す。
+     * 各ファイルの構文解析の開始と終了を、構文解析を行うスレッドから通知の受け取り手へ通知する。
+     * 
+     * @param context     構文解析のコンテキスト
+     * @param sourcePaths 構文解析するソースファイルのパスのリスト
+     * @param parallelism 構文解析の並列度(1以下の場合は呼び出し元のスレッドで逐次に構文解析を行う)
+     * @param parseMode   構文解析の範囲
+     * @param fileSizes   ソースファイルのパスとバイト数のマップ(含まれないファイルは最後に、引数の順に投入する)
+     * @param listener    構文解析の開始と終了の通知の受け取り手
+     * @param consumer    構文解析の結果の受け取り手
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    public static void parseAll(ParsingContext context, List<Path> sourcePaths, Integer parallelism,
+            ParseMode parseMode, Map<Path, Long> fileSizes, AnalysisListener listener,
+            Consumer<ParsedSource> consumer) throws InterruptedException {
+        if (parallelism <= 1) {
+            parseSequentially(context, sourcePaths, parseMode, listener, consumer);
+        } else {
+            parseInParallel(context, sourcePaths, parallelism, parseMode, fileSizes, listener, consumer);
+        }
+        return;
+    }
+
+    /**
+     * 構文解析の結果を待ち受けて応答する。
+     * 
+     * @param path               ソースファイルのパス
+     * @param parsedSourceFuture 構文解析の結果
+     * @return ソースファイル一つ分の構文解析の結果
+     * @throws InterruptedException 待ち受け中に割り込まれた場合
+     */
+    private static ParsedSource awaitParsedSource(Path path, Future<ParsedSource> parsedSourceFuture)
+            throws InterruptedException {
+        try {
+            return parsedSourceFuture.get();
+        } catch (ExecutionException e) {
+            return new ParsedSource(path, null, null, false);
+        }
+    }
+
+    /**
+     * 並列度と同じ数のワーカでソースファイルを構文解析する。各ワーカはコンテキストから独立したJavaParserを生成する。
+     * ファイルの読み込みは仮想スレッドで先行して行い、読み込みを終えたファイルから構文解析のワーカへ渡す。
+     * これにより、読み込みの待ち時間の間もワーカは他のファイルを構文解析できる。
+     * 結果は投入した順、すなわち大きいファイルから受け取り手へ渡す。
+     * 
+     * @param context     構文解析のコンテキスト
+     * @param sourcePaths 構文解析するソースファイルのパスのリスト
+     * @param parallelism 構文解析の並列度
+     * @param parseMode   構文解析の範囲
+     * @param fileSizes   ソースファイルのパスとバイト数のマップ
+     * @param listener    構文解析の開始と終了の通知の受け取り手
+     * @param consumer    構文解析の結果の受け取り手
+     * @throws InterruptedException 構文解析の待ち受け中に割り込まれた場合
+     */
+    private static void parseInParallel(ParsingContext context, List<Path> sourcePaths, Integer parallelism,
+            ParseMode parseMode, Map<Path, Long> fileSizes, AnalysisListener listener,
+            Consumer<ParsedSource> consumer) throws InterruptedException {
+        ThreadLocal<JavaParser> parsers = ThreadLocal.withInitial(() -> context.createParser());
+        ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        int window = parallelism * PREFETCH_WINDOW_PER_WORKER;
+
+        // 作業の列全体を、走査時に求めたバイト数で大きいファイルから並べる(同じ大きさのファイルは引数の順)
+        List<Path> queuedPaths = new ArrayList<>(sourcePaths);
+        queuedPaths.sort(Comparator.comparing((Path path) -> fileSizes.getOrDefault(path, 0L)).reversed());
+        int sourceCount = queuedPaths.size();
+        List<Future<ParsedSource>> pendingResults = new ArrayList<>(Collections.nCopies(sourceCount, null));
+
+        try {
+            int submittedCount = 0;
+            for (int nextIndex = 0; nextIndex < sourceCount; nextIndex++) {
+                // 先行して投入した読み込みが上限に満たなければ、列の順に続きを投入する
+                while (submittedCount < sourceCount && submittedCount - nextIndex < window) {
+                    Path path = queuedPaths.get(submittedCount);
+                    pendingResults.set(submittedCount, CompletableFuture.supplyAsync(() -> readSource(path), readers)
+                            .thenApplyAsync(contents -> parseContents(parsers.get(), path, contents, parseMode,
+                                    listener), executor));
+                    submittedCount++;
+                }
+
+                // 投入した順に結果を渡し、渡した結果は手放す
+                consumer.accept(awaitParsedSource(queuedPaths.get(nextIndex), pendingResults.get(nextIndex)));
+                pendingResults.set(nextIndex, null);
+            }
+        } finally {
+            readers.shutdownNow();
+            executor.shutdownNow();
+        }
+        return;
+    }
+
+    /**
+     * ソースファイルの内容を読み込んで応答する。
+     * 
+     * @param path ソースファイルのパス
+     * @return ソースファイルの内容
+     * @throws UncheckedIOException ファイルの読み込みに失敗した場合
+     */
+    private static byte[] readSource(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 呼び出し元のスレッドで、順にソースファイルを構文解析する。
+     * 
+     * @param context     構文解析のコンテキスト
+     * @param sourcePaths 構文解析するソースファイルのパスのリスト
+     * @param parseMode   構文解析の範囲
+     * @param listener    構文解析の開始と終了の通知の受け取り手
+     * @param consumer    構文解析の結果の受け取り手
+     */
+    private static void parseSequentially(ParsingContext context, List<Path> sourcePaths, ParseMode parseMode,
+            AnalysisListener listener, Consumer<ParsedSource> consumer) {
+        JavaParser parser = context.createParser();
+        sourcePaths.forEach(path -> {
+            ParsedSource parsedSource;
+            try {
+                parsedSource = parseContents(parser, path, Files.readAllBytes(path), parseMode, listener);
+            } catch (Exception e) {
+                parsedSource = new ParsedSource(path, null, null, false);
+            }
+            consumer.accept(parsedSource);
+        });
+        return;
+    }
+
+    /**
+     * 読み込んだソースファイルの内容を構文解析した結果を応答し、その開始と終了を通知の受け取り手へ通知する。
+     * 
+     * @param parser    構文解析に用いるJavaParser
+     * @param path      ソースファイルのパス
+     * @param contents  ソースファイルの内容
+     * @param parseMode 構文解析の範囲
+     * @param listener  構文解析の開始と終了の通知の受け取り手
+     * @return ソースファイル一つ分の構文解析の結果
+     */
+    private static ParsedSource parseContents(JavaParser parser, Path path, byte[] contents, ParseMode parseMode,
+            AnalysisListener listener) {
+        listener.parseStarted(path);
+        Long startTime = System.nanoTime();
+        ParsedSource parsedSource = null;
+        try {
+            parsedSource = parseContents(parser, path, contents, parseMode);
+            return parsedSource;
+        } finally {
+            listener.parseFinished(path, Duration.ofNanos(System.nanoTime() - startTime),
+                    parsedSource != null && parsedSource.compilationUnit() != null);
+        }
+    }
+
+    /**
+     * ソースファイルを読み込んで内容のハッシュ値を求め、構文解析した結果を応答する。
+     * 宣言のみを構文解析する場合、本体の中身を空白に置き換えたソースコードを構文解析し、
+     * それに失敗した場合は元のソースコードを構文解析し直す。構文エラーの判定は常に元のソースコードで行う。
+     * 
+     * @param parser    構文解析に用いるJavaParser
+     * @param path      ソースファイルのパス
+     * @param parseMode 構文解析の範囲
+     * @return ソースファイル一つ分の構文解析の結果
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    static ParsedSource parseSource(JavaParser parser, Path path, ParseMode parseMode) throws IOException {
+        return parseContents(parser, path, Files.readAllBytes(path), parseMode);
+    }
+
+    /**
+     * 読み込んだソースファイルの内容のハッシュ値を求め、構文解析した結果を応答する。
+     * 
+     * @param parser    構文解析に用いるJavaParser
+     * @param path      ソースファイルのパス
+     * @param contents  ソースファイルの内容
+     * @param parseMode 構文解析の範囲
+     * @return ソースファイル一つ分の構文解析の結果
+     */
+    private static ParsedSource parseContents(JavaParser parser, Path path, byte[] contents, ParseMode parseMode) {
+        String contentHash = AnalysisCache.contentHash(contents);
+        Charset encoding = parser.getParserConfiguration().getCharacterEncoding();
+        ParseResult<CompilationUnit> parseResult = null;
+        if (parseMode == ParseMode.DECLARATIONS_ONLY) {
+            parseResult = parser.parse(CallableBodyEraser.erase(new String(contents, encoding)));
+        }
+        if (parseResult == null || !parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
+            parseResult = parser.parse(new ByteArrayInputStream(contents), encoding);
+        }
+        if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
+            return new ParsedSource(path, contentHash, null, true);
+        }
+
+        CompilationUnit aCompilationUnit = parseResult.getResult().get();
+        aCompilationUnit.setStorage(path, encoding);
+        return new ParsedSource(path, contentHash, aCompilationUnit, false);
+    }
+}
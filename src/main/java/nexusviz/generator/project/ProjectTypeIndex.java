@@ -0,0 +1,321 @@
+package nexusviz.generator.project;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import nexusviz.generator.cache.AnalysisCache;
+
+/**
+ * 構文解析の前に、ソースファイルを字句単位で走査して作るプロジェクトの型の索引。
+ * パッケージ名・インポート宣言・トップレベルの型名だけを取り出すため、構文解析よりはるかに速く構築できる。
+ * 構文解析を省略できるファイルの判定、構文解析の順序の決定、型名からソースファイルを引く検索に用いる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ProjectTypeIndex extends Object {
+    /**
+     * 型宣言を表すキーワードを束縛する。
+     */
+    private static final Set<String> TYPE_DECLARATION_KEYWORDS = Set.of("class", "interface", "enum");
+
+    /**
+     * ソースコードのルートパスを束縛する。
+     */
+    private final Path sourceRootPath;
+
+    /**
+     * 探索順に並んだ、ソースファイルごとの概要を束縛する。
+     */
+    private final List<SourceFileSummary> sourceSummaries;
+
+    /**
+     * トップレベルの型の完全修飾名と、それを宣言するソースファイルのパスのマップを束縛する。
+     */
+    private final Map<String, Path> sourcePathsByTypeName;
+
+    /**
+     * ソースファイルのパスとバイト数のマップを束縛する。
+     */
+    private final Map<Path, Long> fileSizes;
+
+    /**
+     * パッケージごとの、推移的な依存を含めた内容のハッシュ値を束縛する。最初に必要になった時点で求める。
+     */
+    private PackageDependencyHashes packageDependencyHashes;
+
+    /**
+     * フィールドを初期化するコンストラクタ。
+     * 
+     * @param sourceRootPath  ソースコードのルートパス
+     * @param sourceSummaries 探索順に並んだ、ソースファイルごとの概要
+     */
+    private ProjectTypeIndex(Path sourceRootPath, List<SourceFileSummary> sourceSummaries) {
+        this.sourceRootPath = sourceRootPath;
+        this.sourceSummaries = Collections.unmodifiableList(sourceSummaries);
+        this.sourcePathsByTypeName = new LinkedHashMap<>();
+        this.fileSizes = new LinkedHashMap<>();
+        sourceSummaries.forEach(summary -> {
+            summary.fullyQualifiedTypeNames().forEach(
+                    typeName -> this.sourcePathsByTypeName.putIfAbsent(typeName, summary.filePath()));
+            this.fileSizes.put(summary.filePath(), summary.fileSize());
+        });
+        this.packageDependencyHashes = null;
+        return;
+    }
+
+    /**
+     * ソースファイルを並列に走査し、型の索引を構築して応答する。
+     * 
+     * @param sourceRootPath ソースコードのルートパス
+     * @param sourcePaths    探索順に並んだ、ソースファイルのパスのリスト
+     * @param parallelism    走査の並列度(1以下の場合は呼び出し元のスレッドで逐次に走査する)
+     * @return 型の索引
+     * @throws InterruptedException 走査の待ち受け中に割り込まれた場合
+     */
+    public static ProjectTypeIndex build(Path sourceRootPath, List<Path> sourcePaths, Integer parallelism)
+            throws InterruptedException {
+        List<SourceFileSummary> sourceSummaries;
+        if (parallelism <= 1) {
+            sourceSummaries = sourcePaths.stream().map(path -> scanSource(path)).toList();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                sourceSummaries = pool.submit(
+                        () -> sourcePaths.parallelStream().map(path -> scanSource(path)).toList()).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("ソースファイルの走査に失敗しました。", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return new ProjectTypeIndex(sourceRootPath, sourceSummaries);
+    }
+
+    /**
+     * ソースファイルを一つも含まない、空の型の索引を応答する。
+     * 
+     * @param sourceRootPath ソースコードのルートパス
+     * @return 空の型の索引
+     */
+    public static ProjectTypeIndex empty(Path sourceRootPath) {
+        return new ProjectTypeIndex(sourceRootPath, List.of());
+    }
+
+    /**
+     * ソースファイルを字句単位で走査し、パッケージ名・インポート宣言・トップレベルの型名を取り出して応答する。
+     * 読み込みに失敗した場合や、字句が不正な場合は、走査できなかったものとして応答する。
+     * 
+     * @param filePath ソースファイルのパス
+     * @return ソースファイルの概要
+     */
+    public static SourceFileSummary scanSource(Path filePath) {
+        // 読み込みの最中に更新された場合も次回の比較で検出できるよう、最終更新時刻は読み込む前に取得する
+        Long lastModified;
+        byte[] contents;
+        try {
+            lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            contents = Files.readAllBytes(filePath);
+        } catch (IOException e) {
+            return new SourceFileSummary(filePath, 0L, -1L, null, "", List.of(), List.of(), false);
+        }
+
+        String packageName = "";
+        List<String> importNames = new ArrayList<>();
+        List<String> topLevelTypeNames = new ArrayList<>();
+        int braceDepth = 0;
+        Boolean followsDot = false;
+        Boolean expectsTypeName = false;
+        SourceTokenizer tokenizer = new SourceTokenizer(new String(contents, StandardCharsets.UTF_8));
+        while (tokenizer.next() && braceDepth >= 0) {
+            // 型の本体の中は波括弧の対応だけを追う
+            if (braceDepth > 0 || !tokenizer.isWord()) {
+                if (tokenizer.isSymbol('{')) {
+                    braceDepth++;
+                } else if (tokenizer.isSymbol('}')) {
+                    braceDepth--;
+                }
+                followsDot = tokenizer.isSymbol('.');
+                expectsTypeName = false;
+                continue;
+            }
+
+            // トップレベルの宣言
+            String word = tokenizer.text();
+            if (expectsTypeName) {
+                topLevelTypeNames.add(word);
+                expectsTypeName = false;
+            } else if (!followsDot && word.equals("package")) {
+                packageName = readQualifiedName(tokenizer);
+            } else if (!followsDot && word.equals("import")) {
+                importNames.add(readQualifiedName(tokenizer));
+            } else {
+                expectsTypeName = !followsDot && (TYPE_DECLARATION_KEYWORDS.contains(word) || word.equals("record"));
+            }
+            followsDot = false;
+        }
+
+        Boolean isScanned = !tokenizer.isMalformed() && braceDepth == 0;
+        return new SourceFileSummary(filePath, (long) contents.length, lastModified,
+                AnalysisCache.contentHash(contents), packageName, List.copyOf(importNames),
+                List.copyOf(topLevelTypeNames), isScanned);
+    }
+
+    /**
+     * 構文解析が必要なソースファイルの概要を、探索順に応答する。
+     * 
+     * @return 構文解析が必要なソースファイルの概要のリスト
+     */
+    public List<SourceFileSummary> sourceSummariesToParse() {
+        return this.sourceSummaries.stream().filter(summary -> summary.requiresParsing()).toList();
+    }
+
+    /**
+     * トップレベルの型の完全修飾名を、探索順に応答する。
+     * 
+     * @return 型の完全修飾名のリスト
+     */
+    public List<String> typeNames() {
+        return List.copyOf(this.sourcePathsByTypeName.keySet());
+    }
+
+    /**
+     * トップレベルの型を宣言しているソースファイルのパスを応答する。
+     * 
+     * @param fullyQualifiedTypeName 型の完全修飾名
+     * @return ソースファイルのパス(索引にない場合は空)
+     */
+    public Optional<Path> sourcePathOf(String fullyQualifiedTypeName) {
+        return Optional.ofNullable(this.sourcePathsByTypeName.get(fullyQualifiedTypeName));
+    }
+
+    /**
+     * ソースファイルのパッケージ宣言から求めた、ソースのルートディレクトリを探索順に重複なく応答する。
+     * 「src/main/java」のようなルートが複数あるプロジェクトでは、モジュールごとのルートがすべて含まれる。
+     * 
+     * @return ソースのルートディレクトリのリスト
+     */
+    public List<Path> sourceRoots() {
+        return this.sourceSummaries.stream().map(summary -> summary.sourceRoot()).flatMap(Optional::stream)
+                .distinct().toList();
+    }
+
+    /**
+     * 走査したすべてのソースファイルのパスと内容のハッシュ値から求めた、プロジェクトのソースコードの指紋を応答する。
+     * ファイルの追加・削除・変更があれば異なる値になるため、構文解析やシンボル解決の結果を再利用してよいかの判定に用いる。
+     * 
+     * @return ソースコードの指紋
+     */
+    public String fingerprint() {
+        StringBuilder contents = new StringBuilder();
+        this.sourceSummaries.forEach(summary -> contents.append(summary.filePath()).append('\0')
+                .append(summary.contentHash()).append('\n'));
+        return AnalysisCache.contentHash(contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ソースファイルの解析結果が依存するパッケージごとに、そのパッケージから推移的に依存するパッケージまで含めた
+     * ソースファイルの内容のハッシュ値を応答する。ファイル自身のパッケージと、インポート宣言が参照する
+     * プロジェクトのパッケージを依存とみなすため、いずれかのハッシュ値が変わらない限り、ファイル単位の解析結果は再利用できる。
+     * 
+     * @param summary ソースファイルの概要
+     * @return パッケージ名とハッシュ値のマップ(パッケージ名の順)
+     */
+    public synchronized Map<String, String> dependencyHashesOf(SourceFileSummary summary) {
+        if (this.packageDependencyHashes == null) {
+            this.packageDependencyHashes = new PackageDependencyHashes(this.sourceSummaries);
+        }
+        return this.packageDependencyHashes.dependencyHashesOf(summary);
+    }
+
+    /**
+     * 探索し直したソースファイルのパスのリストが索引と同じで、各ファイルのバイト数と最終更新時刻も索引の構築時と
+     * 同じかどうかを応答する。ファイルの内容は読まないため、索引を作り直すよりはるかに速く判定できる。
+     * 
+     * @param sourcePaths 探索順に並んだ、現在のソースファイルのパスのリスト
+     * @return ファイルの追加・削除・変更がなければtrue
+     */
+    public Boolean isUpToDate(List<Path> sourcePaths) {
+        if (sourcePaths.size() != this.sourceSummaries.size()) {
+            return false;
+        }
+        for (int index = 0; index < sourcePaths.size(); index++) {
+            SourceFileSummary summary = this.sourceSummaries.get(index);
+            if (!summary.filePath().equals(sourcePaths.get(index)) || summary.contentHash() == null) {
+                return false;
+            }
+            try {
+                if (Files.size(summary.filePath()) != summary.fileSize()
+                        || Files.getLastModifiedTime(summary.filePath()).toMillis() != summary.lastModified()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 型の数と、構文解析の対象とするソースファイルの数を標準出力に出力する。
+     */
+    public void printSummary() {
+        Integer parsedFileCount = sourceSummariesToParse().size();
+        System.out.println("型の索引: 型 " + this.sourcePathsByTypeName.size() + " 件, 構文解析の対象 "
+                + parsedFileCount + " 件, 省略 " + (this.sourceSummaries.size() - parsedFileCount) + " 件");
+        return;
+    }
+
+    /**
+     * フィールド変数 fileSizes を返す。
+     * 
+     * @return ソースファイルのパスとバイト数のマップ
+     */
+    public Map<Path, Long> fileSizes() {
+        return Collections.unmodifiableMap(this.fileSizes);
+    }
+
+    /**
+     * フィールド変数 sourceRootPath を返す。
+     * 
+     * @return ソースコードのルートパス
+     */
+    public Path sourceRootPath() {
+        return this.sourceRootPath;
+    }
+
+    /**
+     * フィールド変数 sourceSummaries を返す。
+     * 
+     * @return 探索順に並んだ、ソースファイルごとの概要
+     */
+    public List<SourceFileSummary> sourceSummaries() {
+        return this.sourceSummaries;
+    }
+
+    /**
+     * セミコロンまでの字句を連結し、パッケージ宣言やインポート宣言の名前として応答する。
+     * 
+     * @param tokenizer 宣言のキーワードの直後にある字句の走査
+     * @return 宣言の名前
+     */
+    private static String readQualifiedName(SourceTokenizer tokenizer) {
+        StringBuilder qualifiedName = new StringBuilder();
+        while (tokenizer.next() && !tokenizer.isSymbol(';')) {
+            String text = tokenizer.text();
+            qualifiedName.append(qualifiedName.isEmpty() && text.equals("static") ? "static " : text);
+        }
+        return qualifiedName.toString();
+    }
+}
@@ -0,0 +1,388 @@
+package nexusviz.generator.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ソースコードのルートディレクトリ以下から、解析対象のソースファイルを探索するクラス。
+ * 取り込み・除外のグロブと除外するディレクトリ名で探索範囲を絞り込み、兄弟ディレクトリは並列に走査する。
+ * ビルドの出力先のディレクトリ名は、モジュールのルートの直下にあるか、ソースのルートの外にある場合だけ除外する。
+ * 探索結果は、並列度によらずFiles.walkと同じ深さ優先の順に並ぶ。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class SourceDiscovery extends Object {
+    /**
+     * 既定で、どの深さにあっても除外するディレクトリ名を束縛する。
+     */
+    public static final Set<String> DEFAULT_EXCLUDED_DIRECTORY_NAMES = Set.of(
+            ".git", ".svn", ".hg", ".idea", ".gradle", "node_modules");
+
+    /**
+     * 既定のビルドの出力先のディレクトリ名を束縛する。
+     * 同じ名前のパッケージと区別するため、モジュールのルートの直下にあるか、ソースのルートの外にある場合だけ除外する。
+     */
+    public static final Set<String> DEFAULT_BUILD_OUTPUT_DIRECTORY_NAMES = Set.of("target", "build", "out");
+
+    /**
+     * モジュールのルートとみなすディレクトリに置かれるビルドファイルの名前を束縛する。
+     */
+    public static final Set<String> MODULE_BUILD_FILE_NAMES = Set.of(
+            "pom.xml", "build.gradle", "build.gradle.kts");
+
+    /**
+     * ソースのルートとみなすディレクトリ名を束縛する。src/main/javaのような標準の配置と、srcだけの配置を検出する。
+     */
+    public static final Set<String> SOURCE_ROOT_DIRECTORY_NAMES = Set.of("src", "java");
+
+    /**
+     * 既定の取り込みのグロブを束縛する。
+     */
+    public static final String DEFAULT_INCLUDE_GLOB = "**.java";
+
+    /**
+     * 探索の並列度の既定値を束縛する。
+     */
+    public static final Integer DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * ソースファイルとみなす取り込みのグロブ(ルートからの相対パスに適用)を束縛する。
+     */
+    private final List<String> includeGlobs;
+
+    /**
+     * 探索から除外するグロブ(ルートからの相対パスに適用)を束縛する。
+     */
+    private final List<String> excludeGlobs;
+
+    /**
+     * 探索から除外するディレクトリ名を束縛する。
+     */
+    private final Set<String> excludedDirectoryNames;
+
+    /**
+     * モジュールのルートの直下にあるか、ソースのルートの外にある場合に除外するビルドの出力先のディレクトリ名を束縛する。
+     */
+    private final Set<String> buildOutputDirectoryNames;
+
+    /**
+     * ディレクトリの走査の並列度を束縛する。1以下の場合は呼び出し元のスレッドで逐次に走査する。
+     */
+    private Integer parallelism;
+
+    /**
+     * 既定の取り込みのグロブと除外するディレクトリ名で初期化するコンストラクタ。
+     */
+    public SourceDiscovery() {
+        this.includeGlobs = new ArrayList<>(List.of(DEFAULT_INCLUDE_GLOB));
+        this.excludeGlobs = new ArrayList<>();
+        this.excludedDirectoryNames = new LinkedHashSet<>(DEFAULT_EXCLUDED_DIRECTORY_NAMES);
+        this.buildOutputDirectoryNames = new LinkedHashSet<>(DEFAULT_BUILD_OUTPUT_DIRECTORY_NAMES);
+        this.parallelism = DEFAULT_PARALLELISM;
+        return;
+    }
+
+    /**
+     * 取り込みのグロブを設定する。既定の取り込みのグロブは置き換えられる。
+     * 
+     * @param includeGlobs 取り込みのグロブ(ルートからの相対パスに適用)
+     * @return このインスタンス
+     */
+    public SourceDiscovery includeGlobs(List<String> includeGlobs) {
+        this.includeGlobs.clear();
+        this.includeGlobs.addAll(includeGlobs);
+        return this;
+    }
+
+    /**
+     * 除外のグロブを追加する。ディレクトリに一致した場合は、その配下を走査しない。
+     * 
+     * @param excludeGlob 除外のグロブ(ルートからの相対パスに適用)
+     * @return このインスタンス
+     */
+    public SourceDiscovery excludeGlob(String excludeGlob) {
+        this.excludeGlobs.add(excludeGlob);
+        return this;
+    }
+
+    /**
+     * 除外するディレクトリ名を設定する。既定の除外するディレクトリ名は置き換えられる。
+     * 
+     * @param excludedDirectoryNames 除外するディレクトリ名
+     * @return このインスタンス
+     */
+    public SourceDiscovery excludedDirectoryNames(Set<String> excludedDirectoryNames) {
+        this.excludedDirectoryNames.clear();
+        this.excludedDirectoryNames.addAll(excludedDirectoryNames);
+        return this;
+    }
+
+    /**
+     * ビルドの出力先のディレクトリ名を設定する。既定のビルドの出力先のディレクトリ名は置き換えられる。
+     * 
+     * @param buildOutputDirectoryNames モジュールのルートの直下にあるか、ソースのルートの外にある場合に除外するディレクトリ名
+     * @return このインスタンス
+     */
+    public SourceDiscovery buildOutputDirectoryNames(Set<String> buildOutputDirectoryNames) {
+        this.buildOutputDirectoryNames.clear();
+        this.buildOutputDirectoryNames.addAll(buildOutputDirectoryNames);
+        return this;
+    }
+
+    /**
+     * ディレクトリの走査の並列度を設定する。
+     * 
+     * @param parallelism ディレクトリの走査の並列度(1以下の場合は逐次に走査する)
+     * @return このインスタンス
+     */
+    public SourceDiscovery parallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * ソースコードのルートディレクトリ以下を探索し、解析対象のソースファイルと走査したファイルの数を応答する。
+     * 
+     * @param sourceRootPath ソースコードのルートパス
+     * @return 探索結果
+     * @throws IOException ディレクトリの探索に失敗した場合
+     */
+    public DiscoveredSources discover(Path sourceRootPath) throws IOException {
+        Matchers matchers = new Matchers(sourceRootPath.getFileSystem(), this.includeGlobs, this.excludeGlobs,
+                Set.copyOf(this.excludedDirectoryNames), Set.copyOf(this.buildOutputDirectoryNames));
+        AtomicInteger scannedFileCount = new AtomicInteger();
+        List<Path> sourcePaths;
+
+        // ルートがファイルの場合はそのファイルだけを対象にする
+        if (!Files.isDirectory(sourceRootPath)) {
+            scannedFileCount.incrementAndGet();
+            sourcePaths = Files.isRegularFile(sourceRootPath) ? List.of(sourceRootPath) : List.of();
+            return new DiscoveredSources(sourcePaths, scannedFileCount.get());
+        }
+
+        DirectoryScan rootScan = new DirectoryScan(sourceRootPath, sourceRootPath,
+                isSourceRootDirectory(sourceRootPath), matchers, scannedFileCount);
+        try {
+            if (this.parallelism <= 1) {
+                sourcePaths = rootScan.compute();
+            } else {
+                ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+                try {
+                    sourcePaths = pool.invoke(rootScan);
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new DiscoveredSources(Collections.unmodifiableList(sourcePaths), scannedFileCount.get());
+    }
+
+    /**
+     * ディレクトリがソースのルートとみなす名前かどうかを応答する。
+     * 
+     * @param directoryPath ディレクトリのパス
+     * @return ソースのルートとみなす名前であればtrue
+     */
+    private static Boolean isSourceRootDirectory(Path directoryPath) {
+        Path directoryName = directoryPath.getFileName();
+        return directoryName != null && SOURCE_ROOT_DIRECTORY_NAMES.contains(directoryName.toString());
+    }
+
+    /**
+     * ディレクトリがビルドファイルを含むモジュールのルートかどうかを応答する。
+     * 
+     * @param directoryPath ディレクトリのパス
+     * @return モジュールのルートであればtrue
+     */
+    private static Boolean isModuleRoot(Path directoryPath) {
+        return MODULE_BUILD_FILE_NAMES.stream()
+                .anyMatch(buildFileName -> Files.isRegularFile(directoryPath.resolve(buildFileName)));
+    }
+
+    /**
+     * 探索に用いるグロブとディレクトリ名の照合をまとめたレコード。
+     * 
+     * @param includeMatchers        取り込みのグロブの照合器
+     * @param excludeMatchers        除外のグロブの照合器
+     * @param excludedDirectoryNames    除外するディレクトリ名
+     * @param buildOutputDirectoryNames ビルドの出力先のディレクトリ名
+     */
+    private record Matchers(List<PathMatcher> includeMatchers, List<PathMatcher> excludeMatchers,
+            Set<String> excludedDirectoryNames, Set<String> buildOutputDirectoryNames) {
+        /**
+         * グロブから照合器を生成するコンストラクタ。
+         * 
+         * @param fileSystem                照合器を生成するファイルシステム
+         * @param includeGlobs              取り込みのグロブ
+         * @param excludeGlobs              除外のグロブ
+         * @param excludedDirectoryNames    除外するディレクトリ名
+         * @param buildOutputDirectoryNames ビルドの出力先のディレクトリ名
+         */
+        private Matchers(FileSystem fileSystem, List<String> includeGlobs, List<String> excludeGlobs,
+                Set<String> excludedDirectoryNames, Set<String> buildOutputDirectoryNames) {
+            this(includeGlobs.stream().map(glob -> fileSystem.getPathMatcher("glob:" + glob)).toList(),
+                    excludeGlobs.stream().map(glob -> fileSystem.getPathMatcher("glob:" + glob)).toList(),
+                    excludedDirectoryNames, buildOutputDirectoryNames);
+        }
+
+        /**
+         * ディレクトリを走査の対象から除外するかどうかを応答する。
+         * ビルドの出力先のディレクトリ名は、親がモジュールのルートであるか、ソースのルートの外にある場合だけ除外する。
+         * 
+         * @param relativePath ルートからの相対パス
+         * @param parentPath   ディレクトリの親ディレクトリのパス
+         * @param inSourceRoot 親ディレクトリがソースのルートの中にある場合はtrue
+         * @return 除外する場合はtrue
+         */
+        private Boolean excludesDirectory(Path relativePath, Path parentPath, Boolean inSourceRoot) {
+            String directoryName = relativePath.getFileName().toString();
+            if (this.excludedDirectoryNames.contains(directoryName)) {
+                return true;
+            }
+            if (this.buildOutputDirectoryNames.contains(directoryName)
+                    && (!inSourceRoot || isModuleRoot(parentPath))) {
+                return true;
+            }
+            return this.excludeMatchers.stream().anyMatch(matcher -> matcher.matches(relativePath));
+        }
+
+        /**
+         * ファイルを解析対象のソースファイルとして取り込むかどうかを応答する。
+         * 
+         * @param relativePath ルートからの相対パス
+         * @return 取り込む場合はtrue
+         */
+        private Boolean acceptsFile(Path relativePath) {
+            return this.includeMatchers.stream().anyMatch(matcher -> matcher.matches(relativePath))
+                    && this.excludeMatchers.stream().noneMatch(matcher -> matcher.matches(relativePath));
+        }
+    }
+
+    /**
+     * ディレクトリ一つを走査し、サブディレクトリの走査を並列に分岐させるタスク。
+     * 各エントリの属性は一度だけ読み込み、結果はディレクトリの列挙順に連結する。
+     */
+    @SuppressWarnings("serial")
+    private static class DirectoryScan extends RecursiveTask<List<Path>> {
+        /**
+         * ソースコードのルートパスを束縛する。
+         */
+        private final Path sourceRootPath;
+
+        /**
+         * 走査するディレクトリのパスを束縛する。
+         */
+        private final Path directoryPath;
+
+        /**
+         * 走査するディレクトリがソースのルートの中にあるかどうかを束縛する。
+         */
+        private final Boolean inSourceRoot;
+
+        /**
+         * 探索に用いる照合器を束縛する。
+         */
+        private final Matchers matchers;
+
+        /**
+         * 走査したファイルの数を束縛する。
+         */
+        private final AtomicInteger scannedFileCount;
+
+        /**
+         * フィールドを初期化するコンストラクタ。
+         * 
+         * @param sourceRootPath   ソースコードのルートパス
+         * @param directoryPath    走査するディレクトリのパス
+         * @param inSourceRoot     走査するディレクトリがソースのルートの中にある場合はtrue
+         * @param matchers         探索に用いる照合器
+         * @param scannedFileCount 走査したファイルの数
+         */
+        private DirectoryScan(Path sourceRootPath, Path directoryPath, Boolean inSourceRoot, Matchers matchers,
+                AtomicInteger scannedFileCount) {
+            this.sourceRootPath = sourceRootPath;
+            this.directoryPath = directoryPath;
+            this.inSourceRoot = inSourceRoot;
+            this.matchers = matchers;
+            this.scannedFileCount = scannedFileCount;
+            return;
+        }
+
+        /**
+         * ディレクトリを走査し、配下の解析対象のソースファイルを列挙順に応答する。
+         * 
+         * @return 解析対象のソースファイルのパスのリスト
+         */
+        @Override
+        protected List<Path> compute() {
+            // エントリごとに、ファイルならそのパス、ディレクトリならその走査タスクを列挙順に並べる
+            List<Object> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directoryPath)) {
+                for (Path entry : stream) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    Path relativePath = this.sourceRootPath.relativize(entry);
+                    if (attributes.isDirectory()) {
+                        if (!this.matchers.excludesDirectory(relativePath, this.directoryPath, this.inSourceRoot)) {
+                            DirectoryScan subdirectoryScan = new DirectoryScan(this.sourceRootPath, entry,
+                                    this.inSourceRoot || isSourceRootDirectory(entry), this.matchers,
+                                    this.scannedFileCount);
+                            if (inForkJoinPool()) {
+                                subdirectoryScan.fork();
+                            }
+                            entries.add(subdirectoryScan);
+                        }
+                    } else {
+                        this.scannedFileCount.incrementAndGet();
+                        if (this.matchers.acceptsFile(relativePath) && isRegularFile(entry, attributes)) {
+                            entries.add(entry);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // サブディレクトリの結果を列挙順に連結する
+            List<Path> sourcePaths = new ArrayList<>();
+            for (Object entry : entries) {
+                if (entry instanceof DirectoryScan subdirectoryScan) {
+                    sourcePaths.addAll(inForkJoinPool() ? subdirectoryScan.join() : subdirectoryScan.compute());
+                } else {
+                    sourcePaths.add((Path) entry);
+                }
+            }
+            return sourcePaths;
+        }
+
+        /**
+         * エントリが通常のファイル(シンボリックリンクの場合はリンク先が通常のファイル)かどうかを応答する。
+         * 
+         * @param entry      エントリのパス
+         * @param attributes リンクをたどらずに読み込んだエントリの属性
+         * @return 通常のファイルであればtrue
+         */
+        private static Boolean isRegularFile(Path entry, BasicFileAttributes attributes) {
+            return attributes.isRegularFile() || (attributes.isSymbolicLink() && Files.isRegularFile(entry));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package nexusviz.generator.project;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 構文解析を行わずに字句の走査だけで得た、ソースファイル一つ分の概要を表すレコード。
+ * 
+ * @param filePath          ソースファイルのパス
+ * @param fileSize          ソースファイルのバイト数
+ * @param lastModified      読み込む前に取得した、ソースファイルの最終更新時刻(ミリ秒、取得に失敗した場合は-1)
+ * @param contentHash       ソースファイルの内容のハッシュ値(読み込みに失敗した場合はnull)
+ * @param packageName       パッケージ名(無名パッケージの場合は空文字列)
+ * @param importNames       インポート宣言の名前(staticインポートは「static 」を前置し、オンデマンドは「.*」で終わる)
+ * @param topLevelTypeNames トップレベルの型の単純名
+ * @param isScanned         字句の走査を最後まで行えたかどうか
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record SourceFileSummary(Path filePath, Long fileSize, Long lastModified, String contentHash,
+        String packageName, List<String> importNames, List<String> topLevelTypeNames, Boolean isScanned) {
+    /**
+     * ファイルを構文解析する必要があるかどうかを応答する。
+     * 型を宣言しないファイル(package-info.java や module-info.java など)は構文解析を省略できる。
+     * 走査できなかったファイルは、構文エラーなどを報告するために構文解析する。
+     * 
+     * @return 構文解析が必要であればtrue
+     */
+    public Boolean requiresParsing() {
+        return !this.isScanned || !this.topLevelTypeNames.isEmpty();
+    }
+
+    /**
+     * トップレベルの型の完全修飾名を応答する。
+     * 
+     * @return トップレベルの型の完全修飾名のリスト
+     */
+    public List<String> fullyQualifiedTypeNames() {
+        return this.topLevelTypeNames.stream()
+                .map(typeName -> this.packageName.isEmpty() ? typeName : this.packageName + "." + typeName)
+                .toList();
+    }
+
+    /**
+     * パッケージ宣言から、このファイルが属するソースのルートディレクトリを求めて応答する。
+     * ファイルのディレクトリの末尾がパッケージ名の各部分と一致する場合に、その部分を取り除いたディレクトリをルートとする。
+     * 
+     * @return ソースのルートディレクトリ(読み込みに失敗した場合や、ディレクトリがパッケージ名と一致しない場合は空)
+     */
+    public Optional<Path> sourceRoot() {
+        Path directory = this.filePath.toAbsolutePath().normalize().getParent();
+        if (this.contentHash == null || directory == null) {
+            return Optional.empty();
+        }
+        if (this.packageName.isEmpty()) {
+            return Optional.of(directory);
+        }
+
+        String[] packageSegments = this.packageName.split("\\.");
+        for (int index = packageSegments.length - 1; index >= 0; index--) {
+            if (directory == null || directory.getFileName() == null
+                    || !directory.getFileName().toString().equals(packageSegments[index])) {
+                return Optional.empty();
+            }
+            directory = directory.getParent();
+        }
+        return Optional.ofNullable(directory);
+    }
+}
@@ -0,0 +1,198 @@
+package nexusviz.generator.project;
+
+/**
+ * ソースコードを構文解析せずに字句へ分割するクラス。
+ * 空白とコメントを読み飛ばし、語(識別子・キーワード)、数値リテラル、文字列・文字リテラル、記号を順に取り出す。
+ * 前処理や事前走査に用いる軽量なものであり、Unicodeエスケープなどの細かな字句規則には対応しない。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+class SourceTokenizer extends Object {
+    /**
+     * 字句の種類を表す列挙型。
+     */
+    enum TokenKind {
+        /** 識別子・キーワード */ WORD,
+        /** 数値リテラル */ NUMBER,
+        /** 文字列リテラル・文字リテラル・テキストブロック */ LITERAL,
+        /** 一文字の記号 */ SYMBOL
+    }
+
+    /**
+     * 走査するソースコードを束縛する。
+     */
+    private final String source;
+
+    /**
+     * 次に走査する位置を束縛する。字句の数だけ更新するため、基本型で扱う。
+     */
+    private int index;
+
+    /**
+     * 現在の字句の開始位置を束縛する。
+     */
+    private int tokenStart;
+
+    /**
+     * 現在の字句の種類を束縛する。
+     */
+    private TokenKind tokenKind;
+
+    /**
+     * 閉じられていないコメントやリテラルがあったかどうかを束縛する。
+     */
+    private Boolean isMalformed;
+
+    /**
+     * ソースコードの先頭から走査するコンストラクタ。
+     * 
+     * @param source ソースコード
+     */
+    SourceTokenizer(String source) {
+        this.source = source;
+        this.index = 0;
+        this.tokenStart = 0;
+        this.tokenKind = null;
+        this.isMalformed = false;
+        return;
+    }
+
+    /**
+     * 次の字句へ進む。
+     * 
+     * @return 次の字句があればtrue、末尾に達したか字句が不正な場合はfalse
+     */
+    Boolean next() {
+        int length = this.source.length();
+
+        // 空白とコメントを読み飛ばす
+        while (this.index < length) {
+            char aCharacter = this.source.charAt(this.index);
+            if (Character.isWhitespace(aCharacter)) {
+                this.index++;
+            } else if (this.source.startsWith("//", this.index)) {
+                int lineEnd = this.source.indexOf('\n', this.index);
+                this.index = lineEnd < 0 ? length : lineEnd;
+            } else if (this.source.startsWith("/*", this.index)) {
+                int commentEnd = this.source.indexOf("*/", this.index + 2);
+                if (commentEnd < 0) {
+                    return malformed();
+                }
+                this.index = commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        if (this.index >= length) {
+            this.tokenKind = null;
+            return false;
+        }
+
+        this.tokenStart = this.index;
+        char aCharacter = this.source.charAt(this.index);
+        if (aCharacter == '"' || aCharacter == '\'') {
+            // 文字列リテラル・文字リテラル・テキストブロック
+            String delimiter = this.source.startsWith("\"\"\"", this.index) ? "\"\"\"" : String.valueOf(aCharacter);
+            this.index = skipLiteral(this.index + delimiter.length(), delimiter);
+            if (this.index < 0) {
+                return malformed();
+            }
+            this.tokenKind = TokenKind.LITERAL;
+        } else if (Character.isJavaIdentifierPart(aCharacter)) {
+            // 識別子・キーワード・数値リテラル
+            Boolean isNumber = Character.isDigit(aCharacter);
+            while (this.index < length && (Character.isJavaIdentifierPart(this.source.charAt(this.index))
+                    || (isNumber && this.source.charAt(this.index) == '.'))) {
+                this.index++;
+            }
+            this.tokenKind = isNumber ? TokenKind.NUMBER : TokenKind.WORD;
+        } else {
+            this.index++;
+            this.tokenKind = TokenKind.SYMBOL;
+        }
+        return true;
+    }
+
+    /**
+     * 現在の字句の文字列を応答する。
+     * 
+     * @return 字句の文字列
+     */
+    String text() {
+        return this.source.substring(this.tokenStart, this.index);
+    }
+
+    /**
+     * 現在の字句が、引数の記号かどうかを応答する。
+     * 
+     * @param aSymbol 記号
+     * @return 引数の記号であればtrue
+     */
+    Boolean isSymbol(char aSymbol) {
+        return this.tokenKind == TokenKind.SYMBOL && this.source.charAt(this.tokenStart) == aSymbol;
+    }
+
+    /**
+     * 現在の字句が語であるかどうかを応答する。
+     * 
+     * @return 語であればtrue
+     */
+    Boolean isWord() {
+        return this.tokenKind == TokenKind.WORD;
+    }
+
+    /**
+     * 現在の字句の開始位置を応答する。
+     * 
+     * @return 字句の開始位置
+     */
+    int tokenStart() {
+        return this.tokenStart;
+    }
+
+    /**
+     * フィールド変数 isMalformed を返す。
+     * 
+     * @return 閉じられていないコメントやリテラルがあった場合はtrue
+     */
+    Boolean isMalformed() {
+        return this.isMalformed;
+    }
+
+    /**
+     * 字句が不正であったことを記録し、走査を終える。
+     * 
+     * @return 常にfalse
+     */
+    private Boolean malformed() {
+        this.isMalformed = true;
+        this.tokenKind = null;
+        this.index = this.source.length();
+        return false;
+    }
+
+    /**
+     * 文字列リテラル・文字リテラル・テキストブロックを読み飛ばし、その直後の位置を応答する。
+     * 
+     * @param start     リテラルの中身の開始位置
+     * @param delimiter リテラルの終端の区切り
+     * @return リテラルの直後の位置(終端が見つからない場合は-1)
+     */
+    private int skipLiteral(int start, String delimiter) {
+        int length = this.source.length();
+        int position = start;
+        while (position < length) {
+            if (this.source.charAt(position) == '\\') {
+                position += 2;
+            } else if (this.source.startsWith(delimiter, position)) {
+                return position + delimiter.length();
+            } else if (this.source.charAt(position) == '\n' && delimiter.length() == 1) {
+                return -1;
+            } else {
+                position++;
+            }
+        }
+        return -1;
+    }
+}
@@ -4,19 +4,14 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.CompactConstructorDeclaration;
-import com.github.javaparser.ast.body.ConstructorDeclaration;
-import com.github.javaparser.ast.body.EnumConstantDeclaration;
-import com.github.javaparser.ast.body.EnumDeclaration;
-import com.github.javaparser.ast.body.FieldDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.body.Parameter;
-import com.github.javaparser.ast.body.RecordDeclaration;
-import com.github.javaparser.ast.body.TypeDeclaration;
-import com.github.javaparser.ast.expr.Expression;
-import com.github.javaparser.ast.type.Type;
-
+import nexusviz.generator.model.structure.AccessModifier;
+import nexusviz.generator.model.structure.ConstructorSummary;
+import nexusviz.generator.model.structure.EnumConstantSummary;
+import nexusviz.generator.model.structure.FieldSummary;
+import nexusviz.generator.model.structure.MethodSummary;
+import nexusviz.generator.model.structure.ParameterSummary;
+import nexusviz.generator.model.structure.TypeKind;
+import nexusviz.generator.model.structure.TypeSummary;
 import nexusviz.generator.util.PathGenerator;
 
 /**
@@ -41,15 +36,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 集約関係の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addAggregation(Type fromType, String fromTypePackageName, Type toType, String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+    public void addAggregation(String fromTypeName, String fromTypePackageName, String toTypeName,
+            String toTypePackageName) {
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" o-- ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -57,16 +53,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 双方向の関連の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addBidirectionalAssociation(Type fromType, String fromTypePackageName, Type toType,
+    public void addBidirectionalAssociation(String fromTypeName, String fromTypePackageName, String toTypeName,
             String toTypePackageName) {
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(" <-[#blue]-> ");
-        addTypeIdString(toTypePackageName, toType.asString());
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -74,12 +70,12 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * クラス定義の記述を始める。
      * 
-     * @param aClass              クラス情報
+     * @param aClass              クラスの要約
      * @param fullyQualifiedScope 完全修飾スコープ名
      * @param className           クラス名
      * @param isLocalType         ローカル型であるかどうか
      */
-    public void addClassDefinition(ClassOrInterfaceDeclaration aClass, String fullyQualifiedScope, String className,
+    public void addClassDefinition(TypeSummary aClass, String fullyQualifiedScope, String className,
             Boolean isLocalType) {
         if (aClass.isAbstract()) {
             this.puml.append("abstract \"");
@@ -100,43 +96,21 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * コンパクトコンストラクタの記述を行う。
      * 
-     * @param compactConstructor コンパクトコンストラクタ情報
-     * @param record             レコード宣言情報
+     * @param compactConstructor コンパクトコンストラクタの要約
+     * @param record             レコードの要約
      */
-    public void addCompactConstructor(CompactConstructorDeclaration compactConstructor, RecordDeclaration record) {
+    public void addCompactConstructor(ConstructorSummary compactConstructor, TypeSummary record) {
         this.puml.append("\t{method} ");
-        if (compactConstructor.isPrivate()) {
-            this.puml.append("-");
-        } else if (compactConstructor.isProtected()) {
-            this.puml.append("#");
-        } else if (compactConstructor.isPublic()) {
-            this.puml.append("+");
+        // アクセス修飾子が明示されていない場合は、レコードのアクセス修飾子に従う
+        if (compactConstructor.accessModifier() == AccessModifier.PACKAGE_PRIVATE) {
+            addAccessSymbol(record.accessModifier(), false);
         } else {
-            if (record.isPrivate()) {
-                this.puml.append("-");
-            } else if (record.isProtected()) {
-                this.puml.append("#");
-            } else if (record.isPublic()) {
-                this.puml.append("+");
-            } else {
-                this.puml.append("~");
-            }
+            addAccessSymbol(compactConstructor.accessModifier(), false);
         }
         this.puml.append(" ");
-        this.puml.append(compactConstructor.getNameAsString());
+        this.puml.append(compactConstructor.name());
         this.puml.append("(");
-
-        String delimiter = "";
-        for (Parameter parameter : record.getParameters()) {
-            this.puml.append(delimiter);
-            this.puml.append(parameter.getNameAsString());
-            this.puml.append(" : ");
-            this.puml.append(parameter.getTypeAsString().replaceAll(",", ", "));
-            if (parameter.isVarArgs()) {
-                this.puml.append("...");
-            }
-            delimiter = ", ";
-        }
+        addParameters(compactConstructor.parameters());
         this.puml.append(")").append(LINE_SEPARATOR);
         return;
     }
@@ -144,15 +118,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 合成関係の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addComposition(Type fromType, String fromTypePackageName, Type toType, String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+    public void addComposition(String fromTypeName, String fromTypePackageName, String toTypeName,
+            String toTypePackageName) {
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" *-- ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -160,35 +135,20 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * コンストラクタの記述を行う。
      * 
-     * @param constructor コンストラクタ情報
-     * @param type        型宣言情報
+     * @param constructor コンストラクタの要約
+     * @param type        型の要約
      */
-    public void addConstructor(ConstructorDeclaration constructor, TypeDeclaration<?> type) {
+    public void addConstructor(ConstructorSummary constructor, TypeSummary type) {
         this.puml.append("\t{method} ");
-        if (type.isEnumDeclaration() || constructor.isPrivate()) {
-            this.puml.append("-");
-        } else if (constructor.isProtected()) {
-            this.puml.append("#");
-        } else if (constructor.isPublic()) {
-            this.puml.append("+");
+        if (type.typeKind() == TypeKind.ENUM) {
+            addAccessSymbol(AccessModifier.PRIVATE, false);
         } else {
-            this.puml.append("~");
+            addAccessSymbol(constructor.accessModifier(), false);
         }
         this.puml.append(" ");
-        this.puml.append(constructor.getNameAsString());
+        this.puml.append(constructor.name());
         this.puml.append("(");
-
-        String delimiter = "";
-        for (Parameter parameter : constructor.getParameters()) {
-            this.puml.append(delimiter);
-            this.puml.append(parameter.getNameAsString());
-            this.puml.append(" : ");
-            this.puml.append(parameter.getTypeAsString().replaceAll(",", ", "));
-            if (parameter.isVarArgs()) {
-                this.puml.append("...");
-            }
-            delimiter = ", ";
-        }
+        addParameters(constructor.parameters());
         this.puml.append(")").append(LINE_SEPARATOR);
         return;
     }
@@ -196,15 +156,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 包含関係の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addContainment(Type fromType, String fromTypePackageName, Type toType, String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+    public void addContainment(String fromTypeName, String fromTypePackageName, String toTypeName,
+            String toTypePackageName) {
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" +-- ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -244,12 +205,12 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 列挙型定義の記述を始める。
      * 
-     * @param anEnum              列挙型情報
+     * @param anEnum              列挙型の要約
      * @param fullyQualifiedScope 完全修飾スコープ名
      * @param enumName            列挙型名
      * @param isLocalType         ローカル型であるかどうか
      */
-    public void addEnumDefinition(EnumDeclaration anEnum, String fullyQualifiedScope, String enumName,
+    public void addEnumDefinition(TypeSummary anEnum, String fullyQualifiedScope, String enumName,
             Boolean isLocalType) {
         this.puml.append("enum \"");
         this.puml.append(enumName);
@@ -267,23 +228,18 @@ public class StructuralRenderer extends AbstractRenderer {
      * 列挙子の記述を行う。
      * 
      * @param enumName 列挙型名
-     * @param member   列挙子名
+     * @param member   列挙子の要約
      */
-    public void addEnumMember(String enumName, EnumConstantDeclaration member) {
+    public void addEnumMember(String enumName, EnumConstantSummary member) {
         this.puml.append("\t{field} + <<enum constant>> ");
-        this.puml.append(member.getNameAsString());
+        this.puml.append(member.name());
         this.puml.append(" : ");
         this.puml.append(enumName);
-        if (member.getArguments().isNonEmpty()) {
+        if (!member.arguments().isEmpty()) {
             this.puml.append(" = ");
             this.puml.append(enumName);
             this.puml.append("(");
-            String delimiter = "";
-            for (Expression expr : member.getArguments()) {
-                this.puml.append(delimiter);
-                this.puml.append(expr.toString());
-                delimiter = ", ";
-            }
+            this.puml.append(String.join(", ", member.arguments()));
             this.puml.append(")");
         }
         this.puml.append(" {static} {readOnly}").append(LINE_SEPARATOR);
@@ -293,52 +249,43 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * フィールドの記述を行う。
      * 
-     * @param field       フィールド情報
+     * @param field       フィールドの変数一つ分の要約
      * @param isInterface インタフェースかどうか
      */
-    public void addField(FieldDeclaration field, Boolean isInterface) {
-        field.getVariables().forEach(variable -> {
-            this.puml.append("\t{field} ");
-            if (field.isPrivate()) {
-                this.puml.append("-");
-            } else if (field.isProtected()) {
-                this.puml.append("#");
-            } else if (isInterface || field.isPublic()) {
-                this.puml.append("+");
-            } else {
-                this.puml.append("~");
-            }
-            this.puml.append(" ");
-            this.puml.append(variable.getNameAsString());
-            this.puml.append(" : ");
-            this.puml.append(variable.getTypeAsString().replaceAll(",", ", "));
-            if (variable.getInitializer().isPresent()) {
-                this.puml.append(" = ");
-                this.puml.append(variable.getInitializer().get().toString());
-            }
-            if (field.isStatic() || isInterface) {
-                this.puml.append(" {static}");
-            }
-            if (field.isFinal() || isInterface) {
-                this.puml.append(" {readOnly}");
-            }
-            this.puml.append(LINE_SEPARATOR);
-        });
+    public void addField(FieldSummary field, Boolean isInterface) {
+        this.puml.append("\t{field} ");
+        addAccessSymbol(field.accessModifier(), isInterface);
+        this.puml.append(" ");
+        this.puml.append(field.name());
+        this.puml.append(" : ");
+        this.puml.append(field.typeName().replaceAll(",", ", "));
+        if (field.initializer() != null) {
+            this.puml.append(" = ");
+            this.puml.append(field.initializer());
+        }
+        if (field.isStatic() || isInterface) {
+            this.puml.append(" {static}");
+        }
+        if (field.isFinal() || isInterface) {
+            this.puml.append(" {readOnly}");
+        }
+        this.puml.append(LINE_SEPARATOR);
         return;
     }
 
     /**
      * 実装関係の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addImplementation(Type fromType, String fromTypePackageName, Type toType, String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+    public void addImplementation(String fromTypeName, String fromTypePackageName, String toTypeName,
+            String toTypePackageName) {
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" <|.[#lime]. ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -346,15 +293,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 継承関係の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addInheritance(Type fromType, String fromTypePackageName, Type toType, String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+    public void addInheritance(String fromTypeName, String fromTypePackageName, String toTypeName,
+            String toTypePackageName) {
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" <|-[#red]- ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -362,12 +310,12 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * インタフェース定義の記述を始める。
      * 
-     * @param anInterface         インタフェース情報
+     * @param anInterface         インタフェースの要約
      * @param fullyQualifiedScope 完全修飾スコープ名
      * @param interfaceName       インタフェース名
      * @param isLocalType         ローカル型であるかどうか
      */
-    public void addInterfaceDefinition(ClassOrInterfaceDeclaration anInterface, String fullyQualifiedScope,
+    public void addInterfaceDefinition(TypeSummary anInterface, String fullyQualifiedScope,
             String interfaceName, Boolean isLocalType) {
         this.puml.append("interface \"");
         this.puml.append(escapeGenerics(interfaceName));
@@ -384,45 +332,22 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * メソッドの記述を行う。
      * 
-     * @param method      メソッド情報
+     * @param method      メソッドの要約
      * @param isInterface インタフェースかどうか
      */
-    public void addMethod(MethodDeclaration method, Boolean isInterface) {
+    public void addMethod(MethodSummary method, Boolean isInterface) {
         this.puml.append("\t{method} ");
-        if (method.isPrivate()) {
-            this.puml.append("-");
-        } else if (method.isProtected()) {
-            this.puml.append("#");
-        } else if (isInterface || method.isPublic()) {
-            this.puml.append("+");
-        } else {
-            this.puml.append("~");
-        }
+        addAccessSymbol(method.accessModifier(), isInterface);
         this.puml.append(" ");
-        this.puml.append(method.getNameAsString());
+        this.puml.append(method.name());
         this.puml.append("(");
-
-        String delimiter = "";
-        for (Parameter parameter : method.getParameters()) {
-            this.puml.append(delimiter);
-            this.puml.append(parameter.getNameAsString());
-            this.puml.append(" : ");
-            this.puml.append(parameter.getTypeAsString().replaceAll(",", ", "));
-            if (parameter.isVarArgs()) {
-                this.puml.append("...");
-            }
-            delimiter = ", ";
-        }
+        addParameters(method.parameters());
         this.puml.append(")");
-        if (method.getType() != null) {
-            this.puml.append(" : ");
-            this.puml.append(method.getTypeAsString().replaceAll(",", ", "));
-        } else {
-            this.puml.append(" : void");
-        }
+        this.puml.append(" : ");
+        this.puml.append(method.returnTypeName().replaceAll(",", ", "));
 
         // 実装がない場合、抽象メソッド
-        if (!method.getBody().isPresent()) {
+        if (!method.hasBody()) {
             this.puml.append(" {abstract}");
         }
         if (method.isDefault()) {
@@ -441,25 +366,15 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 型定義に修飾子情報を追加する。
      * 
-     * @param aType       型情報
+     * @param aType       型の要約
      * @param isLocalType ローカル型であるかどうか
      */
-    public void addModifiersToTypeDefinition(TypeDeclaration<?> aType, Boolean isLocalType) {
+    public void addModifiersToTypeDefinition(TypeSummary aType, Boolean isLocalType) {
         List<String> modifiers = new ArrayList<>();
 
-        // メンバ型かどうかを取得
-        Boolean isMemberType = aType.getParentNode().isPresent()
-                && aType.getParentNode().get() instanceof TypeDeclaration<?>;
-
-        // インタフェースのメンバ型かどうかを取得
-        Boolean isMemberOfInterface = false;
-        if (isMemberType) {
-            TypeDeclaration<?> outerType = (TypeDeclaration<?>) aType.getParentNode().get();
-
-            // インタフェースのメンバ型かどうか
-            isMemberOfInterface = outerType.isClassOrInterfaceDeclaration()
-                    && outerType.asClassOrInterfaceDeclaration().isInterface();
-        }
+        // メンバ型かどうか、インタフェースのメンバ型かどうかを取得
+        Boolean isMemberType = aType.isMemberType();
+        Boolean isMemberOfInterface = aType.isMemberOfInterface();
 
         // メンバ型の場合
         if (isMemberType) {
@@ -467,39 +382,21 @@ public class StructuralRenderer extends AbstractRenderer {
             if (isMemberOfInterface) { // インタフェースのメンバ型の場合
                 modifiers.add("public");
             } else { // インタフェースのメンバ型でない場合
-                if (aType.isPrivate()) {
-                    modifiers.add("private");
-                } else if (aType.isProtected()) {
-                    modifiers.add("protected");
-                } else if (aType.isPublic()) {
-                    modifiers.add("public");
-                } else {
-                    modifiers.add("package-private");
-                }
+                modifiers.add(accessModifierString(aType.accessModifier()));
             }
         }
 
         // ローカル型でない（最上位型の）場合
         else if (!isLocalType) {
             // アクセス修飾子を確認する
-            if (aType.isPrivate()) {
-                modifiers.add("private");
-            } else if (aType.isProtected()) {
-                modifiers.add("protected");
-            } else if (aType.isPublic()) {
-                modifiers.add("public");
-            } else {
-                modifiers.add("package-private");
-            }
+            modifiers.add(accessModifierString(aType.accessModifier()));
         }
 
         // abstract修飾子を確認する
-        if (aType instanceof ClassOrInterfaceDeclaration classOrInterface) {
-            if (classOrInterface.isInterface()) {
-                modifiers.add("abstract");
-            } else if (classOrInterface.isAbstract()) {
-                modifiers.add("abstract");
-            }
+        if (aType.typeKind() == TypeKind.INTERFACE) {
+            modifiers.add("abstract");
+        } else if (aType.typeKind() == TypeKind.CLASS && aType.isAbstract()) {
+            modifiers.add("abstract");
         }
 
         // メンバ型のみstatic修飾子を確認する
@@ -507,9 +404,9 @@ public class StructuralRenderer extends AbstractRenderer {
             // 明示static、インタフェースのメンバ型、自身がインタフェース・列挙型・レコードの場合
             Boolean isStatic = aType.isStatic()
                     || isMemberOfInterface
-                    || aType.isClassOrInterfaceDeclaration() && aType.asClassOrInterfaceDeclaration().isInterface()
-                    || aType.isEnumDeclaration()
-                    || aType.isRecordDeclaration();
+                    || aType.typeKind() == TypeKind.INTERFACE
+                    || aType.typeKind() == TypeKind.ENUM
+                    || aType.typeKind() == TypeKind.RECORD;
 
             if (isStatic) {
                 modifiers.add("static");
@@ -518,15 +415,15 @@ public class StructuralRenderer extends AbstractRenderer {
 
         // final修飾子を確認する
         // 列挙型とレコードの場合は、finalを強制的に追加する
-        if (aType.isEnumDeclaration()) {
+        if (aType.typeKind() == TypeKind.ENUM) {
             modifiers.add("final");
-        } else if (aType.isRecordDeclaration()) {
+        } else if (aType.typeKind() == TypeKind.RECORD) {
             modifiers.add("final");
         }
 
         // クラスまたはインタフェースの場合は、明示finalの場合のみ
-        else if (aType instanceof ClassOrInterfaceDeclaration classOrInterface) {
-            if (classOrInterface.isFinal()) {
+        else if (aType.typeKind() == TypeKind.CLASS || aType.typeKind() == TypeKind.INTERFACE) {
+            if (aType.isFinal()) {
                 modifiers.add("final");
             }
         }
@@ -544,16 +441,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 多重度付き片方向関連の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addMultiplicityUnidirectionalAssociation(Type fromType, String fromTypePackageName, Type toType,
-            String toTypePackageName) {
-        addTypeIdString(fromTypePackageName, fromType.asString());
+    public void addMultiplicityUnidirectionalAssociation(String fromTypeName, String fromTypePackageName,
+            String toTypeName, String toTypePackageName) {
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(" -[#blue]-> \"*\" ");
-        addTypeIdString(toTypePackageName, toType.asString());
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -561,12 +458,12 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * レコード定義の記述を始める。
      * 
-     * @param aRecord             レコード情報
+     * @param aRecord             レコードの要約
      * @param fullyQualifiedScope 完全修飾スコープ名
      * @param recordName          レコード名
      * @param isLocalType         ローカル型であるかどうか
      */
-    public void addRecordDefinition(RecordDeclaration aRecord, String fullyQualifiedScope, String recordName,
+    public void addRecordDefinition(TypeSummary aRecord, String fullyQualifiedScope, String recordName,
             Boolean isLocalType) {
         this.puml.append("class \"");
         this.puml.append(escapeGenerics(recordName));
@@ -598,16 +495,16 @@ public class StructuralRenderer extends AbstractRenderer {
     /**
      * 片方向の関連の記述を行う。
      * 
-     * @param fromType            参照元の型情報
+     * @param fromTypeName        参照元の型の名前
      * @param fromTypePackageName 参照元の型のパッケージ名
-     * @param toType              参照先の型情報
+     * @param toTypeName          参照先の型の名前
      * @param toTypePackageName   参照先の型のパッケージ名
      */
-    public void addUnidirectionalAssociation(Type fromType, String fromTypePackageName, Type toType,
+    public void addUnidirectionalAssociation(String fromTypeName, String fromTypePackageName, String toTypeName,
             String toTypePackageName) {
-        addTypeIdString(toTypePackageName, toType.asString());
+        addTypeIdString(toTypePackageName, toTypeName);
         this.puml.append(" <-[#blue]- ");
-        addTypeIdString(fromTypePackageName, fromType.asString());
+        addTypeIdString(fromTypePackageName, fromTypeName);
         this.puml.append(LINE_SEPARATOR);
         return;
     }
@@ -659,6 +556,60 @@ public class StructuralRenderer extends AbstractRenderer {
         return exportToFile(pumlFilePath, imageFilePath);
     }
 
+    /**
+     * アクセス修飾子の文字列を応答する。
+     * 
+     * @param accessModifier アクセス修飾子
+     * @return アクセス修飾子の文字列
+     */
+    private String accessModifierString(AccessModifier accessModifier) {
+        return switch (accessModifier) {
+            case PRIVATE -> "private";
+            case PROTECTED -> "protected";
+            case PUBLIC -> "public";
+            case PACKAGE_PRIVATE -> "package-private";
+        };
+    }
+
+    /**
+     * メンバの可視性の記号を追加する。
+     * 
+     * @param accessModifier アクセス修飾子
+     * @param isInterface    インタフェースのメンバかどうか(privateとprotected以外は公開とみなす)
+     */
+    private void addAccessSymbol(AccessModifier accessModifier, Boolean isInterface) {
+        if (accessModifier == AccessModifier.PRIVATE) {
+            this.puml.append("-");
+        } else if (accessModifier == AccessModifier.PROTECTED) {
+            this.puml.append("#");
+        } else if (isInterface || accessModifier == AccessModifier.PUBLIC) {
+            this.puml.append("+");
+        } else {
+            this.puml.append("~");
+        }
+        return;
+    }
+
+    /**
+     * パラメータの一覧の記述を行う。
+     * 
+     * @param parameters パラメータの要約のリスト
+     */
+    private void addParameters(List<ParameterSummary> parameters) {
+        String delimiter = "";
+        for (ParameterSummary parameter : parameters) {
+            this.puml.append(delimiter);
+            this.puml.append(parameter.name());
+            this.puml.append(" : ");
+            this.puml.append(parameter.typeName().replaceAll(",", ", "));
+            if (parameter.isVarArgs()) {
+                this.puml.append("...");
+            }
+            delimiter = ", ";
+        }
+        return;
+    }
+
     /**
      * 型のID文字列を追加する。
      * 
@@ -1,5 +1,6 @@
 package nexusviz.generator.result;
 
+import java.util.List;
 import java.util.Map;
 
 import nexusviz.generator.model.dependency.CallerMethodInfo;
@@ -10,10 +11,12 @@ import nexusviz.generator.model.dependency.DependencyInfo;
  * 
  * @param dependencyInfoMap 依存情報のマップ（キー：型名，バリュー：(キー：メソッドシグネチャ，バリュー：メソッドの依存情報)の二重マップ）
  * @param hasError          解析中にエラーが発生したかどうか
+ * @param skippedFiles      時間の上限を超えたために解析を省略したファイルのリスト
+ * @param diagnostics       記号解決の失敗の集計結果
  * 
  * @author Ishiguro
  * @version 1.0
  */
 public record DependencyAnalysisResult(Map<String, Map<CallerMethodInfo, DependencyInfo>> dependencyInfoMap,
-        Boolean hasError) {
+        Boolean hasError, List<SkippedFile> skippedFiles, ResolutionDiagnostics diagnostics) {
 }
@@ -0,0 +1,58 @@
+package nexusviz.generator.result;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 解析中の記号解決の失敗を、種類と名前ごとに集計した結果を表すレコード。
+ * 失敗の説明は、種類ごとに限られた数の例だけを含む。
+ * 解析キャッシュの解析結果を統合したファイルの失敗は含まない。
+ * 
+ * @param failureCount   記号解決に失敗した総数
+ * @param categoryCounts 失敗の種類ごとの数
+ * @param symbolCounts   解決できなかった名前ごとの数
+ * @param sampleMessages 失敗の種類ごとの、失敗の説明の例
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record ResolutionDiagnostics(Integer failureCount, Map<ResolutionFailureCategory, Integer> categoryCounts,
+        Map<String, Integer> symbolCounts, Map<ResolutionFailureCategory, List<String>> sampleMessages) {
+    /**
+     * 要約で示す、解決できなかった名前の最大数を束縛する。
+     */
+    public static final Integer SUMMARY_SYMBOL_LIMIT = 10;
+
+    /**
+     * 失敗の多い順に、解決できなかった名前を応答する。
+     * 
+     * @param limit 応答する名前の最大数
+     * @return 解決できなかった名前のリスト
+     */
+    public List<String> mostFrequentSymbols(Integer limit) {
+        return this.symbolCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit).map(entry -> entry.getKey()).toList();
+    }
+
+    /**
+     * 失敗の総数と種類ごとの数、失敗の多い名前、失敗の説明の例を標準出力に出力する。失敗がなければ何も出力しない。
+     */
+    public void printSummary() {
+        if (this.failureCount == 0) {
+            return;
+        }
+        System.out.println("記号解決の失敗: 計 " + this.failureCount + " 件 ("
+                + this.categoryCounts.entrySet().stream().map(entry -> entry.getKey() + " " + entry.getValue() + " 件")
+                        .collect(Collectors.joining(", "))
+                + ")");
+        System.out.println("  失敗の多い名前: " + mostFrequentSymbols(SUMMARY_SYMBOL_LIMIT).stream()
+                .map(symbol -> symbol + " " + this.symbolCounts.get(symbol) + " 件").collect(Collectors.joining(", ")));
+        this.sampleMessages.forEach((category, messages) -> messages.forEach(
+                message -> System.out.println("  例(" + category + "): " + message)));
+        return;
+    }
+}
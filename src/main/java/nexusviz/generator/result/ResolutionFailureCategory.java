@@ -0,0 +1,16 @@
+package nexusviz.generator.result;
+
+/**
+ * 記号解決の失敗の種類を表す列挙型。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum ResolutionFailureCategory {
+    /** 型の完全修飾スコープ名の解決 */ TYPE,
+    /** 名前式(フィールドや変数の参照)の解決 */ NAME,
+    /** スコープの型の解決 */ SCOPE,
+    /** メソッド呼び出しの解決 */ METHOD_CALL,
+    /** インスタンス生成の解決 */ OBJECT_CREATION,
+    /** 明示的なコンストラクタ呼び出しの解決 */ EXPLICIT_CONSTRUCTOR_CALL
+}
@@ -0,0 +1,15 @@
+package nexusviz.generator.result;
+
+import java.nio.file.Path;
+
+/**
+ * 解析を省略したファイルを表すレコード。
+ * 
+ * @param filePath ファイルのパス
+ * @param reason   解析を省略した理由
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record SkippedFile(Path filePath, String reason) {
+}
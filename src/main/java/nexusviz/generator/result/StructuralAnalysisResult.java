@@ -1,19 +1,25 @@
 package nexusviz.generator.result;
 
+import java.util.List;
 import java.util.Set;
 
+import nexusviz.generator.model.structure.TypeHierarchyGraph;
 import nexusviz.generator.model.structure.TypeInfo;
-import nexusviz.generator.model.structure.TypeRelationInfo;
+import nexusviz.generator.model.structure.TypeRelationGraph;
 
 /**
  * クラス構造解析の結果を表すレコード。
  * 
  * @param typeInfos     型情報の集合
- * @param typeRelations 型関係の集合
+ * @param typeRelations 統合を終えた型関係のグラフ
+ * @param skippedFiles  時間の上限を超えたために解析を省略したファイルのリスト
+ * @param diagnostics   記号解決の失敗の集計結果
+ * @param typeGraph     型情報と型関係から作った、変更できない型のグラフ
  * 
  * @author Ishiguro
  * @version 1.0
  */
 public record StructuralAnalysisResult(Set<TypeInfo> typeInfos,
-		Set<TypeRelationInfo> typeRelations) {
+		TypeRelationGraph typeRelations, List<SkippedFile> skippedFiles, ResolutionDiagnostics diagnostics,
+		TypeHierarchyGraph typeGraph) {
 }
@@ -0,0 +1,67 @@
+package nexusviz.generator.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 要素の数に上限を持ち、上限を超えた場合は最も長く参照されていない要素から追い出すマップ。
+ * スレッド安全ではないため、複数のスレッドから使う場合は呼び出し側で排他する。
+ * 
+ * @param <K> キーの型
+ * @param <V> 値の型
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+    /**
+     * シリアライズの互換性を識別するバージョンを束縛する。
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 要素の数の上限を束縛する。
+     */
+    private final Integer capacity;
+
+    /**
+     * 追い出した要素の数を束縛する。
+     */
+    private Integer evictionCount;
+
+    /**
+     * 要素の数の上限を指定するコンストラクタ。
+     * 
+     * @param capacity 要素の数の上限
+     */
+    BoundedLruMap(Integer capacity) {
+        super(16, 0.75f, true);
+        this.capacity = capacity;
+        this.evictionCount = 0;
+        return;
+    }
+
+    /**
+     * フィールド変数 evictionCount を返す。
+     * 
+     * @return 追い出した要素の数
+     */
+    Integer evictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * 要素の数が上限を超えた場合に、最も長く参照されていない要素を追い出すかどうかを応答する。
+     * 
+     * @param eldest 最も長く参照されていない要素
+     * @return 追い出す場合はtrue
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        Boolean isOverCapacity = size() > this.capacity;
+        if (isOverCapacity) {
+            this.evictionCount++;
+        }
+        return isOverCapacity;
+    }
+}
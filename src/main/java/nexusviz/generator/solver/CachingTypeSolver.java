@@ -0,0 +1,184 @@
+package nexusviz.generator.solver;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+
+/**
+ * 別のTypeSolverによる型の解決結果を記憶し、同じ名前の解決を繰り返さないTypeSolver。
+ * 解決できた型だけでなく、解決できなかった名前も記憶する。どちらも上限を超えると、最も長く参照されていないものから追い出す。
+ * 記号解決では同じ名前(String や List、プロジェクトの型など)が何度も解決されるため、
+ * 解決を委ねるTypeSolverの各要素を順に問い合わせる処理の大半を省ける。
+ * 解決を委ねるTypeSolverの親にこのTypeSolverを設定するため、その内部からの解決もこのTypeSolverを経由する。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class CachingTypeSolver extends Object implements TypeSolver {
+    /**
+     * 記憶する解決結果の数の上限の既定値を束縛する。
+     */
+    public static final Integer DEFAULT_CAPACITY = 20000;
+
+    /**
+     * 解決を委ねるTypeSolverを束縛する。
+     */
+    private final TypeSolver delegate;
+
+    /**
+     * 型の名前と、解決できた型の宣言のマップを束縛する。
+     */
+    private final BoundedLruMap<String, ResolvedReferenceTypeDeclaration> solvedTypes;
+
+    /**
+     * 解決できなかった型の名前を束縛する。値は使用しない。
+     */
+    private final BoundedLruMap<String, Boolean> unsolvedNames;
+
+    /**
+     * 解決できた型の記憶を用いた数を束縛する。
+     */
+    private Integer hitCount;
+
+    /**
+     * 解決できなかった名前の記憶を用いた数を束縛する。
+     */
+    private Integer negativeHitCount;
+
+    /**
+     * 解決を委ねた数を束縛する。
+     */
+    private Integer missCount;
+
+    /**
+     * 親のTypeSolverを束縛する。
+     */
+    private TypeSolver parent;
+
+    /**
+     * 記憶する解決結果の数の上限を既定値とするコンストラクタ。
+     * 
+     * @param delegate 解決を委ねるTypeSolver(親が設定されていないもの)
+     */
+    public CachingTypeSolver(TypeSolver delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 記憶する解決結果の数の上限を指定するコンストラクタ。
+     * 
+     * @param delegate 解決を委ねるTypeSolver(親が設定されていないもの)
+     * @param capacity 解決できた型と、解決できなかった名前のそれぞれについて記憶する数の上限
+     */
+    @SuppressWarnings("this-escape")
+    public CachingTypeSolver(TypeSolver delegate, Integer capacity) {
+        this.delegate = delegate;
+        this.solvedTypes = new BoundedLruMap<>(capacity);
+        this.unsolvedNames = new BoundedLruMap<>(capacity);
+        this.hitCount = 0;
+        this.negativeHitCount = 0;
+        this.missCount = 0;
+        this.parent = null;
+        delegate.setParent(this);
+        return;
+    }
+
+    /**
+     * 型の名前を解決して応答する。記憶している場合は、解決を委ねずに記憶している結果を応答する。
+     * 解決を委ねている間は排他しないため、同じ名前を複数のスレッドが同時に解決することはありうる。
+     * 
+     * @param name 型の名前
+     * @return 解決結果
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        synchronized (this) {
+            ResolvedReferenceTypeDeclaration solvedType = this.solvedTypes.get(name);
+            if (solvedType != null) {
+                this.hitCount++;
+                return SymbolReference.solved(solvedType);
+            }
+            if (this.unsolvedNames.containsKey(name)) {
+                this.negativeHitCount++;
+                return SymbolReference.unsolved();
+            }
+            this.missCount++;
+        }
+
+        SymbolReference<ResolvedReferenceTypeDeclaration> symbolReference = this.delegate.tryToSolveType(name);
+        synchronized (this) {
+            if (symbolReference.isSolved()) {
+                this.solvedTypes.put(name, symbolReference.getCorrespondingDeclaration());
+            } else {
+                this.unsolvedNames.put(name, true);
+            }
+        }
+        return symbolReference;
+    }
+
+    /**
+     * 親のTypeSolverを応答する。
+     * 
+     * @return 親のTypeSolver(親がない場合はnull)
+     */
+    @Override
+    public TypeSolver getParent() {
+        return this.parent;
+    }
+
+    /**
+     * 親のTypeSolverを設定する。
+     * 
+     * @param parent 親のTypeSolver
+     */
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+        return;
+    }
+
+    /**
+     * フィールド変数 hitCount を返す。
+     * 
+     * @return 解決できた型の記憶を用いた数
+     */
+    public synchronized Integer hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * フィールド変数 negativeHitCount を返す。
+     * 
+     * @return 解決できなかった名前の記憶を用いた数
+     */
+    public synchronized Integer negativeHitCount() {
+        return this.negativeHitCount;
+    }
+
+    /**
+     * フィールド変数 missCount を返す。
+     * 
+     * @return 解決を委ねた数
+     */
+    public synchronized Integer missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * 記憶の上限を超えたために追い出した解決結果の数を応答する。
+     * 
+     * @return 追い出した解決結果の数
+     */
+    public synchronized Integer evictionCount() {
+        return this.solvedTypes.evictionCount() + this.unsolvedNames.evictionCount();
+    }
+
+    /**
+     * 型の解決結果の記憶を用いた数と、解決を委ねた数を標準出力に出力する。
+     */
+    public synchronized void printSummary() {
+        System.out.println("型解決キャッシュ: ヒット " + this.hitCount + " 件, 未解決のヒット " + this.negativeHitCount
+                + " 件, ミス " + this.missCount + " 件, 追い出し " + evictionCount() + " 件");
+        return;
+    }
+}
@@ -0,0 +1,149 @@
+package nexusviz.generator.solver;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import nexusviz.generator.cache.JarSummary;
+
+/**
+ * 型の解決に用いるJARファイルを、重複とバージョンの競合を取り除いて選ぶユーティリティクラス。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class JarSelector extends Object {
+    /**
+     * 「アーティファクト名-バージョン.jar」の形のファイル名を表す正規表現を束縛する。バージョンは数字で始まるものとする。
+     */
+    private static final Pattern ARTIFACT_FILE_NAME = Pattern.compile("^(.+?)-(\\d.*)\\.jar$");
+
+    /**
+     * バージョンの区切りを表す正規表現を束縛する。
+     */
+    private static final Pattern VERSION_SEPARATOR = Pattern.compile("[.\\-_]");
+
+    /**
+     * インスタンス化を防止するためのコンストラクタ。
+     */
+    private JarSelector() {
+    }
+
+    /**
+     * 型の解決に用いるJARファイルを、探索順を保って選んで応答する。
+     * 内容のハッシュ値が同じJARファイルは最初の一つだけを残し、同じアーティファクトの異なるバージョンは方針に従って選ぶ。
+     * 省略したJARファイルは、その理由とともに標準出力に出力する。
+     * 
+     * @param jarSummaries  探索順に並んだ、JARファイルの要約のリスト
+     * @param versionPolicy バージョンの競合を解決する方針
+     * @return 型の解決に用いるJARファイルの要約のリスト
+     */
+    public static List<JarSummary> select(List<JarSummary> jarSummaries, JarVersionPolicy versionPolicy) {
+        // 内容が同一のJARファイルを取り除く
+        Map<String, JarSummary> uniqueSummaries = new LinkedHashMap<>();
+        jarSummaries.forEach(summary -> {
+            JarSummary firstSummary = uniqueSummaries.putIfAbsent(summary.contentHash(), summary);
+            if (firstSummary != null) {
+                System.out.println("同一内容のJARファイルを省略: " + summary.jarPath().getFileName()
+                        + " (" + firstSummary.jarPath() + " と同一)");
+            }
+        });
+        if (versionPolicy == JarVersionPolicy.KEEP_ALL) {
+            return List.copyOf(uniqueSummaries.values());
+        }
+
+        // アーティファクトごとに、方針に従って一つを選ぶ
+        Map<String, JarSummary> chosenSummaries = new LinkedHashMap<>();
+        uniqueSummaries.values().forEach(summary -> {
+            Matcher matcher = ARTIFACT_FILE_NAME.matcher(summary.jarPath().getFileName().toString());
+            String artifactName = matcher.matches() ? matcher.group(1) : summary.jarPath().toString();
+            chosenSummaries.merge(artifactName, summary, (chosen, candidate) -> {
+                Boolean isNewer = compareVersions(versionOf(candidate), versionOf(chosen)) > 0;
+                JarSummary winner = versionPolicy == JarVersionPolicy.NEWEST && isNewer ? candidate : chosen;
+                JarSummary loser = winner == chosen ? candidate : chosen;
+                System.out.println("バージョンの競合: " + artifactName + " は " + versionOf(winner) + " を採用し、"
+                        + loser.jarPath().getFileName() + " を省略");
+                return winner;
+            });
+        });
+
+        // 探索順を保つ
+        Set<JarSummary> chosenSet = new HashSet<>(chosenSummaries.values());
+        return uniqueSummaries.values().stream().filter(summary -> chosenSet.contains(summary)).toList();
+    }
+
+    /**
+     * バージョンを比較する。区切りで分けた各部分を先頭から比べ、数字同士は数値として、それ以外は文字列として比べる。
+     * 一方が先に尽きた場合、残りが数字で始まれば残っている方を新しいとし、
+     * 「SNAPSHOT」や「beta」のような修飾子で始まれば尽きた方を新しいとする。
+     * 
+     * @param aVersion       バージョン
+     * @param anotherVersion 比較するバージョン
+     * @return aVersionが新しければ正、古ければ負、同じであれば0
+     */
+    private static int compareVersions(String aVersion, String anotherVersion) {
+        String[] someParts = VERSION_SEPARATOR.split(aVersion);
+        String[] otherParts = VERSION_SEPARATOR.split(anotherVersion);
+        Integer commonLength = Math.min(someParts.length, otherParts.length);
+        for (int index = 0; index < commonLength; index++) {
+            int comparison = comparePart(someParts[index], otherParts[index]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        if (someParts.length == otherParts.length) {
+            return 0;
+        }
+        if (someParts.length > otherParts.length) {
+            return isNumber(someParts[commonLength]) ? 1 : -1;
+        }
+        return isNumber(otherParts[commonLength]) ? -1 : 1;
+    }
+
+    /**
+     * JARファイルのファイル名からバージョンを取り出して応答する。
+     * 
+     * @param jarSummary JARファイルの要約
+     * @return バージョン(ファイル名がバージョンを含まない場合は空文字列)
+     */
+    private static String versionOf(JarSummary jarSummary) {
+        Matcher matcher = ARTIFACT_FILE_NAME.matcher(jarSummary.jarPath().getFileName().toString());
+        return matcher.matches() ? matcher.group(2) : "";
+    }
+
+    /**
+     * バージョンの部分を比較する。数字同士は数値として、それ以外は大文字小文字を区別しない文字列として比べる。
+     * 
+     * @param aPart       バージョンの部分
+     * @param anotherPart 比較するバージョンの部分
+     * @return aPartが新しければ正、古ければ負、同じであれば0
+     */
+    private static int comparePart(String aPart, String anotherPart) {
+        if (isNumber(aPart) && isNumber(anotherPart)) {
+            String someDigits = aPart.replaceFirst("^0+(?=.)", "");
+            String otherDigits = anotherPart.replaceFirst("^0+(?=.)", "");
+            if (someDigits.length() != otherDigits.length()) {
+                return Integer.compare(someDigits.length(), otherDigits.length());
+            }
+            return someDigits.compareTo(otherDigits);
+        }
+        if (!isNumber(aPart).equals(isNumber(anotherPart))) {
+            return isNumber(aPart) ? 1 : -1;
+        }
+        return aPart.compareToIgnoreCase(anotherPart);
+    }
+
+    /**
+     * 文字列が数字だけからなるかどうかを応答する。
+     * 
+     * @param aString 文字列
+     * @return 数字だけからなればtrue
+     */
+    private static Boolean isNumber(String aString) {
+        return !aString.isEmpty() && aString.chars().allMatch(aCharacter -> Character.isDigit(aCharacter));
+    }
+}
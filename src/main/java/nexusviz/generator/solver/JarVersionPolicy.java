@@ -0,0 +1,16 @@
+package nexusviz.generator.solver;
+
+/**
+ * 同じアーティファクトの異なるバージョンのJARファイルが複数見つかった場合に、どれを型の解決に用いるかを表す列挙型。
+ * アーティファクトとバージョンは「アーティファクト名-バージョン.jar」の形のファイル名から判定し、
+ * この形でないファイル名のJARファイルは競合しないものとして扱う。
+ * 内容が同一のJARファイルは、この方針によらず最初に見つかった一つだけを用いる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public enum JarVersionPolicy {
+    /** 最も新しいバージョンだけを用いる(同じバージョンの場合は最初に見つかったもの) */ NEWEST,
+    /** 探索順で最初に見つかったものだけを用いる */ FIRST_FOUND,
+    /** すべてのバージョンを探索順に用いる(先に見つかったものの解決が優先される) */ KEEP_ALL
+}
@@ -0,0 +1,264 @@
+package nexusviz.generator.solver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+/**
+ * JDKのモジュールイメージ(jrt:/ファイルシステム)からJDKの型を解決するTypeSolver。
+ * ReflectionTypeSolverと異なり、解析を行うJVMにクラスを定義せず、クラスファイルの内容を必要になった時点で読む。
+ * クラスファイルの一覧は作らず、パッケージを含むモジュールも、そのパッケージの型を初めて解決する時点で調べる。
+ * 解析を行うJVMとは別のJDK(Java 9以降)のホームディレクトリを指定すれば、そのJDKの型に対して解決する。
+ * ReflectionTypeSolverのJREの型に限る設定と同じく、「java.」と「javax.」で始まる名前だけを解決する。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class JrtTypeSolver extends Object implements TypeSolver {
+    /**
+     * jrt:/ファイルシステムのURIを束縛する。
+     */
+    private static final URI JRT_URI = URI.create("jrt:/");
+
+    /**
+     * 型を解決するJDKのホームディレクトリを束縛する。
+     */
+    private final Path jdkHome;
+
+    /**
+     * JDKのクラスファイルを読むクラスパスを束縛する。
+     */
+    private final JrtClassPath classPath;
+
+    /**
+     * クラスファイルの内容を読み込むクラスプールを束縛する。
+     */
+    private final ClassPool classPool;
+
+    /**
+     * 親のTypeSolverを束縛する。
+     */
+    private TypeSolver parent;
+
+    /**
+     * 型を解決するJDKのホームディレクトリを指定するコンストラクタ。
+     * 
+     * @param jdkHome JDKのホームディレクトリ(nullの場合は解析を行うJVMのJDK)
+     * @throws IOException JDKのモジュールイメージを読めなかった場合
+     */
+    public JrtTypeSolver(Path jdkHome) throws IOException {
+        this.jdkHome = jdkHome == null ? Path.of(System.getProperty("java.home")) : jdkHome;
+        FileSystem fileSystem = jdkHome == null ? FileSystems.getFileSystem(JRT_URI)
+                : FileSystems.newFileSystem(JRT_URI, Map.of("java.home", jdkHome.toString()));
+        if (!Files.isDirectory(fileSystem.getPath("/packages"))) {
+            throw new IOException("JDKのモジュールイメージではありません: " + this.jdkHome);
+        }
+        this.classPath = new JrtClassPath(fileSystem);
+        this.classPool = new ClassPool(false);
+        this.classPool.appendClassPath(this.classPath);
+        this.parent = null;
+        return;
+    }
+
+    /**
+     * 型の名前を解決して応答する。JDKのパッケージにない名前は、クラスファイルを読まずに解決できないと応答する。
+     * メンバ型は「java.util.Map.Entry」のように、外側の型の名前に続けて指定できる。
+     * 
+     * @param name 型の名前
+     * @return 解決結果
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        if (!name.startsWith("java.") && !name.startsWith("javax.")) {
+            return SymbolReference.unsolved();
+        }
+        String className = this.classPath.classNameOf(name);
+        if (className == null) {
+            return SymbolReference.unsolved();
+        }
+        try {
+            CtClass ctClass = this.classPool.get(className);
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            return SymbolReference.unsolved();
+        }
+    }
+
+    /**
+     * 親のTypeSolverを応答する。
+     * 
+     * @return 親のTypeSolver(親がない場合はnull)
+     */
+    @Override
+    public TypeSolver getParent() {
+        return this.parent;
+    }
+
+    /**
+     * 親のTypeSolverを設定する。
+     * 
+     * @param parent 親のTypeSolver
+     */
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+        return;
+    }
+
+    /**
+     * フィールド変数 jdkHome を返す。
+     * 
+     * @return 型を解決するJDKのホームディレクトリ
+     */
+    public Path jdkHome() {
+        return this.jdkHome;
+    }
+
+    /**
+     * jrt:/ファイルシステムのモジュールからクラスファイルを探す、クラスプールのクラスパス。
+     */
+    private static class JrtClassPath extends Object implements ClassPath {
+        /**
+         * jrt:/ファイルシステムを束縛する。
+         */
+        private final FileSystem fileSystem;
+
+        /**
+         * 調べたパッケージの名前から、それを含むモジュールの名前のリストへの対応を束縛する。
+         * JDKにないパッケージは空のリストに対応させる。
+         */
+        private final Map<String, List<String>> packageModules;
+
+        /**
+         * jrt:/ファイルシステムを指定するコンストラクタ。
+         * 
+         * @param fileSystem jrt:/ファイルシステム
+         */
+        JrtClassPath(FileSystem fileSystem) {
+            this.fileSystem = fileSystem;
+            this.packageModules = new ConcurrentHashMap<>();
+            return;
+        }
+
+        /**
+         * 型の名前を、クラスファイルの名前(メンバ型は「$」で区切る)にして応答する。
+         * パッケージの名前として最も長く一致するものから順に、対応するクラスファイルがあるかを確かめる。
+         * 
+         * @param name 型の名前
+         * @return クラスファイルの名前(JDKにない型の場合はnull)
+         */
+        String classNameOf(String name) {
+            Integer dotIndex = name.lastIndexOf('.');
+            while (dotIndex > 0) {
+                String packageName = name.substring(0, dotIndex);
+                if (!modulesOf(packageName).isEmpty()) {
+                    String className = packageName + "." + name.substring(dotIndex + 1).replace('.', '$');
+                    return classFileOf(className) == null ? null : className;
+                }
+                dotIndex = name.lastIndexOf('.', dotIndex - 1);
+            }
+            return null;
+        }
+
+        /**
+         * クラスファイルを開いて応答する。
+         * 
+         * @param className クラスファイルの名前
+         * @return クラスファイルの内容(見つからない場合はnull)
+         * @throws NotFoundException クラスファイルを読めなかった場合
+         */
+        @Override
+        public InputStream openClassfile(String className) throws NotFoundException {
+            Path classFile = classFileOf(className);
+            if (classFile == null) {
+                return null;
+            }
+            try {
+                return Files.newInputStream(classFile);
+            } catch (IOException e) {
+                throw new NotFoundException(className, e);
+            }
+        }
+
+        /**
+         * クラスファイルのURLを応答する。
+         * 
+         * @param className クラスファイルの名前
+         * @return クラスファイルのURL(見つからない場合はnull)
+         */
+        @Override
+        public URL find(String className) {
+            Path classFile = classFileOf(className);
+            if (classFile == null) {
+                return null;
+            }
+            try {
+                return classFile.toUri().toURL();
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+
+        /**
+         * クラスファイルの名前から、それを含むモジュールの中のクラスファイルのパスを応答する。
+         * 
+         * @param className クラスファイルの名前
+         * @return クラスファイルのパス(見つからない場合はnull)
+         */
+        private Path classFileOf(String className) {
+            Integer dotIndex = className.lastIndexOf('.');
+            if (dotIndex < 0) {
+                return null;
+            }
+            String packageName = className.substring(0, dotIndex);
+            String fileName = className.replace('.', '/') + ".class";
+            for (String moduleName : modulesOf(packageName)) {
+                Path classFile = this.fileSystem.getPath("/modules", moduleName, fileName);
+                if (Files.isRegularFile(classFile)) {
+                    return classFile;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * パッケージを含むモジュールの名前のリストを、jrt:/ファイルシステムの/packagesディレクトリから調べて応答する。
+         * 
+         * @param packageName パッケージの名前
+         * @return モジュールの名前のリスト(JDKにないパッケージの場合は空のリスト)
+         */
+        private List<String> modulesOf(String packageName) {
+            return this.packageModules.computeIfAbsent(packageName, aPackageName -> {
+                Path packageDirectory = this.fileSystem.getPath("/packages", aPackageName);
+                if (!Files.isDirectory(packageDirectory)) {
+                    return List.of();
+                }
+                try (Stream<Path> moduleLinks = Files.list(packageDirectory)) {
+                    return moduleLinks.map(link -> link.getFileName().toString()).toList();
+                } catch (IOException e) {
+                    return List.of();
+                }
+            });
+        }
+    }
+}
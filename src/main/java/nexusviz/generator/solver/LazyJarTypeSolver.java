@@ -0,0 +1,139 @@
+package nexusviz.generator.solver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+
+/**
+ * JARファイルに含まれるクラスの名前の一覧だけを先に持ち、JARファイルの内容は必要になるまで読み込まないTypeSolver。
+ * 一覧にない名前は、JARファイルを開かずに解決できないと応答する。
+ * 一覧にある名前の解決を初めて求められた時点でJarTypeSolverを生成し、以降の解決をそれに委ねる。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class LazyJarTypeSolver extends Object implements TypeSolver {
+    /**
+     * JARファイルのパスを束縛する。
+     */
+    private final Path jarPath;
+
+    /**
+     * JARファイルに含まれるクラスの名前を束縛する。
+     */
+    private final Set<String> classNames;
+
+    /**
+     * 解決を委ねるJarTypeSolverを束縛する。読み込むまではnullである。
+     */
+    private JarTypeSolver jarTypeSolver;
+
+    /**
+     * JARファイルの読み込みに失敗したかどうかを束縛する。
+     */
+    private Boolean isBroken;
+
+    /**
+     * 親のTypeSolverを束縛する。
+     */
+    private TypeSolver parent;
+
+    /**
+     * JARファイルのパスと、それに含まれるクラスの名前を指定するコンストラクタ。
+     * 
+     * @param jarPath    JARファイルのパス
+     * @param classNames JARファイルに含まれるクラスの名前
+     */
+    public LazyJarTypeSolver(Path jarPath, Collection<String> classNames) {
+        this.jarPath = jarPath;
+        this.classNames = new HashSet<>(classNames);
+        this.jarTypeSolver = null;
+        this.isBroken = false;
+        this.parent = null;
+        return;
+    }
+
+    /**
+     * 型の名前を解決して応答する。JARファイルに含まれない名前は、JARファイルを読み込まずに解決できないと応答する。
+     * 
+     * @param name 型の名前
+     * @return 解決結果
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        if (!this.classNames.contains(name)) {
+            return SymbolReference.unsolved();
+        }
+        JarTypeSolver loadedSolver = loadJarTypeSolver();
+        if (loadedSolver == null) {
+            return SymbolReference.unsolved();
+        }
+        return loadedSolver.tryToSolveType(name);
+    }
+
+    /**
+     * 親のTypeSolverを応答する。
+     * 
+     * @return 親のTypeSolver(親がない場合はnull)
+     */
+    @Override
+    public TypeSolver getParent() {
+        return this.parent;
+    }
+
+    /**
+     * 親のTypeSolverを設定する。
+     * 
+     * @param parent 親のTypeSolver
+     */
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+        return;
+    }
+
+    /**
+     * JARファイルの内容を読み込み済みかどうかを応答する。
+     * 
+     * @return 読み込み済みであればtrue
+     */
+    public synchronized Boolean isLoaded() {
+        return this.jarTypeSolver != null;
+    }
+
+    /**
+     * フィールド変数 jarPath を返す。
+     * 
+     * @return JARファイルのパス
+     */
+    public Path jarPath() {
+        return this.jarPath;
+    }
+
+    /**
+     * 解決を委ねるJarTypeSolverを、初めて必要になった時点で生成して応答する。
+     * JarTypeSolverの親にはこのTypeSolverを設定するため、その内部からの解決も根のTypeSolverを経由する。
+     * 
+     * @return 解決を委ねるJarTypeSolver(JARファイルの読み込みに失敗した場合はnull)
+     */
+    private synchronized JarTypeSolver loadJarTypeSolver() {
+        if (this.jarTypeSolver == null && !this.isBroken) {
+            try {
+                JarTypeSolver loadedSolver = new JarTypeSolver(this.jarPath);
+                loadedSolver.setParent(this);
+                this.jarTypeSolver = loadedSolver;
+            } catch (IOException e) {
+                System.err.println("JARファイルの読み込み失敗: " + this.jarPath.getFileName() + " - " + e.getMessage());
+                this.isBroken = true;
+            }
+        }
+        return this.jarTypeSolver;
+    }
+}
@@ -0,0 +1,251 @@
+package nexusviz.generator.solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.resolution.Navigator;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+
+import nexusviz.generator.project.ProjectTypeIndex;
+import nexusviz.generator.project.SourceDiscovery;
+
+/**
+ * プロジェクトのソースコードの型を、複数のソースのルートディレクトリにまたがって解決するTypeSolver。
+ * 型の索引からトップレベルの型の完全修飾名を宣言するソースファイルを直接引き、そのコンパイルユニットから型を解決する。
+ * コンパイルユニットはすべてのルートで共有する一つの対応に保持し、ファイルごとに一度だけ構文解析する。
+ * そのため、マルチモジュールのプロジェクトでも、ルートごとにファイルの有無を確かめることなくモジュールをまたいで解決できる。
+ * 索引にない型は、検出したソースのルートと選択されたディレクトリで、完全修飾名に対応する位置のファイルから解決する。
+ * 型の索引を与えずに生成した場合は、初めて解決を求められた時点でソースファイルを探索して索引を作る。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ProjectSourceTypeSolver extends Object implements TypeSolver {
+    /**
+     * 選択されたソースディレクトリを束縛する。
+     */
+    private final Path sourceRootDirectory;
+
+    /**
+     * プロジェクトの型の索引を束縛する。作るまではnullである。
+     */
+    private ProjectTypeIndex typeIndex;
+
+    /**
+     * 索引にない型を探す、検出したソースのルートと選択されたディレクトリのリストを束縛する。索引を作るまではnullである。
+     */
+    private List<Path> sourceRoots;
+
+    /**
+     * 型を宣言するソースファイルを構文解析するパーサを束縛する。
+     */
+    private final JavaParser javaParser;
+
+    /**
+     * ソースファイルのパスと、その構文解析の結果のコンパイルユニットの対応を束縛する。
+     */
+    private final Map<Path, Optional<CompilationUnit>> compilationUnits;
+
+    /**
+     * 親のTypeSolverを束縛する。
+     */
+    private TypeSolver parent;
+
+    /**
+     * 選択されたソースディレクトリを指定するコンストラクタ。型の索引は、初めて解決を求められた時点で作る。
+     * 
+     * @param sourceRootDirectory 選択されたソースディレクトリ
+     */
+    public ProjectSourceTypeSolver(Path sourceRootDirectory) {
+        this(sourceRootDirectory, null);
+        return;
+    }
+
+    /**
+     * 構築済みの型の索引を指定するコンストラクタ。
+     * 
+     * @param typeIndex プロジェクトの型の索引
+     */
+    public ProjectSourceTypeSolver(ProjectTypeIndex typeIndex) {
+        this(typeIndex.sourceRootPath(), typeIndex);
+        return;
+    }
+
+    /**
+     * フィールドを初期化するコンストラクタ。
+     * 
+     * @param sourceRootDirectory 選択されたソースディレクトリ
+     * @param typeIndex           プロジェクトの型の索引(初めて解決を求められた時点で作る場合はnull)
+     */
+    private ProjectSourceTypeSolver(Path sourceRootDirectory, ProjectTypeIndex typeIndex) {
+        this.sourceRootDirectory = sourceRootDirectory;
+        this.typeIndex = null;
+        this.sourceRoots = null;
+        if (typeIndex != null) {
+            useTypeIndex(typeIndex);
+        }
+        this.javaParser = new JavaParser(
+                new ParserConfiguration().setLanguageLevel(ParserConfiguration.LanguageLevel.BLEEDING_EDGE));
+        this.compilationUnits = new HashMap<>();
+        this.parent = null;
+        return;
+    }
+
+    /**
+     * 型の名前を解決して応答する。名前の末尾を取り除きながらトップレベルの型を宣言するソースファイルを探し、
+     * 見つかったコンパイルユニットから、取り除いた部分をメンバ型として辿って解決する。
+     * 
+     * @param name 型の名前
+     * @return 解決結果
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        ProjectTypeIndex index = typeIndex();
+        List<Path> candidateRoots = this.sourceRoots;
+        String topLevelTypeName = name;
+        while (!topLevelTypeName.isEmpty()) {
+            String relativeTypeName = name.substring(topLevelTypeName.lastIndexOf('.') + 1);
+            for (Path sourcePath : sourcePathsOf(index, candidateRoots, topLevelTypeName)) {
+                Optional<TypeDeclaration<?>> typeDeclaration = compilationUnitOf(sourcePath)
+                        .flatMap(compilationUnit -> Navigator.findType(compilationUnit, relativeTypeName));
+                if (typeDeclaration.isPresent()) {
+                    return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(typeDeclaration.get()));
+                }
+            }
+            topLevelTypeName = topLevelTypeName.lastIndexOf('.') < 0 ? ""
+                    : topLevelTypeName.substring(0, topLevelTypeName.lastIndexOf('.'));
+        }
+        return SymbolReference.unsolved();
+    }
+
+    /**
+     * 親のTypeSolverを応答する。
+     * 
+     * @return 親のTypeSolver(親がない場合はnull)
+     */
+    @Override
+    public TypeSolver getParent() {
+        return this.parent;
+    }
+
+    /**
+     * 親のTypeSolverを設定する。
+     * 
+     * @param parent 親のTypeSolver
+     */
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+        return;
+    }
+
+    /**
+     * フィールド変数 sourceRootDirectory を返す。
+     * 
+     * @return 選択されたソースディレクトリ
+     */
+    public Path sourceRootDirectory() {
+        return this.sourceRootDirectory;
+    }
+
+    /**
+     * プロジェクトの型の索引を応答する。まだ作っていない場合は、ソースファイルを探索して作る。
+     * 探索に失敗した場合は空の索引とし、すべての型を完全修飾名に対応する位置のファイルから解決する。
+     * 
+     * @return プロジェクトの型の索引
+     */
+    private synchronized ProjectTypeIndex typeIndex() {
+        if (this.typeIndex == null) {
+            try {
+                SourceDiscovery sourceDiscovery = new SourceDiscovery();
+                List<Path> sourcePaths = sourceDiscovery.discover(this.sourceRootDirectory).sourcePaths();
+                useTypeIndex(ProjectTypeIndex.build(this.sourceRootDirectory, sourcePaths,
+                        SourceDiscovery.DEFAULT_PARALLELISM));
+            } catch (IOException e) {
+                System.err.println("ソースのルートの検出失敗: " + e.getMessage());
+                useTypeIndex(ProjectTypeIndex.empty(this.sourceRootDirectory));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                useTypeIndex(ProjectTypeIndex.empty(this.sourceRootDirectory));
+            }
+        }
+        return this.typeIndex;
+    }
+
+    /**
+     * 型の索引を解決に用いるよう設定し、索引にない型を探すソースのルートを求める。
+     * 検出したソースのルートの数を標準出力に出力し、ルートが複数見つかった場合は、それらも出力する。
+     * 
+     * @param typeIndex プロジェクトの型の索引
+     */
+    private void useTypeIndex(ProjectTypeIndex typeIndex) {
+        List<Path> detectedRoots = typeIndex.sourceRoots();
+        System.out.println("ソースのルートを検出: " + detectedRoots.size() + " 件");
+        if (detectedRoots.size() > 1) {
+            detectedRoots.forEach(sourceRoot -> System.out.println("  " + sourceRoot));
+        }
+        List<Path> candidateRoots = new ArrayList<>(detectedRoots);
+        Path selectedRoot = this.sourceRootDirectory.toAbsolutePath().normalize();
+        if (!candidateRoots.contains(selectedRoot)) {
+            candidateRoots.add(selectedRoot);
+        }
+        this.sourceRoots = List.copyOf(candidateRoots);
+        this.typeIndex = typeIndex;
+        return;
+    }
+
+    /**
+     * トップレベルの型を宣言しているはずのソースファイルのパスを応答する。
+     * 索引にある型はそのファイルだけを、索引にない型はソースのルートごとに完全修飾名に対応する位置にあるファイルを応答する。
+     * 
+     * @param index            プロジェクトの型の索引
+     * @param candidateRoots   索引にない型を探すソースのルートのリスト
+     * @param topLevelTypeName トップレベルの型の完全修飾名
+     * @return ソースファイルのパスのリスト
+     */
+    private static List<Path> sourcePathsOf(ProjectTypeIndex index, List<Path> candidateRoots,
+            String topLevelTypeName) {
+        Optional<Path> indexedPath = index.sourcePathOf(topLevelTypeName);
+        if (indexedPath.isPresent()) {
+            return List.of(indexedPath.get());
+        }
+        return candidateRoots.stream().map(sourceRoot -> sourceRoot.resolve(
+                topLevelTypeName.replace(".", sourceRoot.getFileSystem().getSeparator()) + ".java"))
+                .filter(sourcePath -> Files.isRegularFile(sourcePath)).toList();
+    }
+
+    /**
+     * ソースファイルのコンパイルユニットを、初めて必要になった時点で構文解析して応答する。
+     * 構文エラーがあっても、回復して得られたコンパイルユニットを用いる。
+     * 
+     * @param sourcePath ソースファイルのパス
+     * @return コンパイルユニット(読み込みに失敗した場合は空)
+     */
+    private synchronized Optional<CompilationUnit> compilationUnitOf(Path sourcePath) {
+        return this.compilationUnits.computeIfAbsent(sourcePath.toAbsolutePath().normalize(), aSourcePath -> {
+            try {
+                return this.javaParser.parse(ParseStart.COMPILATION_UNIT, Providers.provider(aSourcePath,
+                        this.javaParser.getParserConfiguration().getCharacterEncoding())).getResult()
+                        .map(compilationUnit -> compilationUnit.setStorage(aSourcePath));
+            } catch (IOException e) {
+                System.err.println("ソースファイルの読み込み失敗: " + aSourcePath + " - " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+}
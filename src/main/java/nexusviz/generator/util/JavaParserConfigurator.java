@@ -1,18 +1,32 @@
 package nexusviz.generator.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import com.github.javaparser.ParserConfiguration;
-import com.github.javaparser.StaticJavaParser;
-import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.cache.NoCache;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 
+import nexusviz.generator.cache.AnalysisCache;
+import nexusviz.generator.cache.JarClassIndex;
+import nexusviz.generator.cache.JarSummary;
+import nexusviz.generator.project.ProjectTypeIndex;
+import nexusviz.generator.solver.CachingTypeSolver;
+import nexusviz.generator.solver.JarSelector;
+import nexusviz.generator.solver.JrtTypeSolver;
+import nexusviz.generator.solver.LazyJarTypeSolver;
+import nexusviz.generator.solver.ProjectSourceTypeSolver;
+
 /**
  * JavaParserの設定を行うユーティリティクラス。
  * 
@@ -20,6 +34,11 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeS
  * @version 1.0
  */
 public class JavaParserConfigurator extends Object {
+    /**
+     * JARファイルの要約を並列に求める際の並列度を束縛する。
+     */
+    private static final Integer JAR_LOADING_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
     /**
      * インスタンス化を防止するためのコンストラクタ。
      */
@@ -27,47 +46,159 @@ public class JavaParserConfigurator extends Object {
     }
 
     /**
-     * JavaParserのシンボル解決とJava 21対応の設定を行う。
+     * プロジェクトのソースディレクトリとライブラリのディレクトリから、シンボル解決とJava 21対応の設定を行った
+     * 構文解析のコンテキストを生成して応答する。StaticJavaParserなどの共有される設定は変更しない。
+     * 型の解決結果は、解決できなかった名前も含めてCachingTypeSolverで記憶するため、
+     * CombinedTypeSolver自身の解決結果の記憶は用いない。
+     * JDKの型は、設定で指定したJDKのモジュールイメージからクラスを定義せずに解決する。
+     * ソースコードの型は、ソースディレクトリの下で検出したすべてのソースのルートにまたがって解決する。
+     * ルートの検出に用いる型の索引は、初めて型の解決を求められた時点で作る。
+     * JARファイルはクラスの名前の一覧だけを索引から得て、内容は型の解決に必要になるまで読み込まない。
+     * 索引にないJARファイルの走査は並列に行い、内容が同一のJARファイルと、
+     * 方針に従って選ばれなかった他のバージョンのJARファイルは、TypeSolverに追加しない。
+     * TypeSolverの構築には既定の設定を用いる。
+     * 
+     * @param sourceRootDirectory ソースコードのルートディレクトリ
+     * @param jarDirectory        JARファイルが格納されているディレクトリ
+     * @return 構文解析のコンテキスト
+     */
+    public static ParsingContext createContext(Path sourceRootDirectory, Path jarDirectory) {
+        return createContext(sourceRootDirectory, jarDirectory, TypeSolverSettings.DEFAULT);
+    }
+
+    /**
+     * プロジェクトのソースディレクトリとライブラリのディレクトリから、引数の設定でTypeSolverを構築した
+     * 構文解析のコンテキストを生成して応答する。
+     * 
+     * @param sourceRootDirectory ソースコードのルートディレクトリ
+     * @param jarDirectory        JARファイルが格納されているディレクトリ
+     * @param settings            TypeSolverを構築する際の設定
+     * @return 構文解析のコンテキスト
+     * @see JavaParserConfigurator#createContext(Path, Path)
+     */
+    public static ParsingContext createContext(Path sourceRootDirectory, Path jarDirectory,
+            TypeSolverSettings settings) {
+        return createContext(sourceRootDirectory, new ProjectSourceTypeSolver(sourceRootDirectory), jarDirectory,
+                settings);
+    }
+
+    /**
+     * 構築済みのプロジェクトの型の索引とライブラリのディレクトリから、構文解析のコンテキストを生成して応答する。
+     * ソースのルートの検出には索引を用いるため、ソースファイルを探索し直さない。
+     * 
+     * @param typeIndex    プロジェクトの型の索引
+     * @param jarDirectory JARファイルが格納されているディレクトリ
+     * @param settings     TypeSolverを構築する際の設定
+     * @return 構文解析のコンテキスト
+     * @see JavaParserConfigurator#createContext(Path, Path)
+     */
+    public static ParsingContext createContext(ProjectTypeIndex typeIndex, Path jarDirectory,
+            TypeSolverSettings settings) {
+        return createContext(typeIndex.sourceRootPath(), new ProjectSourceTypeSolver(typeIndex), jarDirectory,
+                settings);
+    }
+
+    /**
+     * ソースコードの型を解決するTypeSolverとライブラリのディレクトリから、構文解析のコンテキストを生成して応答する。
      * 
      * @param sourceRootDirectory ソースコードのルートディレクトリ
+     * @param sourceTypeSolver    ソースコードの型を解決するTypeSolver
      * @param jarDirectory        JARファイルが格納されているディレクトリ
+     * @param settings            TypeSolverを構築する際の設定
+     * @return 構文解析のコンテキスト
      */
-    public static void configureSolver(Path sourceRootDirectory, Path jarDirectory) {
+    private static ParsingContext createContext(Path sourceRootDirectory, ProjectSourceTypeSolver sourceTypeSolver,
+            Path jarDirectory, TypeSolverSettings settings) {
         // 型解決のためのCombinedTypeSolverを構築
-        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(CombinedTypeSolver.ExceptionHandlers.IGNORE_NONE,
+                List.of(), NoCache.create());
 
-        // JDKクラスなど標準のTypeSolverを追加
-        typeSolver.add(new ReflectionTypeSolver());
+        // JDKの型のTypeSolverを追加
+        typeSolver.add(createJdkTypeSolver(settings.jdkHome()));
 
         // ソースコードのTypeSolverを追加
-        typeSolver.add(new JavaParserTypeSolver(sourceRootDirectory));
+        typeSolver.add(sourceTypeSolver);
         System.out.println("ソースコードのTypeSolverを追加: " + sourceRootDirectory.toString());
 
-        // JARディレクトリを再帰的に探索し、JarTypeSolverにJARファイルを追加
+        // JARディレクトリを再帰的に探索し、選んだJARファイルごとにLazyJarTypeSolverを追加
+        StringBuilder jarContentHashes = new StringBuilder();
         if (jarDirectory != null && Files.isDirectory(jarDirectory) && Files.exists(jarDirectory)) {
-            try (Stream<Path> paths = Files.walk(jarDirectory)) {
-                paths.filter(path -> Files.isRegularFile(path))
-                        .filter(path -> path.toString().endsWith(".jar"))
-                        .forEach(path -> {
-                            try {
-                                typeSolver.add(new JarTypeSolver(path.toFile()));
-                                System.out.println("JARファイルを追加: " + path.getFileName());
-                            } catch (Exception e) {
-                                System.err.println("JARファイルの追加失敗: " + e.getMessage());
-                            }
-                        });
-            } catch (IOException e) {
-                System.err.println("JARファイルの読み込み失敗: " + e.getMessage());
-            }
+            JarClassIndex jarClassIndex = JarClassIndex.open(settings.jarIndexDirectory());
+            List<JarSummary> jarSummaries = JarSelector.select(summarizeJars(jarDirectory, jarClassIndex),
+                    settings.jarVersionPolicy());
+            jarSummaries.forEach(summary -> {
+                typeSolver.add(new LazyJarTypeSolver(summary.jarPath(), summary.classNames()));
+                jarContentHashes.append(summary.contentHash()).append('\n');
+                System.out.println("JARファイルを追加: " + summary.jarPath().getFileName());
+            });
+            jarClassIndex.printSummary();
+            jarClassIndex.save();
+        }
+
+        // 解決結果を記憶するTypeSolverで包み、Java 21 に対応するコンテキストを生成
+        CachingTypeSolver cachingTypeSolver = new CachingTypeSolver(typeSolver);
+        String libraryFingerprint = AnalysisCache.contentHash(
+                jarContentHashes.toString().getBytes(StandardCharsets.UTF_8));
+        return new ParsingContext(sourceRootDirectory, jarDirectory, settings, libraryFingerprint,
+                ParserConfiguration.LanguageLevel.JAVA_21, cachingTypeSolver);
+    }
+
+    /**
+     * 引数のJDKの型を解決するTypeSolverを生成して応答する。
+     * JDKのモジュールイメージを読めなかった場合は、標準エラー出力に出力し、解析を行うJVMのクラスを読み込んで解決する。
+     * 
+     * @param jdkHome JDKのホームディレクトリ(nullの場合は解析を行うJVMのJDK)
+     * @return JDKの型を解決するTypeSolver
+     */
+    private static TypeSolver createJdkTypeSolver(Path jdkHome) {
+        try {
+            JrtTypeSolver jrtTypeSolver = new JrtTypeSolver(jdkHome);
+            System.out.println("JDKのTypeSolverを追加: " + jrtTypeSolver.jdkHome());
+            return jrtTypeSolver;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("JDKのモジュールイメージの読み込み失敗: " + jdkHome + " - " + e.getMessage());
+            return new ReflectionTypeSolver();
         }
+    }
 
-        // Java 21 に対応する設定
-        ParserConfiguration config = new ParserConfiguration()
-                .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_21).setSymbolResolver(
-                        new JavaSymbolSolver(typeSolver));
+    /**
+     * JARディレクトリを再帰的に探索し、見つかったJARファイルの要約を並列に求めて、探索順に応答する。
+     * 要約を求められなかったJARファイルは、標準エラー出力に出力して除く。
+     * 
+     * @param jarDirectory  JARファイルが格納されているディレクトリ
+     * @param jarClassIndex JARファイルの索引
+     * @return 探索順に並んだ、JARファイルの要約のリスト
+     */
+    private static List<JarSummary> summarizeJars(Path jarDirectory, JarClassIndex jarClassIndex) {
+        List<Path> jarPaths;
+        try (Stream<Path> paths = Files.walk(jarDirectory)) {
+            jarPaths = paths.filter(path -> Files.isRegularFile(path))
+                    .filter(path -> path.toString().endsWith(".jar"))
+                    .toList();
+        } catch (IOException e) {
+            System.err.println("JARファイルの読み込み失敗: " + e.getMessage());
+            return List.of();
+        }
 
-        // StaticJavaParserのデフォルト設定にも反映
-        StaticJavaParser.setConfiguration(config);
-        return;
+        Function<Path, Optional<JarSummary>> summarize = path -> {
+            try {
+                return Optional.of(jarClassIndex.summaryOf(path));
+            } catch (IOException e) {
+                System.err.println("JARファイルの追加失敗: " + e.getMessage());
+                return Optional.empty();
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(JAR_LOADING_PARALLELISM, jarPaths.size())));
+        try {
+            return pool.submit(() -> jarPaths.parallelStream().map(summarize).flatMap(Optional::stream).toList())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("JARファイルの走査が中断されました。", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("JARファイルの走査に失敗しました。", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
     }
 }
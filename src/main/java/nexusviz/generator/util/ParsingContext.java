@@ -0,0 +1,170 @@
+package nexusviz.generator.util;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+
+import nexusviz.generator.solver.CachingTypeSolver;
+
+/**
+ * 一つのプロジェクトの構文解析とシンボル解決に用いる設定をまとめた、変更できないクラス。
+ * 言語レベルと、プロジェクトのソースディレクトリとライブラリのディレクトリから構築したTypeSolverを保持する。
+ * StaticJavaParserのようなスレッドやプロセスで共有される設定を用いないため、
+ * 異なるプロジェクトの解析を同じプロセスの中で同時に行える。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class ParsingContext extends Object {
+    /**
+     * ソースコードのルートパスを束縛する。
+     */
+    private final Path sourceRootPath;
+
+    /**
+     * ライブラリのディレクトリのパスを束縛する。
+     */
+    private final Path jarDirectoryPath;
+
+    /**
+     * TypeSolverを構築した際の設定を束縛する。
+     */
+    private final TypeSolverSettings settings;
+
+    /**
+     * TypeSolverに追加したJARファイルの内容から求めた指紋を束縛する。
+     */
+    private final String libraryFingerprint;
+
+    /**
+     * 構文解析の言語レベルを束縛する。
+     */
+    private final LanguageLevel languageLevel;
+
+    /**
+     * シンボル解決に用いる、解決結果を記憶するTypeSolverを束縛する。
+     */
+    private final CachingTypeSolver typeSolver;
+
+    /**
+     * シンボル解決を束縛する。このコンテキストから生成したすべてのJavaParserで共有する。
+     */
+    private final JavaSymbolSolver symbolSolver;
+
+    /**
+     * フィールドを初期化するコンストラクタ。JavaParserConfiguratorから生成する。
+     * 
+     * @param sourceRootPath     ソースコードのルートパス
+     * @param jarDirectoryPath   ライブラリのディレクトリのパス
+     * @param settings           TypeSolverを構築した際の設定
+     * @param libraryFingerprint TypeSolverに追加したJARファイルの内容から求めた指紋
+     * @param languageLevel      構文解析の言語レベル
+     * @param typeSolver         シンボル解決に用いる、解決結果を記憶するTypeSolver
+     */
+    ParsingContext(Path sourceRootPath, Path jarDirectoryPath, TypeSolverSettings settings,
+            String libraryFingerprint, LanguageLevel languageLevel, CachingTypeSolver typeSolver) {
+        this.sourceRootPath = sourceRootPath;
+        this.jarDirectoryPath = jarDirectoryPath;
+        this.settings = settings;
+        this.libraryFingerprint = libraryFingerprint;
+        this.languageLevel = languageLevel;
+        this.typeSolver = typeSolver;
+        this.symbolSolver = new JavaSymbolSolver(typeSolver);
+        return;
+    }
+
+    /**
+     * このコンテキストの言語レベルとシンボル解決を用いる、独立したJavaParserを生成して応答する。
+     * JavaParserはスレッド間で共有できないため、構文解析を行うスレッドごとに生成する。
+     * 
+     * @return 新しいJavaParser
+     */
+    public JavaParser createParser() {
+        ParserConfiguration config = new ParserConfiguration()
+                .setLanguageLevel(this.languageLevel)
+                .setSymbolResolver(this.symbolSolver);
+        return new JavaParser(config);
+    }
+
+    /**
+     * 引数のソースディレクトリとライブラリのディレクトリ、およびTypeSolverの設定(JDKを含む)から
+     * 構築されたコンテキストかどうかを応答する。
+     * 
+     * @param sourceRootPath   ソースコードのルートパス
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param settings         TypeSolverを構築する際の設定
+     * @return 同じディレクトリと設定から構築されていればtrue、そうでなければfalse
+     */
+    public Boolean isBuiltFrom(Path sourceRootPath, Path jarDirectoryPath, TypeSolverSettings settings) {
+        return Objects.equals(this.sourceRootPath, sourceRootPath)
+                && Objects.equals(this.jarDirectoryPath, jarDirectoryPath)
+                && Objects.equals(this.settings, settings);
+    }
+
+    /**
+     * フィールド変数 sourceRootPath を返す。
+     * 
+     * @return ソースコードのルートパス
+     */
+    public Path sourceRootPath() {
+        return this.sourceRootPath;
+    }
+
+    /**
+     * フィールド変数 jarDirectoryPath を返す。
+     * 
+     * @return ライブラリのディレクトリのパス
+     */
+    public Path jarDirectoryPath() {
+        return this.jarDirectoryPath;
+    }
+
+    /**
+     * 型を解決するJDKのホームディレクトリを応答する。
+     * 
+     * @return 型を解決するJDKのホームディレクトリ(解析を行うJVMのJDKを用いる場合はnull)
+     */
+    public Path jdkHome() {
+        return this.settings.jdkHome();
+    }
+
+    /**
+     * フィールド変数 settings を返す。
+     * 
+     * @return TypeSolverを構築した際の設定
+     */
+    public TypeSolverSettings settings() {
+        return this.settings;
+    }
+
+    /**
+     * フィールド変数 libraryFingerprint を返す。
+     * 
+     * @return TypeSolverに追加したJARファイルの内容から求めた指紋
+     */
+    public String libraryFingerprint() {
+        return this.libraryFingerprint;
+    }
+
+    /**
+     * フィールド変数 languageLevel を返す。
+     * 
+     * @return 構文解析の言語レベル
+     */
+    public LanguageLevel languageLevel() {
+        return this.languageLevel;
+    }
+
+    /**
+     * フィールド変数 typeSolver を返す。
+     * 
+     * @return シンボル解決に用いる、解決結果を記憶するTypeSolver
+     */
+    public CachingTypeSolver typeSolver() {
+        return this.typeSolver;
+    }
+}
@@ -0,0 +1,22 @@
+package nexusviz.generator.util;
+
+import java.util.function.Supplier;
+
+import nexusviz.generator.result.ResolutionFailureCategory;
+
+/**
+ * 記号解決の失敗の報告を受け取るインタフェース。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public interface ResolutionFailureReporter {
+    /**
+     * 記号解決に失敗したことを報告する。
+     * 
+     * @param category   失敗の種類
+     * @param symbolName 解決できなかった名前
+     * @param message    失敗の説明を作る関数
+     */
+    void report(ResolutionFailureCategory category, String symbolName, Supplier<String> message);
+}
@@ -0,0 +1,137 @@
+package nexusviz.generator.util;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import nexusviz.generator.project.ProjectTypeIndex;
+
+/**
+ * 同じプロジェクトを繰り返し解析する間、構文解析のコンテキストを保持し続けるセッション。
+ * コンテキストのTypeSolverは、読み込んだライブラリの型、ソースファイルの構文解析結果、型の解決結果を記憶しているため、
+ * 二度目以降の解析ではそれらの準備を省略できる。
+ * ソースディレクトリ、ライブラリのディレクトリ、TypeSolverの設定、ソースコードの指紋のいずれかが変わった場合にだけ作り直す。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class SymbolSolvingSession extends Object {
+    /**
+     * 保持している構文解析のコンテキストを束縛する。まだ作っていないか、無効にした場合はnull。
+     */
+    private ParsingContext parsingContext;
+
+    /**
+     * コンテキストを作った時点のソースコードの指紋を束縛する。
+     */
+    private String sourceFingerprint;
+
+    /**
+     * 保持しているコンテキストを再利用した回数を束縛する。
+     */
+    private Integer reuseCount;
+
+    /**
+     * 空のセッションを生成するコンストラクタ。
+     */
+    public SymbolSolvingSession() {
+        this.parsingContext = null;
+        this.sourceFingerprint = null;
+        this.reuseCount = 0;
+        return;
+    }
+
+    /**
+     * 引数のプロジェクトの構文解析のコンテキストを応答する。
+     * 保持しているコンテキストが同じディレクトリと同じ指紋から作られたものであればそれを再利用し、
+     * そうでなければ作り直して保持する。
+     * 
+     * @param sourceRootPath    ソースコードのルートパス
+     * @param jarDirectoryPath  ライブラリのディレクトリのパス
+     * @param settings          TypeSolverを構築する際の設定
+     * @param sourceFingerprint ソースコードの指紋(不明な場合はnull)
+     * @return 構文解析のコンテキスト
+     */
+    public synchronized ParsingContext parsingContext(Path sourceRootPath, Path jarDirectoryPath,
+            TypeSolverSettings settings, String sourceFingerprint) {
+        if (isWarmFor(sourceRootPath, jarDirectoryPath, settings, sourceFingerprint)) {
+            return reuseParsingContext();
+        }
+
+        // 古いコンテキストを先に手放してから作り直す
+        this.parsingContext = null;
+        this.parsingContext = JavaParserConfigurator.createContext(sourceRootPath, jarDirectoryPath, settings);
+        this.sourceFingerprint = sourceFingerprint;
+        this.reuseCount = 0;
+        return this.parsingContext;
+    }
+
+    /**
+     * 構築済みの型の索引のプロジェクトの構文解析のコンテキストを応答する。
+     * 索引の指紋をソースコードの指紋とし、作り直す場合はソースのルートの検出に索引を用いる。
+     * 
+     * @param typeIndex        プロジェクトの型の索引
+     * @param jarDirectoryPath ライブラリのディレクトリのパス
+     * @param settings         TypeSolverを構築する際の設定
+     * @return 構文解析のコンテキスト
+     */
+    public synchronized ParsingContext parsingContext(ProjectTypeIndex typeIndex, Path jarDirectoryPath,
+            TypeSolverSettings settings) {
+        String sourceFingerprint = typeIndex.fingerprint();
+        if (isWarmFor(typeIndex.sourceRootPath(), jarDirectoryPath, settings, sourceFingerprint)) {
+            return reuseParsingContext();
+        }
+
+        // 古いコンテキストを先に手放してから作り直す
+        this.parsingContext = null;
+        this.parsingContext = JavaParserConfigurator.createContext(typeIndex, jarDirectoryPath, settings);
+        this.sourceFingerprint = sourceFingerprint;
+        this.reuseCount = 0;
+        return this.parsingContext;
+    }
+
+    /**
+     * 引数のプロジェクトに対して、再利用できるコンテキストを保持しているかどうかを応答する。
+     * 
+     * @param sourceRootPath    ソースコードのルートパス
+     * @param jarDirectoryPath  ライブラリのディレクトリのパス
+     * @param settings          TypeSolverを構築する際の設定
+     * @param sourceFingerprint ソースコードの指紋(不明な場合はnull)
+     * @return 再利用できるコンテキストを保持していればtrue
+     */
+    public synchronized Boolean isWarmFor(Path sourceRootPath, Path jarDirectoryPath, TypeSolverSettings settings,
+            String sourceFingerprint) {
+        return this.parsingContext != null
+                && this.parsingContext.isBuiltFrom(sourceRootPath, jarDirectoryPath, settings)
+                && Objects.equals(this.sourceFingerprint, sourceFingerprint);
+    }
+
+    /**
+     * 保持しているコンテキストを手放す。次のparsingContextの呼び出しでは必ず作り直す。
+     */
+    public synchronized void invalidate() {
+        this.parsingContext = null;
+        this.sourceFingerprint = null;
+        this.reuseCount = 0;
+        return;
+    }
+
+    /**
+     * 保持しているコンテキストを再利用したことを記録し、そのコンテキストを応答する。
+     * 
+     * @return 保持しているコンテキスト
+     */
+    private ParsingContext reuseParsingContext() {
+        this.reuseCount++;
+        System.out.println("シンボル解決のセッションを再利用: " + this.reuseCount + " 回目");
+        return this.parsingContext;
+    }
+
+    /**
+     * フィールド変数 reuseCount を返す。
+     * 
+     * @return 保持しているコンテキストを再利用した回数
+     */
+    public synchronized Integer reuseCount() {
+        return this.reuseCount;
+    }
+}
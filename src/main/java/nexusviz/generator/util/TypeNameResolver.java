@@ -0,0 +1,394 @@
+package nexusviz.generator.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.TypeParameter;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+
+import nexusviz.generator.project.ProjectTypeIndex;
+
+/**
+ * 型の名前を、記号解決を行わずにコンパイルユニットのインポート宣言とパッケージから解決するクラス。
+ * 単一型インポート、同じパッケージの型、オンデマンドインポート(java.langを含む)の順に候補を探し、
+ * 候補の型が実在することをプロジェクトの型の索引とTypeSolverで確かめる。
+ * 入れ子の型・局所クラス・型パラメータ・継承したメンバ型・staticインポートが同じ名前を隠し得る場合や、
+ * 候補が一つに定まらない場合は解決せず、呼び出し元にJavaParserの記号解決を委ねる。
+ * 段階ごとの解決数を数え、解析の終わりに出力する。
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public class TypeNameResolver extends Object {
+    /**
+     * コンパイルユニットのノードに記憶する、インポートの表のキーを束縛する。
+     */
+    private static final DataKey<ImportTable> IMPORT_TABLE_KEY = new DataKey<>() {
+    };
+
+    /**
+     * 型宣言のノードに記憶する、継承したメンバ型の単純名の集合のキーを束縛する。継承元を解決できなかった場合は空。
+     */
+    private static final DataKey<Optional<Set<String>>> INHERITED_MEMBER_TYPES_KEY = new DataKey<>() {
+    };
+
+    /**
+     * プロジェクトの型の索引を束縛する。nullの場合は型の実在をTypeSolverだけで確かめる。
+     */
+    private final ProjectTypeIndex typeIndex;
+
+    /**
+     * 型の実在を確かめるTypeSolverを束縛する。
+     */
+    private final TypeSolver typeSolver;
+
+    /**
+     * 単一型インポートで解決した数を束縛する。
+     */
+    private Integer singleImportCount;
+
+    /**
+     * 同じパッケージの型として解決した数を束縛する。
+     */
+    private Integer samePackageCount;
+
+    /**
+     * オンデマンドインポート(java.langを含む)で解決した数を束縛する。
+     */
+    private Integer onDemandImportCount;
+
+    /**
+     * 記号解決に委ねた数を束縛する。
+     */
+    private Integer fallbackCount;
+
+    /**
+     * コンパイルユニット一つ分のインポート宣言と、名前を隠し得る宣言をまとめたレコード。
+     * 
+     * @param packageName       パッケージ名(無名パッケージの場合は空文字列)
+     * @param singleImports     単一型インポートの単純名と完全修飾名のマップ
+     * @param onDemandPackages  オンデマンドインポートのパッケージ名や型名(java.langを含む)
+     * @param shadowingNames    入れ子の型・局所クラス・型パラメータ・staticインポートの単純名
+     * @param hasStaticOnDemand staticのオンデマンドインポートがあるかどうか
+     */
+    private record ImportTable(String packageName, Map<String, String> singleImports, List<String> onDemandPackages,
+            Set<String> shadowingNames, Boolean hasStaticOnDemand) {
+    }
+
+    /**
+     * プロジェクトの型の索引と、型の実在を確かめるTypeSolverを指定するコンストラクタ。
+     * 
+     * @param typeIndex  プロジェクトの型の索引(nullの場合はTypeSolverだけで確かめる)
+     * @param typeSolver 型の実在を確かめるTypeSolver
+     */
+    public TypeNameResolver(ProjectTypeIndex typeIndex, TypeSolver typeSolver) {
+        this.typeIndex = typeIndex;
+        this.typeSolver = typeSolver;
+        this.singleImportCount = 0;
+        this.samePackageCount = 0;
+        this.onDemandImportCount = 0;
+        this.fallbackCount = 0;
+        return;
+    }
+
+    /**
+     * 型の完全修飾名を、インポート宣言とパッケージだけから解決して応答する。
+     * 解決できない場合や、記号解決と異なる結果になり得る場合は空を応答する。
+     * 
+     * @param type 型情報
+     * @return 型の完全修飾名(記号解決に委ねる場合は空)
+     */
+    public Optional<String> resolveQualifiedName(ClassOrInterfaceType type) {
+        Optional<String> qualifiedName = resolveWithoutCounting(type);
+        synchronized (this) {
+            if (qualifiedName.isEmpty()) {
+                this.fallbackCount++;
+            }
+        }
+        return qualifiedName;
+    }
+
+    /**
+     * 段階ごとの解決数を標準出力に出力する。
+     */
+    public synchronized void printSummary() {
+        System.out.println("型の名前の解決: 単一型インポート " + this.singleImportCount + " 件, 同一パッケージ "
+                + this.samePackageCount + " 件, オンデマンド " + this.onDemandImportCount + " 件, 記号解決 "
+                + this.fallbackCount + " 件");
+        return;
+    }
+
+    /**
+     * フィールド変数 singleImportCount を返す。
+     * 
+     * @return 単一型インポートで解決した数
+     */
+    public synchronized Integer singleImportCount() {
+        return this.singleImportCount;
+    }
+
+    /**
+     * フィールド変数 samePackageCount を返す。
+     * 
+     * @return 同じパッケージの型として解決した数
+     */
+    public synchronized Integer samePackageCount() {
+        return this.samePackageCount;
+    }
+
+    /**
+     * フィールド変数 onDemandImportCount を返す。
+     * 
+     * @return オンデマンドインポート(java.langを含む)で解決した数
+     */
+    public synchronized Integer onDemandImportCount() {
+        return this.onDemandImportCount;
+    }
+
+    /**
+     * フィールド変数 fallbackCount を返す。
+     * 
+     * @return 記号解決に委ねた数
+     */
+    public synchronized Integer fallbackCount() {
+        return this.fallbackCount;
+    }
+
+    /**
+     * 型の完全修飾名を、インポート宣言とパッケージだけから解決して応答する。解決数は数えない。
+     * 
+     * @param type 型情報
+     * @return 型の完全修飾名(記号解決に委ねる場合は空)
+     */
+    private Optional<String> resolveWithoutCounting(ClassOrInterfaceType type) {
+        // 修飾された名前は対象としない
+        if (type.getScope().isPresent()) {
+            return Optional.empty();
+        }
+        CompilationUnit compilationUnit = type.findCompilationUnit().orElse(null);
+        if (compilationUnit == null) {
+            return Optional.empty();
+        }
+
+        // 同じ名前を隠し得る宣言がある場合は記号解決に委ねる
+        String simpleName = type.getNameAsString();
+        ImportTable importTable = importTableOf(compilationUnit);
+        if (importTable.hasStaticOnDemand() || importTable.shadowingNames().contains(simpleName)
+                || mayInheritMemberType(type, simpleName)) {
+            return Optional.empty();
+        }
+
+        // 単一型インポート
+        String importedName = importTable.singleImports().get(simpleName);
+        if (importedName != null) {
+            if (!exists(importedName)) {
+                return Optional.empty();
+            }
+            synchronized (this) {
+                this.singleImportCount++;
+            }
+            return Optional.of(importedName);
+        }
+
+        // 同じパッケージの型
+        String samePackageName = importTable.packageName().isEmpty()
+                ? simpleName
+                : importTable.packageName() + "." + simpleName;
+        if (exists(samePackageName)) {
+            synchronized (this) {
+                this.samePackageCount++;
+            }
+            return Optional.of(samePackageName);
+        }
+
+        // オンデマンドインポートは、候補がちょうど一つの場合だけ解決する
+        List<String> candidates = importTable.onDemandPackages().stream()
+                .map(packageName -> packageName + "." + simpleName)
+                .filter(candidate -> exists(candidate))
+                .distinct()
+                .toList();
+        if (candidates.size() != 1) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            this.onDemandImportCount++;
+        }
+        return Optional.of(candidates.get(0));
+    }
+
+    /**
+     * 完全修飾名の型が実在するかどうかを、プロジェクトの型の索引とTypeSolverで確かめて応答する。
+     * 索引にある型でも、パッケージに対応するディレクトリの同名のファイルで宣言されていない型は、
+     * ソースコードのTypeSolverが見つけられないため、TypeSolverで確かめる。
+     * 
+     * @param qualifiedName 型の完全修飾名
+     * @return 実在すればtrue
+     */
+    private Boolean exists(String qualifiedName) {
+        if (this.typeIndex != null) {
+            Path expectedPath = this.typeIndex.sourceRootPath().resolve(qualifiedName.replace('.', '/') + ".java");
+            if (this.typeIndex.sourcePathOf(qualifiedName).filter(path -> path.equals(expectedPath)).isPresent()) {
+                return true;
+            }
+        }
+        try {
+            return this.typeSolver.tryToSolveType(qualifiedName).isSolved();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 型を囲む宣言が、同じ単純名のメンバ型を継承している可能性があるかどうかを応答する。
+     * 囲む型宣言ごとに、継承したメンバ型の単純名を一度だけ求めて記憶する。
+     * 匿名クラスと列挙定数の本体の中、および継承元を解決できなかった型宣言の中では常に可能性があるものとする。
+     * 
+     * @param type       型情報
+     * @param simpleName 型の単純名
+     * @return 可能性があればtrue
+     */
+    private Boolean mayInheritMemberType(ClassOrInterfaceType type, String simpleName) {
+        Node node = type.getParentNode().orElse(null);
+        while (node != null) {
+            if (node instanceof ObjectCreationExpr creationExpr && creationExpr.getAnonymousClassBody().isPresent()) {
+                return true;
+            }
+            if (node instanceof EnumConstantDeclaration enumConstant && !enumConstant.getClassBody().isEmpty()) {
+                return true;
+            }
+            if (node instanceof TypeDeclaration<?> typeDeclaration) {
+                Optional<Set<String>> memberTypeNames = inheritedMemberTypeNamesOf(typeDeclaration);
+                if (memberTypeNames.isEmpty() || memberTypeNames.get().contains(simpleName)) {
+                    return true;
+                }
+            }
+            node = node.getParentNode().orElse(null);
+        }
+        return false;
+    }
+
+    /**
+     * 型宣言が継承したメンバ型の単純名の集合を応答する。
+     * 
+     * @param typeDeclaration 型宣言
+     * @return 継承したメンバ型の単純名の集合(継承元を解決できなかった場合は空)
+     */
+    private Optional<Set<String>> inheritedMemberTypeNamesOf(TypeDeclaration<?> typeDeclaration) {
+        Node rootNode = typeDeclaration.findRootNode();
+        synchronized (rootNode) {
+            if (typeDeclaration.containsData(INHERITED_MEMBER_TYPES_KEY)) {
+                return typeDeclaration.getData(INHERITED_MEMBER_TYPES_KEY);
+            }
+        }
+
+        // 継承元を持たないクラスとインタフェースは、Objectのみを継承し、メンバ型を継承しない
+        Optional<Set<String>> memberTypeNames;
+        if (typeDeclaration instanceof ClassOrInterfaceDeclaration declaration
+                && declaration.getExtendedTypes().isEmpty() && declaration.getImplementedTypes().isEmpty()) {
+            memberTypeNames = Optional.of(Set.of());
+        } else {
+            memberTypeNames = resolveInheritedMemberTypeNames(typeDeclaration);
+        }
+
+        synchronized (rootNode) {
+            typeDeclaration.setData(INHERITED_MEMBER_TYPES_KEY, memberTypeNames);
+        }
+        return memberTypeNames;
+    }
+
+    /**
+     * 型宣言のすべての継承元を記号解決し、それらが宣言するメンバ型の単純名の集合を応答する。
+     * 記号解決は、ほかのスレッドの記号解決と排他して行う。
+     * 
+     * @param typeDeclaration 型宣言
+     * @return 継承したメンバ型の単純名の集合(継承元を解決できなかった場合は空)
+     */
+    private static Optional<Set<String>> resolveInheritedMemberTypeNames(TypeDeclaration<?> typeDeclaration) {
+        try {
+            Set<String> memberTypeNames = new HashSet<>();
+            synchronized (TypeUtils.SYMBOL_SOLVER_LOCK) {
+                for (ResolvedReferenceType ancestor : typeDeclaration.resolve().getAllAncestors()) {
+                    Optional<ResolvedReferenceTypeDeclaration> ancestorDeclaration = ancestor.getTypeDeclaration();
+                    if (ancestorDeclaration.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    ancestorDeclaration.get().internalTypes().forEach(
+                            memberType -> memberTypeNames.add(memberType.getName()));
+                }
+            }
+            return Optional.of(memberTypeNames);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * コンパイルユニットのインポートの表を、初めて必要になった時点で作ってノードに記憶し、応答する。
+     * 
+     * @param compilationUnit コンパイルユニット
+     * @return インポートの表
+     */
+    private static ImportTable importTableOf(CompilationUnit compilationUnit) {
+        synchronized (compilationUnit) {
+            if (!compilationUnit.containsData(IMPORT_TABLE_KEY)) {
+                compilationUnit.setData(IMPORT_TABLE_KEY, createImportTable(compilationUnit));
+            }
+            return compilationUnit.getData(IMPORT_TABLE_KEY);
+        }
+    }
+
+    /**
+     * コンパイルユニットのインポート宣言と、名前を隠し得る宣言を集めてインポートの表を作る。
+     * 
+     * @param compilationUnit コンパイルユニット
+     * @return インポートの表
+     */
+    private static ImportTable createImportTable(CompilationUnit compilationUnit) {
+        String packageName = compilationUnit.getPackageDeclaration().map(pkg -> pkg.getNameAsString()).orElse("");
+        Map<String, String> singleImports = new HashMap<>();
+        List<String> onDemandPackages = new ArrayList<>();
+        Set<String> shadowingNames = new HashSet<>();
+        Boolean hasStaticOnDemand = false;
+        for (ImportDeclaration importDeclaration : compilationUnit.getImports()) {
+            String importName = importDeclaration.getNameAsString();
+            if (importDeclaration.isStatic()) {
+                // staticインポートはメンバ型を取り込み得る
+                if (importDeclaration.isAsterisk()) {
+                    hasStaticOnDemand = true;
+                } else {
+                    shadowingNames.add(importDeclaration.getName().getIdentifier());
+                }
+            } else if (importDeclaration.isAsterisk()) {
+                onDemandPackages.add(importName);
+            } else {
+                singleImports.put(importDeclaration.getName().getIdentifier(), importName);
+            }
+        }
+        onDemandPackages.add("java.lang");
+
+        // トップレベル以外の型宣言と型パラメータは、インポートや同じパッケージの型を隠し得る
+        compilationUnit.findAll(TypeDeclaration.class).stream()
+                .filter(typeDeclaration -> !typeDeclaration.isTopLevelType())
+                .forEach(typeDeclaration -> shadowingNames.add(typeDeclaration.getNameAsString()));
+        compilationUnit.findAll(TypeParameter.class)
+                .forEach(typeParameter -> shadowingNames.add(typeParameter.getNameAsString()));
+        return new ImportTable(packageName, singleImports, onDemandPackages, shadowingNames, hasStaticOnDemand);
+    }
+}
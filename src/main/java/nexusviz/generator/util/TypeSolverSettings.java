@@ -0,0 +1,23 @@
+package nexusviz.generator.util;
+
+import java.nio.file.Path;
+
+import nexusviz.generator.solver.JarVersionPolicy;
+
+/**
+ * 構文解析のコンテキストのTypeSolverを構築する際の設定を表すレコード。
+ * コンテキストを生成するたびに引数として渡し、コンテキストは自身を構築した設定を保持する。
+ * 
+ * @param jdkHome           型を解決するJDKのホームディレクトリ(nullの場合は解析を行うJVMのJDKを用いる)
+ * @param jarIndexDirectory JARファイルのクラスの名前の索引を格納するディレクトリ(nullの場合は索引をディスクに保存しない)
+ * @param jarVersionPolicy  同じアーティファクトの異なるバージョンのJARファイルが見つかった場合の方針
+ * 
+ * @author Ishiguro
+ * @version 1.0
+ */
+public record TypeSolverSettings(Path jdkHome, Path jarIndexDirectory, JarVersionPolicy jarVersionPolicy) {
+    /**
+     * 既定の設定を束縛する。解析を行うJVMのJDKを用い、索引をディスクに保存せず、最も新しいバージョンのJARファイルだけを用いる。
+     */
+    public static final TypeSolverSettings DEFAULT = new TypeSolverSettings(null, null, JarVersionPolicy.NEWEST);
+}
@@ -1,11 +1,13 @@
 package nexusviz.generator.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.CompactConstructorDeclaration;
@@ -14,12 +16,18 @@ import com.github.javaparser.ast.body.InitializerDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.LocalClassDeclarationStmt;
+import com.github.javaparser.ast.stmt.LocalRecordDeclarationStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
 
+import nexusviz.generator.result.ResolutionFailureCategory;
+
 /**
  * 型に関する汎用的な操作を行うユーティリティクラス。
  * 
@@ -27,6 +35,43 @@ import com.github.javaparser.resolution.types.ResolvedType;
  * @version 1.0
  */
 public class TypeUtils extends Object {
+    /**
+     * 解析を行うスレッドごとに、記号解決の失敗の報告先を束縛する。
+     * 報告先が設定されていないスレッドでは、失敗の説明を標準エラー出力に出力する。
+     */
+    private static final ThreadLocal<ResolutionFailureReporter> FAILURE_REPORTER = new ThreadLocal<>();
+
+    /**
+     * 解析を行うスレッドごとに、記号解決の前に試す型の名前の解決器を束縛する。
+     * 解決器が設定されていないスレッドでは、常に記号解決を行う。
+     */
+    private static final ThreadLocal<TypeNameResolver> TYPE_NAME_RESOLVER = new ThreadLocal<>();
+
+    /**
+     * 記号解決を排他するためのロックを束縛する。
+     * JavaSymbolSolverとそれが用いるJavaParserFacade、TypeSolverは並行な解決に対応しないため、
+     * 関係情報を並列に抽出するワーカをまたいで、記号解決を一つずつ行う。
+     */
+    static final Object SYMBOL_SOLVER_LOCK = new Object();
+
+    /**
+     * 宣言のノードに記憶する、その宣言までの修飾名のキーを束縛する。
+     */
+    private static final DataKey<String> QUALIFIED_PATH_KEY = new DataKey<>() {
+    };
+
+    /**
+     * 名前を解決する範囲となる宣言のノードに記憶する、型の文字列と解決した結果のマップのキーを束縛する。
+     */
+    private static final DataKey<Map<String, ResolvedScope>> RESOLVED_SCOPES_KEY = new DataKey<>() {
+    };
+
+    /**
+     * 呼び出し可能宣言のノードに記憶する、シグネチャのキーを束縛する。
+     */
+    private static final DataKey<String> SIGNATURE_KEY = new DataKey<>() {
+    };
+
     /**
      * インスタンス化を防止するためのコンストラクタ。
      */
@@ -35,91 +80,174 @@ public class TypeUtils extends Object {
 
     /**
      * 引数で受け取ったTypeの完全修飾スコープ名を応答する。
+     * 解決した結果は、型の名前を解決する範囲となる最も内側の宣言のノードに、型の文字列をキーとして記憶する。
+     * 同じ範囲に同じ文字列の型が再び現れた場合は、記号解決を行わずに記憶した結果を応答する。
+     * 解決に失敗した場合は空文字列とともに失敗の種類と名前を記憶し、記憶した結果を用いるたびに、
+     * 呼び出し元のスレッドの報告先へ失敗を報告し直す。そのため、同じ構文木を後から解析する解析器にも失敗が数えられる。
      * 
      * @param type 型情報
      * @return 完全修飾スコープ名
      */
     public static String getFullyQualifiedScope(Type type) {
-        try {
-            ResolvedType resolvedType = type.resolve();
+        Node scopeNode = findResolutionScope(type);
+        if (scopeNode == null) {
+            return resolveFullyQualifiedScope(type).fullyQualifiedScope();
+        }
 
-            // 参照型の場合
-            if (resolvedType.isReferenceType()) {
-                ResolvedReferenceType resolvedReferenceType = resolvedType.asReferenceType();
+        // 宣言の見出しにある型(継承・実装する型)は、本体の中の同名の型と区別する
+        Boolean isHeaderType = type.getParentNode().orElse(null) == scopeNode;
+        String typeKey = (isHeaderType ? "^" : "") + type.asString();
 
-                Optional<ResolvedReferenceTypeDeclaration> typeDeclarationOpt = resolvedReferenceType
-                        .getTypeDeclaration();
-                if (typeDeclarationOpt.isPresent()) {
-                    Optional<Node> nodeOpt = typeDeclarationOpt.get().toAst();
+        // 記号解決は排他の外で行う
+        Node rootNode = scopeNode.findRootNode();
+        ResolvedScope cachedScope = null;
+        synchronized (rootNode) {
+            if (scopeNode.containsData(RESOLVED_SCOPES_KEY)) {
+                cachedScope = scopeNode.getData(RESOLVED_SCOPES_KEY).get(typeKey);
+            }
+        }
+        if (cachedScope != null) {
+            if (cachedScope.failureCategory() != null) {
+                reportFailure(cachedScope.failureCategory(), cachedScope.failedSymbolName(),
+                        cachedScope.failureMessage());
+            }
+            return cachedScope.fullyQualifiedScope();
+        }
+        ResolvedScope resolvedScope = resolveFullyQualifiedScope(type);
+        synchronized (rootNode) {
+            if (!scopeNode.containsData(RESOLVED_SCOPES_KEY)) {
+                scopeNode.setData(RESOLVED_SCOPES_KEY, new HashMap<>());
+            }
+            scopeNode.getData(RESOLVED_SCOPES_KEY).putIfAbsent(typeKey, resolvedScope);
+        }
+        return resolvedScope.fullyQualifiedScope();
+    }
 
-                    if (nodeOpt.isPresent() && nodeOpt.get() instanceof TypeDeclaration<?> typeDeclaration) {
-                        return getFullyQualifiedScope(typeDeclaration);
+    /**
+     * 引数で受け取ったTypeを解決し、完全修飾スコープ名を応答する。
+     * 呼び出し元のスレッドに型の名前の解決器が設定されていれば、まずインポート宣言とパッケージから解決し、
+     * それで定まらない場合だけ、ほかのスレッドの記号解決と排他して記号解決を行う。
+     * 
+     * @param type 型情報
+     * @return 解決した結果(解決に失敗した場合は失敗を報告し、空文字列と失敗の種類と名前を応答する)
+     */
+    private static ResolvedScope resolveFullyQualifiedScope(Type type) {
+        TypeNameResolver typeNameResolver = TYPE_NAME_RESOLVER.get();
+        if (typeNameResolver != null && type.isClassOrInterfaceType()) {
+            Optional<String> qualifiedName = typeNameResolver.resolveQualifiedName(type.asClassOrInterfaceType());
+            if (qualifiedName.isPresent()) {
+                Integer lastDotIndex = qualifiedName.get().lastIndexOf(".");
+                return ResolvedScope.of(lastDotIndex == -1 ? "" : qualifiedName.get().substring(0, lastDotIndex));
+            }
+        }
+
+        try {
+            // 解決した宣言の構文木の辿り方も記号解決器に依存するため、完全修飾名を得るまで排他する
+            Optional<Node> nodeOpt = Optional.empty();
+            String qualifiedName = null;
+            synchronized (SYMBOL_SOLVER_LOCK) {
+                ResolvedType resolvedType = type.resolve();
+
+                // 参照型の場合
+                if (resolvedType.isReferenceType()) {
+                    ResolvedReferenceType resolvedReferenceType = resolvedType.asReferenceType();
+
+                    Optional<ResolvedReferenceTypeDeclaration> typeDeclarationOpt = resolvedReferenceType
+                            .getTypeDeclaration();
+                    if (typeDeclarationOpt.isPresent()) {
+                        nodeOpt = typeDeclarationOpt.get().toAst();
                     }
+                    qualifiedName = resolvedReferenceType.getQualifiedName();
                 }
-
-                String qualifiedName = resolvedReferenceType.getQualifiedName();
+            }
+            if (nodeOpt.isPresent() && nodeOpt.get() instanceof TypeDeclaration<?> typeDeclaration) {
+                return ResolvedScope.of(getFullyQualifiedScope(typeDeclaration));
+            }
+            if (qualifiedName != null) {
                 Integer lastDotIndex = qualifiedName.lastIndexOf(".");
                 String fullyQualifiedScope = lastDotIndex == -1 ? "" : qualifiedName.substring(0, lastDotIndex);
-                return fullyQualifiedScope;
+                return ResolvedScope.of(fullyQualifiedScope);
             }
         } catch (Exception e) {
-            System.err.println("型の完全修飾スコープ名の取得に失敗: " + type.asString());
+            String typeName = type.asString();
+            Supplier<String> message = () -> "型の完全修飾スコープ名の取得に失敗: " + typeName;
+            reportFailure(ResolutionFailureCategory.TYPE, typeName, message);
+            return new ResolvedScope("", ResolutionFailureCategory.TYPE, typeName, message);
         }
-        return "";
+        return ResolvedScope.of("");
+    }
+
+    /**
+     * 呼び出し元のスレッドでの、記号解決の失敗の報告先を設定する。nullを設定すると標準エラー出力に戻す。
+     * 
+     * @param failureReporter 失敗の種類、解決できなかった名前、失敗の説明を作る関数を受け取る報告先
+     */
+    public static void failureReporter(ResolutionFailureReporter failureReporter) {
+        if (failureReporter == null) {
+            FAILURE_REPORTER.remove();
+        } else {
+            FAILURE_REPORTER.set(failureReporter);
+        }
+        return;
+    }
+
+    /**
+     * 呼び出し元のスレッドでの、型の名前の解決器を設定する。nullを設定すると常に記号解決を行う。
+     * 
+     * @param typeNameResolver 型の名前の解決器
+     */
+    public static void typeNameResolver(TypeNameResolver typeNameResolver) {
+        if (typeNameResolver == null) {
+            TYPE_NAME_RESOLVER.remove();
+        } else {
+            TYPE_NAME_RESOLVER.set(typeNameResolver);
+        }
+        return;
+    }
+
+    /**
+     * 呼び出し元のスレッドに設定された記号解決の失敗の報告先と型の名前の解決器を、引数の関数を実行するスレッドに引き継ぐ関数を応答する。
+     * 応答する関数は、実行の間だけそれらを設定し、実行後はそのスレッドの元の設定に戻す。
+     * 
+     * @param <T>      関数の引数の型
+     * @param <R>      関数の結果の型
+     * @param function 別のスレッドで実行する関数
+     * @return 呼び出し元のスレッドの設定を引き継いで実行する関数
+     */
+    public static <T, R> Function<T, R> withThreadContext(Function<T, R> function) {
+        ResolutionFailureReporter failureReporter = FAILURE_REPORTER.get();
+        TypeNameResolver typeNameResolver = TYPE_NAME_RESOLVER.get();
+        return argument -> {
+            ResolutionFailureReporter previousFailureReporter = FAILURE_REPORTER.get();
+            TypeNameResolver previousTypeNameResolver = TYPE_NAME_RESOLVER.get();
+            failureReporter(failureReporter);
+            typeNameResolver(typeNameResolver);
+            try {
+                return function.apply(argument);
+            } finally {
+                failureReporter(previousFailureReporter);
+                typeNameResolver(previousTypeNameResolver);
+            }
+        };
     }
 
     /**
      * 引数で受け取ったTypeDeclarationの完全修飾スコープ名を応答する。
+     * スコープ名は親の宣言ごとに一度だけ組み立て、宣言のノードに記憶して再利用する。
      * 
      * @param typeDeclaration 型宣言情報
      * @return 完全修飾スコープ名
      */
     public static String getFullyQualifiedScope(TypeDeclaration<?> typeDeclaration) {
-        List<String> scopeParts = new ArrayList<>();
-
         Node parent = typeDeclaration.getParentNode().orElse(null);
-
-        while (parent != null) {
-            // 親が型宣言の場合
-            if (parent instanceof TypeDeclaration<?> parentType) {
-                scopeParts.add(parentType.getNameAsString());
-            }
-
-            // 親がメソッド宣言の場合
-            else if (parent instanceof MethodDeclaration parentMethod) {
-                scopeParts.add(createSignature(parentMethod));
-            }
-
-            // 親がコンストラクタ宣言の場合
-            else if (parent instanceof ConstructorDeclaration parentConstructor) {
-                scopeParts.add(createSignature(parentConstructor));
-            }
-
-            // 親がコンパクトコンストラクタ宣言の場合
-            else if (parent instanceof CompactConstructorDeclaration) {
-                scopeParts.add("CompactConstructor");
-            }
-
-            // 親が初期化ブロックの場合
-            else if (parent instanceof InitializerDeclaration parentInitBlock) {
-                String name = parentInitBlock.isStatic() ? "StaticInitBlock" : "InitBlock";
-                Integer lineNum = parentInitBlock.getBegin().map(position -> position.line).orElse(0);
-                scopeParts.add(name + "-L" + lineNum);
-            }
-
-            // 親がコンパイルユニットの場合
-            else if (parent instanceof CompilationUnit compilationUnit) {
-                compilationUnit.getPackageDeclaration().ifPresent(pkg -> scopeParts.add(pkg.getNameAsString()));
-            }
-
-            parent = parent.getParentNode().orElse(null);
+        if (parent == null) {
+            return "";
         }
 
-        // 逆順にして結合
-        Collections.reverse(scopeParts);
-        String fullyQualifiedScope = String.join(".", scopeParts);
-
-        return fullyQualifiedScope;
+        // ノードに記憶したデータは並行な書き込みに対応しないため、構文木ごとに排他する
+        synchronized (parent.findRootNode()) {
+            return getQualifiedPath(parent);
+        }
     }
 
     /**
@@ -149,12 +277,137 @@ public class TypeUtils extends Object {
     }
 
     /**
-     * 引数の呼び出し可能宣言からシグネチャを作成して応答する。
+     * 引数の型の名前を解決する範囲となる、最も内側の宣言のノードを応答する。
+     * 型宣言・呼び出し可能宣言・匿名クラスを伴うインスタンス生成・コンパイルユニットのいずれかである。
+     * ただし、型の名前がローカルクラスを指す場合は、そのローカルクラスを宣言した最も内側のブロックを範囲とし、
+     * 一つのメソッドの異なるブロックにある同じ名前のローカルクラスを区別する。
+     * 
+     * @param type 型情報
+     * @return 範囲となるノード(構文木に属さない型の場合はnull)
+     */
+    private static Node findResolutionScope(Type type) {
+        String firstName = firstNameOf(type);
+        Node node = type.getParentNode().orElse(null);
+        while (node != null) {
+            if (firstName != null && node instanceof BlockStmt block && declaresLocalType(block, firstName)) {
+                return node;
+            }
+            if (node instanceof TypeDeclaration<?> || node instanceof CallableDeclaration<?>
+                    || node instanceof CompilationUnit) {
+                return node;
+            }
+            if (node instanceof ObjectCreationExpr creationExpr && creationExpr.getAnonymousClassBody().isPresent()) {
+                return node;
+            }
+            node = node.getParentNode().orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * 型の文字列の最も外側の名前を応答する。Outer.Innerの場合はOuterである。
+     * 
+     * @param type 型情報
+     * @return 最も外側の名前(クラス型・インタフェース型でない場合はnull)
+     */
+    private static String firstNameOf(Type type) {
+        if (!type.isClassOrInterfaceType()) {
+            return null;
+        }
+        ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+        while (classType.getScope().isPresent()) {
+            classType = classType.getScope().get();
+        }
+        return classType.getNameAsString();
+    }
+
+    /**
+     * ブロックが、引数の名前のローカルクラスもしくはローカルレコードを直接宣言しているかどうかを応答する。
+     * 
+     * @param block ブロック
+     * @param name  型の名前
+     * @return 宣言している場合はtrue
+     */
+    private static Boolean declaresLocalType(BlockStmt block, String name) {
+        return block.getStatements().stream().anyMatch(statement -> {
+            if (statement instanceof LocalClassDeclarationStmt localClass) {
+                return localClass.getClassDeclaration().getNameAsString().equals(name);
+            }
+            if (statement instanceof LocalRecordDeclarationStmt localRecord) {
+                return localRecord.getRecordDeclaration().getNameAsString().equals(name);
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 引数のノードと、その祖先の宣言の名前を外側から「.」で結合した修飾名を応答する。
+     * 型宣言・呼び出し可能宣言・初期化ブロック・コンパイルユニットの修飾名はノードに記憶し、
+     * 二度目以降は記憶したものを応答する。それ以外のノードは親の修飾名をそのまま応答する。
+     * 呼び出し元で構文木ごとに排他する必要がある。
+     * 
+     * @param node ノード
+     * @return 修飾名(名前を持つ祖先がない場合は空文字列)
+     */
+    private static String getQualifiedPath(Node node) {
+        if (node.containsData(QUALIFIED_PATH_KEY)) {
+            return node.getData(QUALIFIED_PATH_KEY);
+        }
+
+        String scopePart = null;
+
+        // 型宣言の場合
+        if (node instanceof TypeDeclaration<?> typeDeclaration) {
+            scopePart = typeDeclaration.getNameAsString();
+        }
+
+        // メソッド宣言・コンストラクタ宣言の場合
+        else if (node instanceof MethodDeclaration || node instanceof ConstructorDeclaration) {
+            scopePart = createSignature((CallableDeclaration<?>) node);
+        }
+
+        // コンパクトコンストラクタ宣言の場合
+        else if (node instanceof CompactConstructorDeclaration) {
+            scopePart = "CompactConstructor";
+        }
+
+        // 初期化ブロックの場合
+        else if (node instanceof InitializerDeclaration initBlock) {
+            String name = initBlock.isStatic() ? "StaticInitBlock" : "InitBlock";
+            Integer lineNum = initBlock.getBegin().map(position -> position.line).orElse(0);
+            scopePart = name + "-L" + lineNum;
+        }
+
+        // コンパイルユニットの場合
+        else if (node instanceof CompilationUnit compilationUnit) {
+            scopePart = compilationUnit.getPackageDeclaration().map(pkg -> pkg.getNameAsString()).orElse("");
+        }
+
+        // 名前を持たないノードは、記憶せずに親の修飾名を用いる
+        Node parent = node.getParentNode().orElse(null);
+        if (scopePart == null) {
+            return parent == null ? "" : getQualifiedPath(parent);
+        }
+
+        String parentPath = parent == null ? "" : getQualifiedPath(parent);
+        String qualifiedPath = parentPath.isEmpty() || scopePart.isEmpty()
+                ? parentPath + scopePart
+                : parentPath + "." + scopePart;
+        node.setData(QUALIFIED_PATH_KEY, qualifiedPath);
+        return qualifiedPath;
+    }
+
+    /**
+     * 引数の呼び出し可能宣言からシグネチャを作成して応答する。作成したシグネチャは宣言のノードに記憶し、再利用する。
      * 
      * @param callableDeclaration 呼び出し可能宣言
      * @return シグネチャ
      */
     private static String createSignature(CallableDeclaration<?> callableDeclaration) {
+        if (callableDeclaration.containsData(SIGNATURE_KEY)) {
+            return callableDeclaration.getData(SIGNATURE_KEY);
+        }
+
         StringBuilder signature = new StringBuilder();
         signature.append(callableDeclaration.getNameAsString());
         signature.append("(");
@@ -166,6 +419,46 @@ public class TypeUtils extends Object {
             delimiter = ",";
         }
         signature.append(")");
+        callableDeclaration.setData(SIGNATURE_KEY, signature.toString());
         return signature.toString();
     }
+
+    /**
+     * 記号解決の失敗を、呼び出し元のスレッドの報告先へ報告する。
+     * 
+     * @param category   失敗の種類
+     * @param symbolName 解決できなかった名前
+     * @param message    失敗の説明を作る関数
+     */
+    private static void reportFailure(ResolutionFailureCategory category, String symbolName,
+            Supplier<String> message) {
+        ResolutionFailureReporter failureReporter = FAILURE_REPORTER.get();
+        if (failureReporter == null) {
+            System.err.println(message.get());
+        } else {
+            failureReporter.report(category, symbolName, message);
+        }
+        return;
+    }
+
+    /**
+     * 型の完全修飾スコープ名を解決した結果を表すレコード。解決に失敗した場合は、報告し直すための失敗の種類と名前を持つ。
+     * 
+     * @param fullyQualifiedScope 完全修飾スコープ名(解決に失敗した場合は空文字列)
+     * @param failureCategory     失敗の種類(解決に成功した場合はnull)
+     * @param failedSymbolName    解決できなかった名前(解決に成功した場合はnull)
+     * @param failureMessage      失敗の説明を作る関数(解決に成功した場合はnull)
+     */
+    private record ResolvedScope(String fullyQualifiedScope, ResolutionFailureCategory failureCategory,
+            String failedSymbolName, Supplier<String> failureMessage) {
+        /**
+         * 解決に成功した結果を応答する。
+         * 
+         * @param fullyQualifiedScope 完全修飾スコープ名
+         * @return 解決した結果
+         */
+        private static ResolvedScope of(String fullyQualifiedScope) {
+            return new ResolvedScope(fullyQualifiedScope, null, null, null);
+        }
+    }
 }
@@ -43,6 +43,12 @@ public class Constants extends Object {
 	 */
 	public static final String GENERATE_DEPENDENCY = "GenerateDependency";
 
+	/**
+	 * ポップアップメニューのコマンド。
+	 * 型の解決に用いるJDKを選択する。
+	 */
+	public static final String SET_JDK = "SetJdk";
+
 	/**
 	 * プロジェクトが選択されていない場合の戻り値。
 	 */
@@ -98,6 +104,26 @@ public class Constants extends Object {
 	 */
 	public static final int METHOD_SELECTED_INFORMATION = 11;
 
+	/**
+	 * 選択されたディレクトリがJDKのホームディレクトリでない場合の戻り値。
+	 */
+	public static final int NOT_JDK_HOME_ERROR = 12;
+
+	/**
+	 * JDKがセットされた場合の戻り値。
+	 */
+	public static final int JDK_SET_INFORMATION = 13;
+
+	/**
+	 * プロジェクトの選択時に一覧で示す型名の最大数。
+	 */
+	public static final int TYPE_LIST_PREVIEW_SIZE = 20;
+
+	/**
+	 * 解析時にファイルごとに許す解析時間の上限(秒)。これを超えたファイルは解析を省略する。
+	 */
+	public static final int FILE_TIME_BUDGET_SECONDS = 60;
+
 	/**
 	 * インスタンス化を防止するためのコンストラクタ。
 	 */
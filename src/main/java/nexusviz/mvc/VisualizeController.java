@@ -6,7 +6,10 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
@@ -15,13 +18,22 @@ import javax.swing.SwingUtilities;
 
 import mvc.Controller;
 import mvc.View;
+import nexusviz.generator.analyzer.AbstractAnalyzer;
 import nexusviz.generator.analyzer.DependencyAnalyzer;
 import nexusviz.generator.analyzer.StructuralAnalyzer;
+import nexusviz.generator.cache.AnalysisCache;
 import nexusviz.generator.converter.DependencyConverter;
 import nexusviz.generator.converter.StructuralConverter;
 import nexusviz.generator.model.dependency.CallerMethodInfo;
 import nexusviz.generator.model.dependency.DependencyInfo;
+import nexusviz.generator.project.DiscoveredSources;
+import nexusviz.generator.project.ParsedProjectSnapshot;
+import nexusviz.generator.project.ProjectTypeIndex;
+import nexusviz.generator.project.SourceDiscovery;
 import nexusviz.generator.result.StructuralAnalysisResult;
+import nexusviz.generator.solver.JarVersionPolicy;
+import nexusviz.generator.util.ParsingContext;
+import nexusviz.generator.util.TypeSolverSettings;
 
 /**
  * MVCモデルのコントローラに相当するクラス。
@@ -84,6 +96,12 @@ public class VisualizeController extends Controller {
 
 				break;
 			}
+			case Constants.SET_JDK -> {
+				System.out.println(aCommand);
+				this.clickedSetJdk();
+
+				break;
+			}
 			case Constants.SELECT_METHOD -> {
 				System.out.println(aCommand);
 				this.clickedSelectMethod();
@@ -164,10 +182,10 @@ public class VisualizeController extends Controller {
 			// 依存解析を実行する
 			try {
 				DependencyAnalyzer dependencyAnalyzer = new DependencyAnalyzer();
+				dependencyAnalyzer.cacheDirectory(AnalysisCache.DEFAULT_DIRECTORY);
+				dependencyAnalyzer.fileTimeBudget(Duration.ofSeconds(Constants.FILE_TIME_BUDGET_SECONDS));
 				// 解析結果をモデルにセットする
-				this.visualizeModel
-						.dependencyAnalysisResult(dependencyAnalyzer.analyze(this.visualizeModel.selectedDirectory(),
-								this.visualizeModel.selectedLibraryDirectory()));
+				this.visualizeModel.dependencyAnalysisResult(dependencyAnalyzer.analyze(this.parsedProjectSnapshot()));
 
 				if (this.visualizeModel.dependencyAnalysisResult().hasError()) {
 					this.visualizeView.showErrorDialog(Constants.DEPENDENCY_ANALYSIS_ERROR);
@@ -201,11 +219,12 @@ public class VisualizeController extends Controller {
 			try {
 				StructuralConverter structuralConverter = new StructuralConverter();
 				StructuralAnalyzer structuralAnalyzer = new StructuralAnalyzer();
+				structuralAnalyzer.cacheDirectory(AnalysisCache.DEFAULT_DIRECTORY);
+				structuralAnalyzer.fileTimeBudget(Duration.ofSeconds(Constants.FILE_TIME_BUDGET_SECONDS));
 
 				// 解析結果をモデルにセットする
-				StructuralAnalysisResult structuralAnalysisResult = structuralAnalyzer.analyze(
-						this.visualizeModel.selectedDirectory(),
-						this.visualizeModel.selectedLibraryDirectory());
+				StructuralAnalysisResult structuralAnalysisResult = structuralAnalyzer
+						.analyze(this.parsedProjectSnapshot());
 
 				// Javaプロジェクトでない(解析結果がnull)場合、エラーダイアログを表示して処理を中断する
 				if (structuralAnalysisResult == null) {
@@ -262,6 +281,123 @@ public class VisualizeController extends Controller {
 		return;
 	}
 
+	/**
+	 * 選択されているプロジェクトとライブラリに対応する、構文解析済みのプロジェクトのスナップショットを応答する。
+	 * 操作のたびにソースファイルを探索し直し、変わったファイルがあれば型の索引を作り直してセッションに渡す。
+	 * セッションは、選択されているディレクトリ、TypeSolverの設定、索引から求めたソースコードの指紋が
+	 * いずれも前回と同じ場合にだけコンテキストを再利用し、ライブラリの読み込みと型の解決結果を引き継ぐ。
+	 * モデルが保持しているスナップショットは、そのコンテキストで構築され、構築後にソースファイルが変わっていない場合にだけ
+	 * 再利用し、そうでなければ構築し直してモデルにセットする。スナップショットは解析器が要求したファイルだけを構文解析する。
+	 * スナップショットは構造解析と依存解析のどちらが先に要求しても同じものを作るため、解析を切り替えても構文解析し直さない。
+	 * 再利用できるかどうかの確認には、ディレクトリの探索と、ファイルごとのバイト数と最終更新時刻の取得を要する。
+	 * ファイルの読み込みと構文解析は行わないが、ファイルの数に比例するため、その所要時間を標準出力に出力する。
+	 * 
+	 * @return 構文解析済みのプロジェクトのスナップショット
+	 */
+	private ParsedProjectSnapshot parsedProjectSnapshot() {
+		Path selectedDirectory = this.visualizeModel.selectedDirectory();
+		Path selectedLibraryDirectory = this.visualizeModel.selectedLibraryDirectory();
+
+		// 現在のソースファイルの型の索引を求め、その指紋でセッションのコンテキストを引く
+		Long checkStartTime = System.nanoTime();
+		List<Path> sourcePaths = this.discoverSourcePaths(selectedDirectory);
+		ProjectTypeIndex typeIndex = this.currentProjectTypeIndex(selectedDirectory, sourcePaths);
+		ParsingContext parsingContext = typeIndex != null
+				? this.visualizeModel.symbolSolvingSession().parsingContext(typeIndex, selectedLibraryDirectory,
+						this.typeSolverSettings())
+				: this.visualizeModel.symbolSolvingSession().parsingContext(selectedDirectory,
+						selectedLibraryDirectory, this.typeSolverSettings(), null);
+
+		// コンテキストが変わったか、構築後にソースファイルが変わったスナップショットは再利用しない
+		ParsedProjectSnapshot snapshot = this.visualizeModel.parsedProjectSnapshot();
+		Boolean isReusable = snapshot != null && snapshot.parsingContext() == parsingContext && sourcePaths != null
+				&& snapshot.isUpToDate(sourcePaths);
+		System.out.println("スナップショットの確認: " + Duration.ofNanos(System.nanoTime() - checkStartTime).toMillis()
+				+ " ミリ秒, ソースファイル " + (sourcePaths == null ? 0 : sourcePaths.size()) + " 件, "
+				+ (isReusable ? "再利用" : "構築し直し"));
+		if (!isReusable) {
+			// 古いスナップショットを先に手放してから構築し直す
+			// 型の索引があれば、探索と字句の走査を省略する
+			this.visualizeModel.parsedProjectSnapshot(null);
+			if (typeIndex != null) {
+				snapshot = ParsedProjectSnapshot.build(typeIndex, parsingContext);
+			} else {
+				snapshot = ParsedProjectSnapshot.build(parsingContext, AbstractAnalyzer.DEFAULT_PARALLELISM,
+						new SourceDiscovery());
+			}
+			this.visualizeModel.parsedProjectSnapshot(snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * シンボル解決のセッションがコンテキストを構築する際に用いる、TypeSolverの設定を応答する。
+	 * JDKはモデルにセットされているものを用い、ライブラリのJARファイルの索引を保存して次回以降のライブラリの準備を速くする。
+	 * 
+	 * @return TypeSolverの設定
+	 */
+	private TypeSolverSettings typeSolverSettings() {
+		return new TypeSolverSettings(this.visualizeModel.selectedJdkHome(), AnalysisCache.DEFAULT_DIRECTORY,
+				JarVersionPolicy.NEWEST);
+	}
+
+	/**
+	 * 現在のソースファイルに対応する型の索引を応答する。
+	 * モデルが保持している索引のファイルのバイト数と最終更新時刻が変わっていなければそれを用い、
+	 * そうでなければ字句単位で走査し直して作った索引をモデルにセットする。
+	 * 
+	 * @param sourceRootPath ソースコードのルートパス
+	 * @param sourcePaths    探索順に並んだ、現在のソースファイルのパスのリスト(探索できなかった場合はnull)
+	 * @return プロジェクトの型の索引(作れなかった場合はnull)
+	 */
+	private ProjectTypeIndex currentProjectTypeIndex(Path sourceRootPath, List<Path> sourcePaths) {
+		ProjectTypeIndex typeIndex = this.visualizeModel.projectTypeIndex();
+		if (typeIndex != null && sourcePaths != null && typeIndex.sourceRootPath().equals(sourceRootPath)
+				&& typeIndex.isUpToDate(sourcePaths)) {
+			return typeIndex;
+		}
+		typeIndex = sourcePaths == null ? null : this.buildProjectTypeIndex(sourceRootPath, sourcePaths);
+		this.visualizeModel.projectTypeIndex(typeIndex);
+		return typeIndex;
+	}
+
+	/**
+	 * 選択されたプロジェクトのソースファイルを探索し、探索順に並んだパスのリストを応答する。
+	 * 
+	 * @param sourceRootPath ソースコードのルートパス
+	 * @return ソースファイルのパスのリスト(探索できなかった場合はnull)
+	 */
+	private List<Path> discoverSourcePaths(Path sourceRootPath) {
+		try {
+			DiscoveredSources discoveredSources = new SourceDiscovery().discover(sourceRootPath);
+			discoveredSources.printSummary();
+			return discoveredSources.sourcePaths();
+		} catch (IOException e) {
+			System.err.println("ファイル読み込み失敗: " + e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * 探索したソースファイルを字句単位で走査し、型の索引を作って応答する。
+	 * 
+	 * @param sourceRootPath ソースコードのルートパス
+	 * @param sourcePaths    探索順に並んだ、ソースファイルのパスのリスト
+	 * @return プロジェクトの型の索引(作れなかった場合はnull)
+	 */
+	private ProjectTypeIndex buildProjectTypeIndex(Path sourceRootPath, List<Path> sourcePaths) {
+		try {
+			ProjectTypeIndex typeIndex = ProjectTypeIndex.build(sourceRootPath, sourcePaths,
+					AbstractAnalyzer.DEFAULT_PARALLELISM);
+			typeIndex.printSummary();
+			return typeIndex;
+		} catch (InterruptedException e) {
+			System.err.println("ソースファイルの走査が中断されました。");
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
 	/**
 	 * SelectMethodを選択された際の処理を行う。
 	 * メソッド依存図に変換したいメソッドを選択する。
@@ -298,10 +434,15 @@ public class VisualizeController extends Controller {
 			return;
 		}
 		this.visualizeModel.selectedDirectory(selectedFilePath);
+
+		// 構文解析を行わずに型の索引を作り、選択を通知する際に型の一覧として示す
+		this.visualizeModel.projectTypeIndex(null);
+		this.currentProjectTypeIndex(selectedFilePath, this.discoverSourcePaths(selectedFilePath));
 		this.visualizeView.showInformationDialog(Constants.PROJECT_SELECTED_INFORMATION);
 
-		// ライブラリ、依存解析結果および選択されたメソッドに関する情報をリセットする
+		// ライブラリ、構文解析済みのスナップショット、依存解析結果および選択されたメソッドに関する情報をリセットする
 		this.visualizeModel.selectedLibraryDirectory(null);
+		this.visualizeModel.parsedProjectSnapshot(null);
 		this.visualizeModel.dependencyAnalysisResult(null);
 		this.visualizeModel.selectedMethodDeclaringTypeName(null);
 		this.visualizeModel.selectedMethodInfo(null);
@@ -327,4 +468,23 @@ public class VisualizeController extends Controller {
 		this.visualizeView.showInformationDialog(Constants.LIBRARY_SET_INFORMATION);
 		return;
 	}
+
+	/**
+	 * SetJdkを選択された際の処理を行う。
+	 * 型の解決に用いるJDKをセットする。JDKのモジュールイメージを持たないディレクトリは受け付けない。
+	 * 以降の解析では、シンボル解決のセッションと構文解析済みのスナップショットを作り直す。
+	 */
+	private void clickedSetJdk() {
+		Path jdkHome = this.visualizeView.showSetJdkDialog();
+		if (jdkHome == null) { // ファイル選択がキャンセルされた場合
+			return;
+		}
+		if (!Files.isRegularFile(jdkHome.resolve("lib").resolve("modules"))) {
+			this.visualizeView.showErrorDialog(Constants.NOT_JDK_HOME_ERROR);
+			return;
+		}
+		this.visualizeModel.selectedJdkHome(jdkHome);
+		this.visualizeView.showInformationDialog(Constants.JDK_SET_INFORMATION);
+		return;
+	}
 }
@@ -8,7 +8,10 @@ import javax.swing.JPopupMenu;
 
 import mvc.Model;
 import nexusviz.generator.model.dependency.CallerMethodInfo;
+import nexusviz.generator.project.ParsedProjectSnapshot;
+import nexusviz.generator.project.ProjectTypeIndex;
 import nexusviz.generator.result.DependencyAnalysisResult;
+import nexusviz.generator.util.SymbolSolvingSession;
 
 /**
  * MVCモデルのモデルに相当するクラス。
@@ -22,6 +25,21 @@ public class VisualizeModel extends Model {
      */
     private DependencyAnalysisResult dependencyAnalysisResult;
 
+    /**
+     * 構造解析と依存解析で共有する、構文解析済みのプロジェクトのスナップショットを束縛する。
+     */
+    private ParsedProjectSnapshot parsedProjectSnapshot;
+
+    /**
+     * 選択されたプロジェクトとライブラリの、型の解決の準備を終えた構文解析のコンテキストを保持するセッションを束縛する。
+     */
+    private final SymbolSolvingSession symbolSolvingSession;
+
+    /**
+     * 選択されたプロジェクトを字句の走査だけで索引付けした、プロジェクトの型の索引を束縛する。
+     */
+    private ProjectTypeIndex projectTypeIndex;
+
     /**
      * ウィンドウ上で右クリックした際に表示されるポップアップメニューを束縛する。
      */
@@ -42,6 +60,11 @@ public class VisualizeModel extends Model {
      */
     private Path selectedLibraryDirectory;
 
+    /**
+     * 型の解決に用いるJDKのホームディレクトリを束縛する。解析を行うJVMのJDKを用いる場合はnull。
+     */
+    private Path selectedJdkHome;
+
     /**
      * 選択されたメソッドが宣言されている型名を束縛する。
      */
@@ -60,8 +83,12 @@ public class VisualizeModel extends Model {
         this.preferredSize = new Dimension(1200, 900);
         this.selectedDirectory = null;
         this.selectedLibraryDirectory = null;
+        this.selectedJdkHome = null;
         this.selectedMethodDeclaringTypeName = null;
         this.selectedMethodInfo = null;
+        this.parsedProjectSnapshot = null;
+        this.symbolSolvingSession = new SymbolSolvingSession();
+        this.projectTypeIndex = null;
         this.popupMenu = null;
         return;
     }
@@ -98,6 +125,34 @@ public class VisualizeModel extends Model {
         return this.dependencyAnalysisResult;
     }
 
+    /**
+     * 引数のスナップショットをフィールドにセットする。
+     * 
+     * @param parsedProjectSnapshot 構文解析済みのプロジェクトのスナップショット
+     */
+    public void parsedProjectSnapshot(ParsedProjectSnapshot parsedProjectSnapshot) {
+        this.parsedProjectSnapshot = parsedProjectSnapshot;
+        return;
+    }
+
+    /**
+     * フィールド変数 parsedProjectSnapshot を返す。
+     * 
+     * @return 構文解析済みのプロジェクトのスナップショット
+     */
+    public ParsedProjectSnapshot parsedProjectSnapshot() {
+        return this.parsedProjectSnapshot;
+    }
+
+    /**
+     * フィールド変数 symbolSolvingSession を返す。
+     * 
+     * @return 構文解析のコンテキストを保持するセッション
+     */
+    public SymbolSolvingSession symbolSolvingSession() {
+        return this.symbolSolvingSession;
+    }
+
     /**
      * 引数のポップアップメニューをフィールドにセットする。
      * 
@@ -117,6 +172,25 @@ public class VisualizeModel extends Model {
         return this.popupMenu;
     }
 
+    /**
+     * 引数の型の索引をフィールドにセットする。
+     * 
+     * @param projectTypeIndex プロジェクトの型の索引
+     */
+    public void projectTypeIndex(ProjectTypeIndex projectTypeIndex) {
+        this.projectTypeIndex = projectTypeIndex;
+        return;
+    }
+
+    /**
+     * フィールド変数 projectTypeIndex を返す。
+     * 
+     * @return プロジェクトの型の索引
+     */
+    public ProjectTypeIndex projectTypeIndex() {
+        return this.projectTypeIndex;
+    }
+
     /**
      * 引数のサイズをフィールドにセットする。
      * 
@@ -174,6 +248,25 @@ public class VisualizeModel extends Model {
         return this.selectedLibraryDirectory;
     }
 
+    /**
+     * 引数のディレクトリをフィールドにセットする。
+     * 
+     * @param jdkHome 型の解決に用いるJDKのホームディレクトリ
+     */
+    public void selectedJdkHome(Path jdkHome) {
+        this.selectedJdkHome = jdkHome;
+        return;
+    }
+
+    /**
+     * フィールド変数 selectedJdkHome を返す。
+     * 
+     * @return 型の解決に用いるJDKのホームディレクトリ(解析を行うJVMのJDKを用いる場合はnull)
+     */
+    public Path selectedJdkHome() {
+        return this.selectedJdkHome;
+    }
+
     /**
      * 引数の型名をフィールドにセットする。
      * 
@@ -10,6 +10,7 @@ import java.awt.image.BufferedImage;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -29,6 +30,7 @@ import javax.swing.tree.TreeNode;
 
 import mvc.View;
 import nexusviz.generator.model.dependency.CallerMethodInfo;
+import nexusviz.generator.project.ProjectTypeIndex;
 
 /**
  * MVCモデルのビューに相当するクラス。
@@ -134,6 +136,43 @@ public class VisualizeView extends View {
 		return selectedDirectory;
 	}
 
+	/**
+	 * 型の解決に用いるJDKのホームディレクトリを選択するダイアログを開く。
+	 * 
+	 * @return 選択されたJDKのホームディレクトリ
+	 */
+	public Path showSetJdkDialog() {
+		JFileChooser aChooser = new JFileChooser();
+
+		// 選択できるファイルに制限をかける
+		aChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+
+		Path selectedDirectory = null;
+		StringBuilder message = new StringBuilder();
+		switch (aChooser.showOpenDialog(SwingUtilities.getWindowAncestor(this))) {
+			case JFileChooser.APPROVE_OPTION -> {
+				message.append(aChooser.getSelectedFile().getName());
+				message.append(" が選択されました。");
+
+				selectedDirectory = aChooser.getSelectedFile().toPath();
+
+				break;
+			}
+			case JFileChooser.CANCEL_OPTION -> {
+				message.append("ファイルが選択されませんでした。");
+
+				break;
+			}
+			case JFileChooser.ERROR_OPTION -> {
+				message.append("エラーまたは取り消しが行われました。");
+
+				break;
+			}
+		}
+		System.out.println(message.toString());
+		return selectedDirectory;
+	}
+
 	/**
 	 * 引数のオプションから確認ダイアログを表示する。
 	 * 
@@ -218,6 +257,10 @@ public class VisualizeView extends View {
 				message = "依存解析中にエラーが発生しました。解析結果に不完全な部分が含まれています。";
 				break;
 			}
+			case Constants.NOT_JDK_HOME_ERROR -> {
+				message = "選択されたディレクトリはJava 9以降のJDKのホームディレクトリではありません。";
+				break;
+			}
 			default -> {
 				message = "予期しないエラーです。";
 				break;
@@ -246,6 +289,7 @@ public class VisualizeView extends View {
 				message.append(System.lineSeparator());
 				message.append("が選択されました。").append(System.lineSeparator());
 				message.append("また、ライブラリの設定がリセットされました。");
+				this.appendTypeList(message);
 				break;
 			}
 			case Constants.LIBRARY_SET_INFORMATION -> {
@@ -255,6 +299,13 @@ public class VisualizeView extends View {
 				message.append("がセットされました。");
 				break;
 			}
+			case Constants.JDK_SET_INFORMATION -> {
+				message.append("型の解決に用いるJDKとして").append(System.lineSeparator());
+				message.append(this.visualizeModel.selectedJdkHome().toAbsolutePath().toString());
+				message.append(System.lineSeparator());
+				message.append("がセットされました。");
+				break;
+			}
 			case Constants.METHOD_SELECTED_INFORMATION -> {
 				message.append(this.visualizeModel.selectedMethodDeclaringTypeName());
 				message.append(System.lineSeparator());
@@ -275,6 +326,28 @@ public class VisualizeView extends View {
 		return;
 	}
 
+	/**
+	 * プロジェクトの型の索引にある型の数と、先頭から一定数の型名をメッセージに追加する。
+	 * 
+	 * @param message 追加先のメッセージ
+	 */
+	private void appendTypeList(StringBuilder message) {
+		ProjectTypeIndex typeIndex = this.visualizeModel.projectTypeIndex();
+		if (typeIndex == null) {
+			return;
+		}
+		List<String> typeNames = typeIndex.typeNames();
+		message.append(System.lineSeparator()).append(System.lineSeparator());
+		message.append("見つかった型: ").append(typeNames.size()).append(" 件");
+		typeNames.stream().limit(Constants.TYPE_LIST_PREVIEW_SIZE).forEach(typeName -> {
+			message.append(System.lineSeparator()).append("  ").append(typeName);
+		});
+		if (typeNames.size() > Constants.TYPE_LIST_PREVIEW_SIZE) {
+			message.append(System.lineSeparator()).append("  ...");
+		}
+		return;
+	}
+
 	/**
 	 * dependencyAnalysisResultに保持されているメソッド一覧をツリー形式で別ウィンドウを生成して表示する。
 	 * 
@@ -630,6 +703,7 @@ public class VisualizeView extends View {
 		aMenu.add(this.setCommand(Constants.EXECUTE_STRUCTURAL));
 		aMenu.add(this.setCommand(Constants.SELECT_PROJECT));
 		aMenu.add(this.setCommand(Constants.SET_LIBRARY));
+		aMenu.add(this.setCommand(Constants.SET_JDK));
 		aMenu.add(this.setCommand(Constants.ANALYZE_DEPENDENCY));
 		aMenu.add(this.setCommand(Constants.GENERATE_DEPENDENCY));
 		aMenu.add(this.setCommand(Constants.SELECT_METHOD));